@@ -1,10 +1,18 @@
 package com.luis.aguiar.controllers;
 
 import com.luis.aguiar.dto.*;
+import com.luis.aguiar.enums.AuthorNameField;
 import com.luis.aguiar.exceptions.ErrorModel;
 import com.luis.aguiar.mappers.AuthorMapper;
 import com.luis.aguiar.models.Author;
 import com.luis.aguiar.services.AuthorService;
+import com.luis.aguiar.services.AuthorshipImportService;
+import com.luis.aguiar.web.CatalogLinks;
+import com.luis.aguiar.web.CatalogResponseCache;
+import com.luis.aguiar.web.CatalogSort;
+import com.luis.aguiar.web.CompactMediaType;
+import com.luis.aguiar.web.EntityTags;
+import com.luis.aguiar.web.SparseFields;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -13,19 +21,24 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.*;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import java.util.*;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
 
 @Tag(name = "Authors", description = "Fornece as operações realizadas em autores na API.")
 @RestController
 @RequestMapping("library/v1/authors")
 public class AuthorController {
 
+    private static final String COMPACT = "compact";
+
     @Autowired
     private AuthorService service;
+    @Autowired
+    private AuthorshipImportService imports;
 
     @Operation(summary = "Cria um novo autor.",
             security = @SecurityRequirement(name = "security"),
@@ -61,7 +74,8 @@ public class AuthorController {
         return ResponseEntity.status(HttpStatus.CREATED).body(authorResponseDto);
     }
 
-    @Operation(summary = "Recebe uma lista de todos os autores cadastrados.", responses = {
+    @Operation(summary = "Recebe uma lista de todos os autores cadastrados, opcionalmente filtrada pelo número "
+            + "de livros entre minBooks e maxBooks.", responses = {
             @ApiResponse(
                     responseCode = "200",
                     description = "Recurso retornado com sucesso.",
@@ -82,17 +96,28 @@ public class AuthorController {
     })
     @GetMapping
     public ResponseEntity<List<AuthorResponseDto>> findAllAuthors(@RequestParam int page,
-                                                                  @RequestParam int quantity) {
-        List<AuthorResponseDto> authors = service.findAll(page, quantity);
+                                                                  @RequestParam int quantity,
+                                                                  @RequestParam(required = false) String sort,
+                                                                  @RequestParam(required = false) Long minBooks,
+                                                                  @RequestParam(required = false) Long maxBooks) {
+        Sort order = CatalogSort.parse(sort, CatalogSort.AUTHOR);
+        List<AuthorResponseDto> authors = minBooks == null && maxBooks == null
+                ? service.findAll(page, quantity, order)
+                : service.findAll(page, quantity, order,
+                        minBooks == null ? 0 : minBooks, maxBooks == null ? Long.MAX_VALUE : maxBooks);
 
-        authors.forEach(author -> {
-            addFindByIdReference(author, author.getId());
-            addDeleteAuthorReference(author, author.getId());
-            addUpdateAuthorReference(author, author.getId());
-            addAssociateAuthorWithBookReference(author, author.getId());
-        });
+        CatalogLinks links = CatalogLinks.current();
+        authors.forEach(author -> author.add(List.of(
+                links.author(author.getId()),
+                links.authorBooks(author.getId()),
+                links.deleteAuthor(author.getId()),
+                links.updateAuthor(author.getId()),
+                links.associateAuthorWithBook(author.getId())
+        )));
 
-        return ResponseEntity.status(HttpStatus.OK).body(authors);
+        CatalogResponseCache.recordEntities(entityIds(authors));
+        String eTag = EntityTags.ofDigest("authors", authors, AuthorController::representationKey);
+        return EntityTags.ok(authors, eTag, EntityTags.latest(authors, AuthorResponseDto::getLastModified));
     }
 
     @Operation(summary = "Encontra um autor pelo ID e exibe os seus dados.", responses = {
@@ -121,14 +146,182 @@ public class AuthorController {
             )
     })
     @GetMapping("/{id}")
-    public ResponseEntity<AuthorResponseDto> findAuthorById(@PathVariable(name = "id") UUID uuid) {
+    public ResponseEntity<AuthorResponseDto> findAuthorById(@PathVariable(name = "id") UUID uuid,
+                                                            WebRequest request) {
         AuthorResponseDto author = service.findById(uuid);
+        String eTag = EntityTags.ofDigest("author", List.of(author), AuthorController::representationKey);
+        if (request.checkNotModified(eTag)) {
+            return EntityTags.notModified(eTag);
+        }
 
+        addAuthorBooksReference(author, author.getId());
         addDeleteAuthorReference(author, author.getId());
         addUpdateAuthorReference(author, author.getId());
         addAssociateAuthorWithBookReference(author, author.getId());
 
-        return ResponseEntity.status(HttpStatus.OK).body(author);
+        return EntityTags.ok(author, eTag, author.getLastModified());
+    }
+
+    @Operation(summary = "Recebe uma página dos livros de um autor. A próxima página começa após o último ID "
+            + "recebido, informado em after, e é indicada no cabeçalho Link.",
+            responses = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Recurso retornado com sucesso.",
+                        content = @Content(mediaType = "application/json",
+                                schema = @Schema(implementation = BookSummaryDto.class))
+                ),
+                @ApiResponse(
+                        responseCode = "500",
+                        description = "Erro interno do servidor.",
+                        content = @Content
+                ),
+                @ApiResponse(
+                        responseCode = "404",
+                        description = "Autor não encontrado.",
+                        content = @Content(mediaType = "application/json",
+                                schema = @Schema(implementation = ErrorModel.class))
+                ),
+                @ApiResponse(
+                        responseCode = "400",
+                        description = "Formato inválido para o ID ou para os dados da requisição.",
+                        content = @Content(mediaType = "application/json",
+                                schema = @Schema(implementation = ErrorModel.class))
+                )
+    })
+    @GetMapping("/{id}/books")
+    public ResponseEntity<List<BookSummaryDto>> findAuthorBooks(@PathVariable(name = "id") UUID uuid,
+                                                                @RequestParam(required = false) UUID after,
+                                                                @RequestParam int quantity) {
+        List<BookSummaryDto> books = service.findBooks(uuid, after, quantity);
+        String eTag = EntityTags.ofCollection("author-books:" + uuid + ":" + after, books,
+                BookSummaryDto::id, BookSummaryDto::version);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.OK)
+                .eTag(eTag)
+                .cacheControl(EntityTags.PUBLIC_CATALOG);
+        if (books.size() == quantity) {
+            UUID last = books.get(books.size() - 1).id();
+            response.header(HttpHeaders.LINK, CatalogLinks.current().authorBooksAfter(uuid, last, quantity).toString());
+        }
+        return response.body(books);
+    }
+
+    @Operation(summary = "Recebe os autores que dividem livros com um autor, ordenados pela quantidade de "
+            + "livros em comum.",
+            responses = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Recurso retornado com sucesso.",
+                        content = @Content(mediaType = "application/json",
+                                schema = @Schema(implementation = RelatedAuthorDto.class))
+                ),
+                @ApiResponse(
+                        responseCode = "500",
+                        description = "Erro interno do servidor.",
+                        content = @Content
+                ),
+                @ApiResponse(
+                        responseCode = "404",
+                        description = "Autor não encontrado.",
+                        content = @Content(mediaType = "application/json",
+                                schema = @Schema(implementation = ErrorModel.class))
+                ),
+                @ApiResponse(
+                        responseCode = "400",
+                        description = "Formato inválido para o ID ou para os dados da requisição.",
+                        content = @Content(mediaType = "application/json",
+                                schema = @Schema(implementation = ErrorModel.class))
+                )
+    })
+    @GetMapping("/{id}/related")
+    public ResponseEntity<List<RelatedAuthorDto>> findRelatedAuthors(@PathVariable(name = "id") UUID uuid,
+                                                                     @RequestParam(defaultValue = "10") int quantity) {
+        return ResponseEntity.status(HttpStatus.OK)
+                .cacheControl(EntityTags.PUBLIC_CATALOG)
+                .body(service.findRelated(uuid, quantity));
+    }
+
+    @Operation(summary = "Busca autores pelo início do sobrenome ou do nome completo, sem diferenciar maiúsculas "
+            + "nem acentos. A próxima página começa após o último ID recebido, informado em after, e é indicada "
+            + "no cabeçalho Link.",
+            responses = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Recurso retornado com sucesso.",
+                        content = @Content(mediaType = "application/json",
+                                schema = @Schema(implementation = CompactAuthorDto.class))
+                ),
+                @ApiResponse(
+                        responseCode = "500",
+                        description = "Erro interno do servidor.",
+                        content = @Content
+                ),
+                @ApiResponse(
+                        responseCode = "400",
+                        description = "Formato inválido para os dados da requisição.",
+                        content = @Content(mediaType = "application/json",
+                                schema = @Schema(implementation = ErrorModel.class))
+                )
+    })
+    @GetMapping("/search")
+    public ResponseEntity<List<CompactAuthorDto>> searchAuthors(@RequestParam String prefix,
+                                                                @RequestParam(defaultValue = "LAST_NAME") AuthorNameField field,
+                                                                @RequestParam(required = false) UUID after,
+                                                                @RequestParam int quantity) {
+        List<CompactAuthorDto> authors = service.search(prefix, field, after, quantity);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.OK)
+                .cacheControl(EntityTags.PUBLIC_CATALOG);
+        if (authors.size() == quantity) {
+            UUID last = authors.get(authors.size() - 1).id();
+            response.header(HttpHeaders.LINK,
+                    CatalogLinks.current().searchAuthorsAfter(prefix, field, last, quantity).toString());
+        }
+        return response.body(authors);
+    }
+
+    @Operation(summary = "Recebe uma lista de todos os autores na representação compacta, sem links.")
+    @GetMapping(produces = CompactMediaType.VALUE)
+    public ResponseEntity<List<CompactAuthorDto>> findAllCompactAuthors(@RequestParam int page,
+                                                                        @RequestParam int quantity,
+                                                                        @RequestParam(required = false) String sort) {
+        List<CompactAuthorDto> authors = service.findAll(page, quantity,
+                CatalogSort.parse(sort, CatalogSort.AUTHOR), AuthorMapper::toCompactDto);
+
+        CatalogResponseCache.recordEntities(authors.stream().map(CompactAuthorDto::id).toList());
+        String eTag = EntityTags.ofCollection(COMPACT, authors, CompactAuthorDto::id, CompactAuthorDto::version);
+        return EntityTags.ok(authors, eTag, EntityTags.latest(authors, CompactAuthorDto::lastModified));
+    }
+
+    @Operation(summary = "Encontra um autor pelo ID na representação compacta, sem links.")
+    @GetMapping(value = "/{id}", produces = CompactMediaType.VALUE)
+    public ResponseEntity<CompactAuthorDto> findCompactAuthorById(@PathVariable(name = "id") UUID uuid,
+                                                                  WebRequest request) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Long version = service.findVersion(uuid);
+            if (version != null && request.checkNotModified(EntityTags.of(uuid, version, COMPACT))) {
+                return EntityTags.notModified(EntityTags.of(uuid, version, COMPACT));
+            }
+        }
+
+        CompactAuthorDto author = service.findById(uuid, AuthorMapper::toCompactDto);
+        return EntityTags.ok(author, EntityTags.of(author.id(), author.version(), COMPACT), author.lastModified());
+    }
+
+    @Operation(summary = "Recebe uma lista de todos os autores apenas com os campos pedidos em fields.")
+    @GetMapping(params = SparseFields.PARAM)
+    public ResponseEntity<List<Map<String, Object>>> findAllSparseAuthors(@RequestParam int page,
+                                                                         @RequestParam int quantity,
+                                                                         @RequestParam(required = false) String sort,
+                                                                         @RequestParam String fields) {
+        List<Map<String, Object>> authors = service.findAll(page, quantity,
+                CatalogSort.parse(sort, CatalogSort.AUTHOR), SparseFields.parse(fields, SparseFields.AUTHOR));
+
+        CatalogResponseCache.recordEntities(authors.stream().map(author -> (UUID) author.get("id")).toList());
+        return ResponseEntity.status(HttpStatus.OK)
+                .cacheControl(EntityTags.PUBLIC_CATALOG)
+                .body(authors);
     }
 
     @Operation(summary = "Atualiza as informações de um autor.",
@@ -169,6 +362,7 @@ public class AuthorController {
                                                               @RequestBody @Valid AuthorCreateDto authorDto) {
         AuthorResponseDto author = service.update(uuid, AuthorMapper.toAuthor(authorDto));
 
+        addAuthorBooksReference(author, uuid);
         addDeleteAuthorReference(author, uuid);
         addAssociateAuthorWithBookReference(author, uuid);
         addFindByIdReference(author, uuid);
@@ -254,31 +448,79 @@ public class AuthorController {
         return ResponseEntity.status(HttpStatus.OK).build();
     }
 
+    @Operation(summary = "Associa autores a livros em lote.",
+            description = "Recebe uma lista de pares authorId e bookId. Pares já associados são ignorados e pares "
+                    + "com autor ou livro inexistente são rejeitados; o relatório indica o motivo por posição.",
+            security = @SecurityRequirement(name = "security"),
+            responses = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Associação concluída.",
+                        content = @Content(mediaType = "application/json",
+                                schema = @Schema(implementation = AuthorshipReportDto.class))
+                ),
+                @ApiResponse(
+                        responseCode = "500",
+                        description = "Erro interno do servidor.",
+                        content = @Content
+                ),
+                @ApiResponse(
+                        responseCode = "400",
+                        description = "Formato inválido para os dados da requisição.",
+                        content = @Content(mediaType = "application/json",
+                                schema = @Schema(implementation = ErrorModel.class))
+                ),
+                @ApiResponse(
+                        responseCode = "401",
+                        description = "Usuário não autenticado, sem acesso a operação ou dados fornecidos inválidos.",
+                        content = @Content
+                ),
+    })
+    @PostMapping("/associations")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<AuthorshipReportDto> associateAuthorsWithBooks(@RequestBody List<AuthorshipDto> authorships) {
+        return ResponseEntity.ok(imports.associate(authorships));
+    }
+
+    /**
+     * The response key of an author: besides the author's own version it changes whenever the
+     * book count or one of the embedded book summaries does, which the author's version does not track.
+     */
+    private static String representationKey(AuthorResponseDto author) {
+        StringBuilder key = new StringBuilder(EntityTags.key(author.getId(), author.getVersion()))
+                .append('#').append(author.getBookCount());
+        for (BookSummaryDto book : author.getBooks()) {
+            key.append(',').append(EntityTags.key(book.id(), book.version()));
+        }
+        return key.toString();
+    }
+
+    private static List<UUID> entityIds(List<AuthorResponseDto> authors) {
+        List<UUID> ids = new ArrayList<>();
+        authors.forEach(author -> {
+            ids.add(author.getId());
+            author.getBooks().forEach(book -> ids.add(book.id()));
+        });
+        return ids;
+    }
+
+    private void addAuthorBooksReference(AuthorResponseDto authorResponseDto, UUID uuid) {
+        authorResponseDto.add(CatalogLinks.current().authorBooks(uuid));
+    }
+
     private void addFindByIdReference(AuthorResponseDto authorResponseDto, UUID uuid) {
-        authorResponseDto.add(linkTo(methodOn(AuthorController.class)
-                .findAuthorById(uuid))
-                .withSelfRel()
-                .withType(HttpMethod.GET.name()));
+        authorResponseDto.add(CatalogLinks.current().author(uuid));
     }
 
     private void addUpdateAuthorReference(AuthorResponseDto authorResponseDto, UUID uuid) {
-        authorResponseDto.add(linkTo(methodOn(AuthorController.class)
-                .updateAuthorData(uuid, null))
-                .withRel("update")
-                .withType(HttpMethod.PUT.name()));
+        authorResponseDto.add(CatalogLinks.current().updateAuthor(uuid));
     }
 
     private void addDeleteAuthorReference(AuthorResponseDto authorResponseDto, UUID uuid) {
-        authorResponseDto.add(linkTo(methodOn(AuthorController.class)
-                .deleteAuthor(uuid))
-                .withRel("delete")
-                .withType(HttpMethod.DELETE.name()));
+        authorResponseDto.add(CatalogLinks.current().deleteAuthor(uuid));
     }
 
     private void addAssociateAuthorWithBookReference(AuthorResponseDto authorResponseDto, UUID uuid) {
-        authorResponseDto.add(linkTo(methodOn(AuthorController.class)
-                .associateAuthorWithBook(UUID.randomUUID(), uuid))
-                .withRel("associate-with-book")
-                .withType(HttpMethod.POST.name()));
+        authorResponseDto.add(CatalogLinks.current().associateAuthorWithBook(uuid));
     }
-}
\ No newline at end of file
+}
@@ -3,30 +3,66 @@ package com.luis.aguiar.controllers;
 import com.luis.aguiar.dto.*;
 import com.luis.aguiar.enums.Status;
 import com.luis.aguiar.exceptions.ErrorModel;
+import com.luis.aguiar.exceptions.InvalidRequestException;
 import com.luis.aguiar.mappers.BookMapper;
 import com.luis.aguiar.models.Book;
+import com.luis.aguiar.services.BookLookupService;
+import com.luis.aguiar.services.BookImportService;
 import com.luis.aguiar.services.BookService;
+import com.luis.aguiar.services.CatalogExportService;
+import com.luis.aguiar.web.BookAvailabilityStream;
+import com.luis.aguiar.web.CatalogLinks;
+import com.luis.aguiar.web.CatalogResponseCache;
+import com.luis.aguiar.web.CatalogSort;
+import com.luis.aguiar.web.CompactMediaType;
+import com.luis.aguiar.web.EntityTags;
+import com.luis.aguiar.web.SparseFields;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.*;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.*;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
 @Tag(name = "Books", description = "Operações realizadas nos livros da API.")
 @RestController
 @RequestMapping("library/v1/books")
 public class BookController {
 
+    private static final String COMPACT = "compact";
+    private static final String CSV_VALUE = "text/csv";
+
     @Autowired
     private BookService service;
+    @Autowired
+    private BookLookupService lookups;
+    @Autowired
+    private BookAvailabilityStream availabilityStream;
+    @Autowired
+    private CatalogExportService exports;
+    @Autowired
+    private BookImportService imports;
+    @Value("${library.export.timeout:6h}")
+    private Duration exportTimeout;
 
     @Operation(summary = "Cria um novo livro.",
             security = @SecurityRequirement(name = "security"),
@@ -96,13 +132,21 @@ public class BookController {
             ),
     })
     @GetMapping("/{id}")
-    public ResponseEntity<BookResponseDto> findBookById(@PathVariable(name = "id") UUID uuid) {
-        BookResponseDto book = service.findById(uuid);
+    public ResponseEntity<BookResponseDto> findBookById(@PathVariable(name = "id") UUID uuid,
+                                                        WebRequest request) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Long version = lookups.findVersion(uuid);
+            if (version != null && request.checkNotModified(EntityTags.of(uuid, version))) {
+                return EntityTags.notModified(EntityTags.of(uuid, version));
+            }
+        }
+
+        BookResponseDto book = lookups.findById(uuid);
 
         addDeleteBookReference(book);
         addUpdateBookDataReference(book, book.getId());
 
-        return ResponseEntity.status(HttpStatus.OK).body(book);
+        return EntityTags.ok(book, EntityTags.of(book.getId(), book.getVersion()), book.getLastModified());
     }
 
 
@@ -127,11 +171,76 @@ public class BookController {
     })
     @GetMapping
     public ResponseEntity<List<BookResponseDto>> findAllBooks(@RequestParam int page,
-                                                              @RequestParam int quantity) {
-        List<BookResponseDto> books = service.getAll(page, quantity);
-        books.forEach(BookController::addFindByIdReference);
+                                                              @RequestParam int quantity,
+                                                              @RequestParam(required = false) String sort) {
+        List<BookResponseDto> books = lookups.getAll(page, quantity,
+                CatalogSort.parse(sort, CatalogSort.BOOK));
+        addFindByIdReferences(books);
+
+        return catalogPage(books);
+    }
+
+    @Operation(summary = "Encontra vários livros de uma vez pela lista de IDs.",
+            description = "Os resultados seguem a ordem dos IDs enviados, sem repetições. "
+                    + "IDs inexistentes retornam found = false.",
+            responses = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Recurso retornado com sucesso.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = BookLookupResultDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Erro interno do servidor.",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Formato inválido ou quantidade de IDs acima do limite.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorModel.class))
+            )
+    })
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<BookLookupResultDto>> findBooksByIds(@RequestParam List<UUID> ids) {
+        return lookupPage(service.findAllByIds(ids));
+    }
 
-        return ResponseEntity.status(HttpStatus.OK).body(books);
+    /**
+     * Claims {@code ids} together with {@code fields}, which would otherwise match both the
+     * multi-get and the sparse list equally well and fail as an ambiguous mapping.
+     */
+    @Operation(summary = "Rejeita a busca por IDs combinada com fields, que não é suportada.")
+    @GetMapping(params = {"ids", SparseFields.PARAM})
+    public ResponseEntity<List<BookLookupResultDto>> findSparseBooksByIds() {
+        throw new InvalidRequestException("The fields parameter is not supported together with ids.");
+    }
+
+    @Operation(summary = "Encontra vários livros de uma vez pela lista de IDs enviada no corpo da requisição.",
+            description = "Variante da busca por IDs para listas longas demais para a URL.",
+            responses = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Recurso retornado com sucesso.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = BookLookupResultDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Erro interno do servidor.",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Formato inválido ou quantidade de IDs acima do limite.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorModel.class))
+            )
+    })
+    @PostMapping("/lookup")
+    public ResponseEntity<List<BookLookupResultDto>> lookupBooks(@RequestBody @Valid BookLookupRequestDto lookup) {
+        return lookupPage(service.findAllByIds(lookup.getIds()));
     }
 
     @Operation(summary = "Encontra e retorna livros que condizem com o nome passado para a requisição.",
@@ -157,11 +266,13 @@ public class BookController {
     @GetMapping("/name")
     public ResponseEntity<List<BookResponseDto>> findAllByBookName(@RequestParam String name,
                                                                    @RequestParam int page,
-                                                                   @RequestParam int quantity) {
-        List<BookResponseDto> books = service.getAllByName(name, page, quantity);
-        books.forEach(BookController::addFindByIdReference);
+                                                                   @RequestParam int quantity,
+                                                                   @RequestParam(required = false) String sort) {
+        List<BookResponseDto> books = lookups.getAllByName(name, page, quantity,
+                CatalogSort.parse(sort, CatalogSort.BOOK));
+        addFindByIdReferences(books);
 
-        return ResponseEntity.status(HttpStatus.OK).body(books);
+        return catalogPage(books);
     }
 
     @Operation(summary = "Encontra e retorna livros que condizem com o sobrenome do autor passado para a requisição.",
@@ -187,11 +298,13 @@ public class BookController {
     @GetMapping("/author")
     public ResponseEntity<List<BookResponseDto>> findAllByAuthorLastName(@RequestParam String lastName,
                                                                          @RequestParam int page,
-                                                                         @RequestParam int quantity) {
-        List<BookResponseDto> books = service.getAllByAuthor(lastName, page, quantity);
-        books.forEach(BookController::addFindByIdReference);
+                                                                         @RequestParam int quantity,
+                                                                         @RequestParam(required = false) String sort) {
+        List<BookResponseDto> books = lookups.getAllByAuthor(lastName, page, quantity,
+                CatalogSort.parse(sort, CatalogSort.BOOK));
+        addFindByIdReferences(books);
 
-        return ResponseEntity.status(HttpStatus.OK).body(books);
+        return catalogPage(books);
     }
 
     @Operation(summary = "Encontra e retorna livros que condizem com o status do livro passado para a requisição.",
@@ -217,11 +330,331 @@ public class BookController {
     @GetMapping("/status")
     public ResponseEntity<List<BookResponseDto>> findAllByStatus(@RequestParam Status status,
                                                                  @RequestParam int page,
-                                                                 @RequestParam int quantity) {
-        List<BookResponseDto> books = service.getAllByStatus(status, page, quantity);
-        books.forEach(BookController::addFindByIdReference);
+                                                                 @RequestParam int quantity,
+                                                                 @RequestParam(required = false) String sort) {
+        List<BookResponseDto> books = lookups.getAllByStatus(status, page, quantity,
+                CatalogSort.parse(sort, CatalogSort.BOOK));
+        addFindByIdReferences(books);
+
+        return catalogPage(books);
+    }
 
-        return ResponseEntity.status(HttpStatus.OK).body(books);
+    @Operation(summary = "Pesquisa livros por status, nacionalidade do autor e década de publicação, " +
+            "retornando também a contagem de livros para cada valor dos filtros.", responses = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Recurso retornado com sucesso.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = BookSearchResultDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Década inválida.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorModel.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Erro interno do servidor.",
+                    content = @Content
+            )
+    })
+    @GetMapping("/search")
+    public ResponseEntity<BookSearchResultDto> searchBooks(@RequestParam(required = false) Status status,
+                                                           @RequestParam(required = false) String nationality,
+                                                           @RequestParam(required = false) Integer decade,
+                                                           @RequestParam int page,
+                                                           @RequestParam int quantity) {
+        BookSearchResultDto result = service.search(status, nationality, decade, page, quantity);
+        addFindByIdReferences(result.getBooks());
+
+        return ResponseEntity.status(HttpStatus.OK)
+                .cacheControl(EntityTags.PUBLIC_CATALOG)
+                .body(result);
+    }
+
+    @Operation(summary = "Encontra e retorna livros publicados entre as datas passadas para a requisição.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Recurso retornado com sucesso.",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = BookResponseDto.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Datas inválidas passadas para a requisição.",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorModel.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description = "Erro interno do servidor.",
+                            content = @Content
+                    )
+            })
+    @GetMapping("/published")
+    public ResponseEntity<List<BookResponseDto>> findAllPublishedBetween(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam int page,
+            @RequestParam int quantity) {
+        List<BookResponseDto> books = service.getAllPublishedBetween(from, to, page, quantity);
+        addFindByIdReferences(books);
+
+        return catalogPage(books);
+    }
+
+    @Operation(summary = "Retorna a quantidade de livros publicados em cada ano.", responses = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Recurso retornado com sucesso.",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Erro interno do servidor.",
+                    content = @Content
+            )
+    })
+    @GetMapping("/published/histogram")
+    public ResponseEntity<Map<Integer, Long>> getPublicationHistogram(@RequestParam(required = false) Integer fromYear,
+                                                                      @RequestParam(required = false) Integer toYear) {
+        return ResponseEntity.status(HttpStatus.OK)
+                .cacheControl(EntityTags.PUBLIC_CATALOG)
+                .body(service.getPublicationHistogram(fromYear, toYear));
+    }
+
+    @Operation(summary = "Retorna a quantidade de livros em cada status.", responses = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Recurso retornado com sucesso.",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Erro interno do servidor.",
+                    content = @Content
+            )
+    })
+    @GetMapping("/status/count")
+    public ResponseEntity<Map<Status, Long>> countByStatus() {
+        return ResponseEntity.status(HttpStatus.OK)
+                .cacheControl(EntityTags.PUBLIC_CATALOG)
+                .body(service.countByStatus());
+    }
+
+    @Operation(summary = "Acompanha as mudanças de disponibilidade dos livros via Server-Sent Events.",
+            description = "Cada evento 'availability' traz o status anterior e o novo status do livro. "
+                    + "O filtro por status considera tanto o status anterior quanto o novo. "
+                    + "Ao reconectar com o cabeçalho Last-Event-ID, os eventos perdidos são reenviados; "
+                    + "se eles não estiverem mais disponíveis, um evento 'reset' indica que o catálogo deve ser recarregado.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Stream aberto com sucesso.",
+                            content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE)
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Formato inválido para os dados da requisição.",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorModel.class))
+                    )
+            })
+    @GetMapping(value = "/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAvailability(@RequestParam(required = false) List<Status> status,
+                                         @RequestParam(required = false) List<UUID> bookId,
+                                         @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+        return availabilityStream.subscribe(
+                BookAvailabilityStream.Filter.of(status, bookId),
+                parseLastEventId(lastEventId)
+        );
+    }
+
+    @Operation(summary = "Exporta todo o catálogo de livros, com seus autores, em NDJSON.",
+            description = "Cada linha é um livro em JSON. A resposta é transmitida enquanto é lida do banco, "
+                    + "então o consumo de memória não depende do tamanho do catálogo. "
+                    + "Com gzip=true a resposta é comprimida (Content-Encoding: gzip).",
+            security = @SecurityRequirement(name = "security"),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Exportação iniciada com sucesso.",
+                            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                    schema = @Schema(implementation = BookExportDto.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description = "Erro interno do servidor.",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Usuário não autenticado, sem acesso a operação ou dados inválidos fornecidos.",
+                            content = @Content
+                    )
+            })
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public WebAsyncTask<Void> exportBooks(@RequestParam(defaultValue = "false") boolean gzip,
+                                          HttpServletResponse response) {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noStore().getHeaderValue());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("catalog.ndjson")
+                .build()
+                .toString());
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        // Only the export may run for hours, so it carries its own timeout instead of the global one.
+        return new WebAsyncTask<>(exportTimeout.toMillis(), () -> {
+            OutputStream out = response.getOutputStream();
+            if (!gzip) {
+                exports.exportBooks(out);
+            } else {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 1 << 16);
+                exports.exportBooks(compressed);
+                compressed.finish();
+            }
+            out.flush();
+            return null;
+        });
+    }
+
+    @Operation(summary = "Importa livros em lote a partir de NDJSON ou CSV.",
+            description = "O corpo é lido como stream: uma linha por livro em NDJSON, ou CSV com cabeçalho "
+                    + "contendo as colunas title, publicationDate e status. Linhas inválidas são rejeitadas e "
+                    + "livros com título já cadastrado são ignorados; o relatório indica o motivo por linha.",
+            security = @SecurityRequirement(name = "security"),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Importação concluída.",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = BookImportReportDto.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Cabeçalho CSV inválido.",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorModel.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description = "Erro interno do servidor.",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Usuário não autenticado, sem acesso a operação ou dados inválidos fornecidos.",
+                            content = @Content
+                    )
+            })
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, CSV_VALUE})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BookImportReportDto> importBooks(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                           InputStream body) throws IOException {
+        BookImportService.Format format = contentType.isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                ? BookImportService.Format.NDJSON
+                : BookImportService.Format.CSV;
+        return ResponseEntity.ok(imports.importBooks(body, format));
+    }
+
+    @Operation(summary = "Encontra um livro pelo ID na representação compacta, sem links.")
+    @GetMapping(value = "/{id}", produces = CompactMediaType.VALUE)
+    public ResponseEntity<CompactBookDto> findCompactBookById(@PathVariable(name = "id") UUID uuid,
+                                                              WebRequest request) {
+        CompactBookDto book = lookups.findById(uuid, BookMapper::toCompactDto);
+        String eTag = EntityTags.ofDigest(COMPACT, List.of(book), BookController::compactKey);
+        if (request.checkNotModified(eTag)) {
+            return EntityTags.notModified(eTag);
+        }
+        return EntityTags.ok(book, eTag, book.lastModified());
+    }
+
+    @Operation(summary = "Recebe uma lista de todos os livros na representação compacta, sem links.")
+    @GetMapping(produces = CompactMediaType.VALUE)
+    public ResponseEntity<List<CompactBookDto>> findAllCompactBooks(@RequestParam int page,
+                                                                    @RequestParam int quantity,
+                                                                    @RequestParam(required = false) String sort) {
+        return compactCatalogPage(lookups.getAll(page, quantity,
+                CatalogSort.parse(sort, CatalogSort.BOOK), BookMapper::toCompactDto));
+    }
+
+    @Operation(summary = "Encontra livros pelo nome na representação compacta, sem links.")
+    @GetMapping(value = "/name", produces = CompactMediaType.VALUE)
+    public ResponseEntity<List<CompactBookDto>> findAllCompactByBookName(@RequestParam String name,
+                                                                         @RequestParam int page,
+                                                                         @RequestParam int quantity,
+                                                                         @RequestParam(required = false) String sort) {
+        return compactCatalogPage(lookups.getAllByName(name, page, quantity,
+                CatalogSort.parse(sort, CatalogSort.BOOK), BookMapper::toCompactDto));
+    }
+
+    @Operation(summary = "Encontra livros pelo sobrenome do autor na representação compacta, sem links.")
+    @GetMapping(value = "/author", produces = CompactMediaType.VALUE)
+    public ResponseEntity<List<CompactBookDto>> findAllCompactByAuthorLastName(@RequestParam String lastName,
+                                                                               @RequestParam int page,
+                                                                               @RequestParam int quantity,
+                                                                               @RequestParam(required = false) String sort) {
+        return compactCatalogPage(lookups.getAllByAuthor(lastName, page, quantity,
+                CatalogSort.parse(sort, CatalogSort.BOOK), BookMapper::toCompactDto));
+    }
+
+    @Operation(summary = "Encontra livros pelo status na representação compacta, sem links.")
+    @GetMapping(value = "/status", produces = CompactMediaType.VALUE)
+    public ResponseEntity<List<CompactBookDto>> findAllCompactByStatus(@RequestParam Status status,
+                                                                       @RequestParam int page,
+                                                                       @RequestParam int quantity,
+                                                                       @RequestParam(required = false) String sort) {
+        return compactCatalogPage(lookups.getAllByStatus(status, page, quantity,
+                CatalogSort.parse(sort, CatalogSort.BOOK), BookMapper::toCompactDto));
+    }
+
+    @Operation(summary = "Recebe uma lista de todos os livros apenas com os campos pedidos em fields.")
+    @GetMapping(params = SparseFields.PARAM)
+    public ResponseEntity<List<Map<String, Object>>> findAllSparseBooks(@RequestParam int page,
+                                                                       @RequestParam int quantity,
+                                                                       @RequestParam(required = false) String sort,
+                                                                       @RequestParam String fields) {
+        return sparsePage(service.getAll(page, quantity,
+                CatalogSort.parse(sort, CatalogSort.BOOK), SparseFields.parse(fields, SparseFields.BOOK)));
+    }
+
+    @Operation(summary = "Encontra livros pelo nome apenas com os campos pedidos em fields.")
+    @GetMapping(value = "/name", params = SparseFields.PARAM)
+    public ResponseEntity<List<Map<String, Object>>> findAllSparseByBookName(@RequestParam String name,
+                                                                            @RequestParam int page,
+                                                                            @RequestParam int quantity,
+                                                                            @RequestParam(required = false) String sort,
+                                                                            @RequestParam String fields) {
+        return sparsePage(service.getAllByName(name, page, quantity,
+                CatalogSort.parse(sort, CatalogSort.BOOK), SparseFields.parse(fields, SparseFields.BOOK)));
+    }
+
+    @Operation(summary = "Encontra livros pelo sobrenome do autor apenas com os campos pedidos em fields.")
+    @GetMapping(value = "/author", params = SparseFields.PARAM)
+    public ResponseEntity<List<Map<String, Object>>> findAllSparseByAuthorLastName(@RequestParam String lastName,
+                                                                                  @RequestParam int page,
+                                                                                  @RequestParam int quantity,
+                                                                                  @RequestParam(required = false) String sort,
+                                                                                  @RequestParam String fields) {
+        return sparsePage(service.getAllByAuthor(lastName, page, quantity,
+                CatalogSort.parse(sort, CatalogSort.BOOK), SparseFields.parse(fields, SparseFields.BOOK)));
+    }
+
+    @Operation(summary = "Encontra livros pelo status apenas com os campos pedidos em fields.")
+    @GetMapping(value = "/status", params = SparseFields.PARAM)
+    public ResponseEntity<List<Map<String, Object>>> findAllSparseByStatus(@RequestParam Status status,
+                                                                          @RequestParam int page,
+                                                                          @RequestParam int quantity,
+                                                                          @RequestParam(required = false) String sort,
+                                                                          @RequestParam String fields) {
+        return sparsePage(service.getAllByStatus(status, page, quantity,
+                CatalogSort.parse(sort, CatalogSort.BOOK), SparseFields.parse(fields, SparseFields.BOOK)));
     }
 
     @Operation(summary = "Atualiza as informações de um livro.",
@@ -307,62 +740,93 @@ public class BookController {
         return ResponseEntity.ok("Book deleted successfully.");
     }
 
-    private static void addFindAllByBookNameReference(BookResponseDto bookResponseDto) {
-        bookResponseDto.add(linkTo(methodOn(BookController.class)
-                .findAllByBookName("Harry Potter", 1, 2))
-                .withRel("find-all-by-book-name")
-                .withType(HttpMethod.GET.name()));
+    private static ResponseEntity<List<BookLookupResultDto>> lookupPage(List<BookLookupResultDto> results) {
+        List<BookResponseDto> books = results.stream()
+                .map(BookLookupResultDto::getBook)
+                .filter(Objects::nonNull)
+                .toList();
+        addFindByIdReferences(books);
+
+        CatalogResponseCache.recordEntities(books.stream().map(BookResponseDto::getId).toList());
+        String eTag = EntityTags.ofCollection("lookup", results, BookLookupResultDto::getId,
+                result -> result.getFound() ? result.getBook().getVersion() : Long.valueOf(-1));
+        return EntityTags.ok(results, eTag, EntityTags.latest(books, BookResponseDto::getLastModified));
+    }
+
+    private static BookAvailabilityStream.EventId parseLastEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return BookAvailabilityStream.EventId.parse(lastEventId);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidRequestException("Invalid Last-Event-ID: " + lastEventId + ".");
+        }
     }
 
-    private static void addFindAllByStatusReference(BookResponseDto bookResponseDto) {
-        bookResponseDto.add(linkTo(methodOn(BookController.class)
-                .findAllByStatus(Status.AVAILABLE, 0, 1))
-                .withRel("find-all-by-status")
-                .withType(HttpMethod.GET.name()));
+    private static ResponseEntity<List<Map<String, Object>>> sparsePage(List<Map<String, Object>> books) {
+        CatalogResponseCache.recordEntities(books.stream().map(book -> (UUID) book.get("id")).toList());
+        return ResponseEntity.status(HttpStatus.OK)
+                .cacheControl(EntityTags.PUBLIC_CATALOG)
+                .body(books);
     }
 
-    private static void addFindAllByAuthorLastNameReference(BookResponseDto bookResponseDto) {
-        bookResponseDto.add(linkTo(methodOn(BookController.class)
-                .findAllByAuthorLastName("Tolkien", 0, 1))
-                .withRel("find-by-author-lastName")
-                .withType(HttpMethod.GET.name()));
+    private static ResponseEntity<List<CompactBookDto>> compactCatalogPage(List<CompactBookDto> books) {
+        List<UUID> ids = new ArrayList<>();
+        books.forEach(book -> {
+            ids.add(book.id());
+            book.authors().forEach(author -> ids.add(author.id()));
+        });
+        CatalogResponseCache.recordEntities(ids);
+        String eTag = EntityTags.ofDigest(COMPACT, books, BookController::compactKey);
+        return EntityTags.ok(books, eTag, EntityTags.latest(books, CompactBookDto::lastModified));
     }
 
-    private static void addFindAllBooksReference(BookResponseDto bookResponseDto) {
-        bookResponseDto.add(linkTo(methodOn(BookController.class)
-                .findAllBooks(1, 2))
-                .withRel("find-all")
-                .withType(HttpMethod.GET.name()));
+    /**
+     * The book version with the versions of the authors whose names are inlined, so renaming
+     * an author changes the tag. Authors are sorted, as their order is not stable.
+     */
+    private static String compactKey(CompactBookDto book) {
+        return EntityTags.key(book.id(), book.version()) + book.authors().stream()
+                .map(author -> EntityTags.key(author.id(), author.version()))
+                .sorted()
+                .collect(Collectors.joining(",", "#", ""));
+    }
+
+    private static ResponseEntity<List<BookResponseDto>> catalogPage(List<BookResponseDto> books) {
+        CatalogResponseCache.recordEntities(books.stream().map(BookResponseDto::getId).toList());
+        String eTag = EntityTags.ofCollection("books", books, BookResponseDto::getId, BookResponseDto::getVersion);
+        return EntityTags.ok(books, eTag, EntityTags.latest(books, BookResponseDto::getLastModified));
+    }
+
+    private static void addFindByIdReferences(List<BookResponseDto> books) {
+        CatalogLinks links = CatalogLinks.current();
+        books.forEach(book -> book.add(links.book(book.getId())));
     }
 
     private static void addUpdateBookDataReference(BookResponseDto bookResponseDto, UUID uuid) {
-        bookResponseDto.add(linkTo(methodOn(BookController.class)
-                .updateBookData(uuid, new BookCreateDto()))
-                .withRel("update")
-                .withType(HttpMethod.PUT.name()));
+        bookResponseDto.add(CatalogLinks.current().updateBook(uuid));
     }
 
     private static void addDeleteBookReference(BookResponseDto bookResponseDto) {
-        bookResponseDto.add(linkTo(methodOn(BookController.class)
-                .deleteBook(bookResponseDto.getId()))
-                .withRel("delete")
-                .withType(HttpMethod.DELETE.name()));
+        bookResponseDto.add(CatalogLinks.current().deleteBook(bookResponseDto.getId()));
     }
 
     private static void addFindByIdReference(BookResponseDto bookResponseDto) {
-        bookResponseDto.add(linkTo(methodOn(BookController.class)
-                .findBookById(bookResponseDto.getId()))
-                .withSelfRel()
-                .withType(HttpMethod.GET.name()));
+        bookResponseDto.add(CatalogLinks.current().book(bookResponseDto.getId()));
     }
 
     private static void addAllReferences(BookResponseDto bookResponseDto) {
-        addFindByIdReference(bookResponseDto);
-        addDeleteBookReference(bookResponseDto);
-        addUpdateBookDataReference(bookResponseDto, bookResponseDto.getId());
-        addFindAllBooksReference(bookResponseDto);
-        addFindAllByAuthorLastNameReference(bookResponseDto);
-        addFindAllByStatusReference(bookResponseDto);
-        addFindAllByBookNameReference(bookResponseDto);
-    }
-}
\ No newline at end of file
+        CatalogLinks links = CatalogLinks.current();
+        UUID id = bookResponseDto.getId();
+        bookResponseDto.add(List.of(
+                links.book(id),
+                links.deleteBook(id),
+                links.updateBook(id),
+                links.findAllBooks(),
+                links.findAllByAuthorLastName(),
+                links.findAllByStatus(),
+                links.findAllByBookName()
+        ));
+    }
+}
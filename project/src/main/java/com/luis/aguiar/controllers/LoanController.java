@@ -3,8 +3,9 @@ package com.luis.aguiar.controllers;
 import com.luis.aguiar.dto.*;
 import com.luis.aguiar.exceptions.ErrorModel;
 import com.luis.aguiar.exceptions.UnauthorizedException;
-import com.luis.aguiar.models.User;
 import com.luis.aguiar.services.LoanService;
+import com.luis.aguiar.web.CatalogLinks;
+import com.luis.aguiar.web.SparseFields;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -13,7 +14,6 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -21,8 +21,6 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 import java.util.*;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
 @Tag(name = "Loans", description = "Fornece as operações relacionadas aos empréstimos de livros.")
 @RestController
@@ -219,6 +217,46 @@ public class LoanController {
     }
 
 
+    @Operation(summary = "Encontra empréstimos pelo status apenas com os campos pedidos em fields.",
+            security = @SecurityRequirement(name = "security"))
+    @GetMapping(value = "/status", params = SparseFields.PARAM)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<Map<String, Object>>> findSparseByActive(@RequestParam boolean status,
+                                                                       @RequestParam int page,
+                                                                       @RequestParam int quantity,
+                                                                       @RequestParam String fields) {
+        List<Map<String, Object>> loans = loanService.findByStatus(status, page, quantity,
+                SparseFields.parse(fields, SparseFields.LOAN));
+        return ResponseEntity.status(HttpStatus.OK).body(loans);
+    }
+
+    @Operation(summary = "Encontra empréstimos do usuário apenas com os campos pedidos em fields.",
+            security = @SecurityRequirement(name = "security"))
+    @GetMapping(value = "/user/{email}", params = SparseFields.PARAM)
+    @PreAuthorize("hasAnyRole('ADMIN','USER') AND #email == authentication.principal.username")
+    public ResponseEntity<List<Map<String, Object>>> findSparseLoanByUser(@PathVariable(name = "email") String email,
+                                                                         @RequestParam int page,
+                                                                         @RequestParam int quantity,
+                                                                         @RequestParam String fields) {
+        List<Map<String, Object>> loans = loanService.findByUserEmail(email, page, quantity,
+                SparseFields.parse(fields, SparseFields.LOAN));
+        return ResponseEntity.status(HttpStatus.OK).body(loans);
+    }
+
+    @Operation(summary = "Encontra empréstimos do usuário pelo status apenas com os campos pedidos em fields.",
+            security = @SecurityRequirement(name = "security"))
+    @GetMapping(value = "/user/{email}/{status}", params = SparseFields.PARAM)
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER') AND #email == authentication.principal.username")
+    public ResponseEntity<List<Map<String, Object>>> findSparseByUserAndStatus(@PathVariable(name = "email") String email,
+                                                                              @PathVariable(name = "status") boolean status,
+                                                                              @RequestParam int page,
+                                                                              @RequestParam int quantity,
+                                                                              @RequestParam String fields) {
+        List<Map<String, Object>> loans = loanService.findByUserAndActive(email, status, page, quantity,
+                SparseFields.parse(fields, SparseFields.LOAN));
+        return ResponseEntity.status(HttpStatus.OK).body(loans);
+    }
+
     @Operation(summary = "Devolve um empréstimo ativo.",
             security = @SecurityRequirement(name = "security"),
             responses = {
@@ -269,46 +307,15 @@ public class LoanController {
         return ResponseEntity.ok().build();
     }
 
-    private static void addReturnLoanReference(LoanResponseDto loan) {
-        loan.add(linkTo(methodOn(LoanController.class)
-                .returnLoan(loan.getId(), "joao@gmail.com", new User()))
-                .withRel("return-loan")
-                .withType(HttpMethod.POST.name()));
-    }
-
-    private static void addFindByUserAndStatusReference(LoanResponseDto loan) {
-        loan.add(linkTo(methodOn(LoanController.class)
-                .findByUserAndStatus(loan.getUser().getEmail(), true, 0, 1))
-                .withRel("find-by-user-and-active")
-                .withType(HttpMethod.GET.name()));
-    }
-
-    private static void addFindLoanByUserReference(LoanResponseDto loan) {
-        loan.add(linkTo(methodOn(LoanController.class)
-                .findLoanByUser(loan.getUser().getEmail(),1 ,1))
-                .withRel("find-by-user")
-                .withType(HttpMethod.GET.name()));
-    }
-
-    private static void addFinByActiveReference(LoanResponseDto loan) {
-        loan.add(linkTo(methodOn(LoanController.class)
-                .findByActive(true, 0, 1))
-                .withRel("find-by-active")
-                .withType(HttpMethod.GET.name()));
-    }
-
-    private static void addFindLoanByIdReference(LoanResponseDto loan) {
-        loan.add(linkTo(methodOn(LoanController.class)
-                .findLoanById(loan.getId()))
-                .withSelfRel()
-                .withType(HttpMethod.GET.name()));
-    }
-
     private static void addAllReferences(LoanResponseDto loan) {
-        addFindLoanByIdReference(loan);
-        addFinByActiveReference(loan);
-        addFindLoanByUserReference(loan);
-        addFindByUserAndStatusReference(loan);
-        addReturnLoanReference(loan);
+        CatalogLinks links = CatalogLinks.current();
+        String email = loan.getUser().getEmail();
+        loan.add(List.of(
+                links.loan(loan.getId()),
+                links.findLoansByActive(),
+                links.findLoansByUser(email),
+                links.findLoansByUserAndActive(email),
+                links.returnLoan("joao@gmail.com", loan.getId())
+        ));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,58 @@
+package com.luis.aguiar.controllers;
+
+import com.luis.aguiar.dto.CatalogStatisticsDto;
+import com.luis.aguiar.services.CatalogStatisticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Statistics", description = "Fornece as estatísticas do catálogo da API.")
+@RestController
+@RequestMapping("library/v1/statistics")
+public class StatisticsController {
+    @Autowired
+    private CatalogStatisticsService service;
+
+    @Operation(summary = "Recebe a quantidade de autores por nacionalidade, de livros por status e de livros por "
+            + "nacionalidade dos autores.",
+            description = "Os valores são mantidos em cache e atualizados a cada alteração; refreshedAt indica "
+                    + "quando foram atualizados pela última vez.",
+            security = @SecurityRequirement(name = "security"),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Recurso retornado com sucesso.",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = CatalogStatisticsDto.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description = "Erro interno do servidor.",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Usuário não autenticado, sem acesso a operação ou dados inválidos fornecidos.",
+                            content = @Content
+                    )
+            })
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CatalogStatisticsDto> findStatistics() {
+        CatalogStatisticsDto statistics = service.statistics();
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .lastModified(statistics.refreshedAt())
+                .body(statistics);
+    }
+}
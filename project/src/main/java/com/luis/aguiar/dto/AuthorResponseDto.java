@@ -4,13 +4,14 @@ import com.fasterxml.jackson.annotation.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
 import org.springframework.hateoas.RepresentationModel;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.*;
 
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter @Setter @ToString
-@JsonPropertyOrder( { "id", "firstName", "lastName", "birthDate", "nationality", "books" } )
+@JsonPropertyOrder( { "id", "firstName", "lastName", "birthDate", "nationality", "bookCount", "books" } )
 public class AuthorResponseDto extends RepresentationModel<AuthorResponseDto> {
 
     @NotNull
@@ -28,6 +29,13 @@ public class AuthorResponseDto extends RepresentationModel<AuthorResponseDto> {
     @NotBlank
     private String nationality;
 
-    @JsonBackReference
-    private Set<BookResponseDto> books = new HashSet<>();
+    private long bookCount;
+
+    private List<BookSummaryDto> books = new ArrayList<>();
+
+    @JsonIgnore
+    private Long version;
+
+    @JsonIgnore
+    private Instant lastModified;
 }
\ No newline at end of file
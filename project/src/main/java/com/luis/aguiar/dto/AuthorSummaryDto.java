@@ -0,0 +1,7 @@
+package com.luis.aguiar.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.util.UUID;
+
+public record AuthorSummaryDto(UUID id, String firstName, String lastName, @JsonIgnore Long version) {
+}
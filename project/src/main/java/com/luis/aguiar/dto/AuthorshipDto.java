@@ -0,0 +1,6 @@
+package com.luis.aguiar.dto;
+
+import java.util.UUID;
+
+public record AuthorshipDto(UUID authorId, UUID bookId) {
+}
@@ -0,0 +1,15 @@
+package com.luis.aguiar.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record AuthorshipReportDto(long received,
+                                  long inserted,
+                                  long existing,
+                                  long rejected,
+                                  List<PairError> errors,
+                                  boolean errorsTruncated) {
+
+    public record PairError(long index, UUID authorId, UUID bookId, String message) {
+    }
+}
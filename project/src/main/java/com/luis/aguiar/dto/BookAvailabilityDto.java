@@ -0,0 +1,13 @@
+package com.luis.aguiar.dto;
+
+import com.luis.aguiar.enums.Status;
+import java.time.Instant;
+import java.util.UUID;
+
+public record BookAvailabilityDto(
+        UUID bookId,
+        Status previousStatus,
+        Status status,
+        Instant changedAt
+) {
+}
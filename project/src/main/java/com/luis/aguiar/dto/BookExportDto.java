@@ -0,0 +1,16 @@
+package com.luis.aguiar.dto;
+
+import com.luis.aguiar.enums.Status;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public record BookExportDto(UUID id,
+                            String title,
+                            LocalDate publicationDate,
+                            Status status,
+                            Long version,
+                            Instant lastModified,
+                            List<AuthorSummaryDto> authors) {
+}
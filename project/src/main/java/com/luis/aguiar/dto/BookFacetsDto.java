@@ -0,0 +1,12 @@
+package com.luis.aguiar.dto;
+
+import com.luis.aguiar.enums.Status;
+import java.util.Map;
+
+public record BookFacetsDto(
+        long total,
+        Map<Status, Long> status,
+        Map<String, Long> nationality,
+        Map<Integer, Long> decade
+) {
+}
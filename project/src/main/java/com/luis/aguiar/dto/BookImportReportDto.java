@@ -0,0 +1,14 @@
+package com.luis.aguiar.dto;
+
+import java.util.List;
+
+public record BookImportReportDto(long received,
+                                  long inserted,
+                                  long duplicates,
+                                  long rejected,
+                                  List<RowError> errors,
+                                  boolean errorsTruncated) {
+
+    public record RowError(long row, String title, String message) {
+    }
+}
@@ -0,0 +1,14 @@
+package com.luis.aguiar.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.*;
+import java.util.*;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter @Setter @ToString
+public class BookLookupRequestDto {
+
+    @NotEmpty
+    private List<UUID> ids = new ArrayList<>();
+}
@@ -0,0 +1,22 @@
+package com.luis.aguiar.dto;
+
+import com.fasterxml.jackson.annotation.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import java.util.UUID;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter @Setter @ToString
+@JsonPropertyOrder( { "id", "found", "book" } )
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BookLookupResultDto {
+
+    @NotNull
+    private UUID id;
+
+    @NotNull
+    private Boolean found;
+
+    private BookResponseDto book;
+}
@@ -6,6 +6,7 @@ import jakarta.validation.constraints.*;
 import lombok.*;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.RepresentationModel;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.*;
 
@@ -29,4 +30,10 @@ public class BookResponseDto extends RepresentationModel<BookResponseDto> {
 
     @JsonManagedReference
     private Set<Link> authors = new HashSet<>();
+
+    @JsonIgnore
+    private Long version;
+
+    @JsonIgnore
+    private Instant lastModified;
 }
\ No newline at end of file
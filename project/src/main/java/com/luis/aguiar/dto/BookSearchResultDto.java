@@ -0,0 +1,17 @@
+package com.luis.aguiar.dto;
+
+import com.fasterxml.jackson.annotation.*;
+import lombok.*;
+import java.util.List;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter @Setter @ToString
+@JsonPropertyOrder( { "facets", "books" } )
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BookSearchResultDto {
+
+    private List<BookResponseDto> books;
+
+    private BookFacetsDto facets;
+}
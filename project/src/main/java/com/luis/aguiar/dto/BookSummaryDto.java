@@ -0,0 +1,13 @@
+package com.luis.aguiar.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.luis.aguiar.enums.Status;
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record BookSummaryDto(UUID id,
+                             String title,
+                             LocalDate publicationDate,
+                             Status status,
+                             @JsonIgnore Long version) {
+}
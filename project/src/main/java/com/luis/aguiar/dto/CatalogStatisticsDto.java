@@ -0,0 +1,13 @@
+package com.luis.aguiar.dto;
+
+import com.luis.aguiar.enums.Status;
+import java.time.Instant;
+import java.util.Map;
+
+public record CatalogStatisticsDto(
+        Map<String, Long> authorsByNationality,
+        Map<Status, Long> booksByStatus,
+        Map<String, Long> booksByAuthorNationality,
+        Instant refreshedAt
+) {
+}
@@ -0,0 +1,15 @@
+package com.luis.aguiar.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record CompactAuthorDto(UUID id,
+                               String firstName,
+                               String lastName,
+                               LocalDate birthDate,
+                               String nationality,
+                               @JsonIgnore Long version,
+                               @JsonIgnore Instant lastModified) {
+}
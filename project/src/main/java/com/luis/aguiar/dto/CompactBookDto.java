@@ -0,0 +1,17 @@
+package com.luis.aguiar.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.luis.aguiar.enums.Status;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public record CompactBookDto(UUID id,
+                             String title,
+                             LocalDate publicationDate,
+                             Status status,
+                             List<AuthorSummaryDto> authors,
+                             @JsonIgnore Long version,
+                             @JsonIgnore Instant lastModified) {
+}
@@ -0,0 +1,6 @@
+package com.luis.aguiar.enums;
+
+public enum AuthorNameField {
+    LAST_NAME,
+    FULL_NAME;
+}
@@ -0,0 +1,7 @@
+package com.luis.aguiar.enums;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED;
+}
@@ -0,0 +1,7 @@
+package com.luis.aguiar.events;
+
+import java.util.List;
+import java.util.UUID;
+
+public record AuthorBookCountsReconciledEvent(List<UUID> authorIds) {
+}
@@ -0,0 +1,6 @@
+package com.luis.aguiar.events;
+
+import java.util.UUID;
+
+public record AuthorshipChangedEvent(UUID bookId, UUID authorId) {
+}
@@ -0,0 +1,16 @@
+package com.luis.aguiar.events;
+
+import java.util.*;
+
+/**
+ * The authorships added together by one bulk import batch, so listeners reloading books can do it
+ * once per batch instead of once per pair.
+ */
+public record AuthorshipsChangedEvent(List<AuthorshipChangedEvent> authorships) {
+
+    public Set<UUID> bookIds() {
+        Set<UUID> bookIds = new LinkedHashSet<>();
+        authorships.forEach(authorship -> bookIds.add(authorship.bookId()));
+        return bookIds;
+    }
+}
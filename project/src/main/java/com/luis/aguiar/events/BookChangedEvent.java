@@ -0,0 +1,7 @@
+package com.luis.aguiar.events;
+
+import com.luis.aguiar.enums.ChangeType;
+import java.util.UUID;
+
+public record BookChangedEvent(UUID bookId, ChangeType change, BookState previous, BookState current) {
+}
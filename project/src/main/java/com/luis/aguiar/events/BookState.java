@@ -0,0 +1,12 @@
+package com.luis.aguiar.events;
+
+import com.luis.aguiar.enums.Status;
+import com.luis.aguiar.models.Book;
+import java.time.LocalDate;
+
+public record BookState(Status status, LocalDate publicationDate) {
+
+    public static BookState of(Book book) {
+        return new BookState(book.getStatus(), book.getPublicationDate());
+    }
+}
@@ -0,0 +1,16 @@
+package com.luis.aguiar.events;
+
+import java.util.*;
+
+/**
+ * The books changed together by one bulk import batch, so listeners reloading or evicting can do
+ * it once per batch instead of once per book.
+ */
+public record BooksChangedEvent(List<BookChangedEvent> books) {
+
+    public Set<UUID> bookIds() {
+        Set<UUID> bookIds = new LinkedHashSet<>();
+        books.forEach(book -> bookIds.add(book.bookId()));
+        return bookIds;
+    }
+}
@@ -0,0 +1,7 @@
+package com.luis.aguiar.exceptions;
+
+public class InvalidRequestException extends RuntimeException {
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
@@ -48,6 +48,13 @@ public class ResourceExceptionHandler implements AuthenticationEntryPoint {
         return ResponseEntity.status(HttpStatus.FORBIDDEN).body(exception);
     }
 
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<ErrorModel> invalidRequestException(InvalidRequestException ex,
+                                                              HttpServletRequest request) {
+        var exception = configNewExceptionData(ex, request, "Invalid request.", HttpStatus.BAD_REQUEST);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(exception);
+    }
+
     @ExceptionHandler(MethodArgumentTypeMismatchException.class)
     public ResponseEntity<ErrorModel> methodArgumentNotValidException(MethodArgumentTypeMismatchException ex,
                                                                       HttpServletRequest request) {
@@ -0,0 +1,265 @@
+package com.luis.aguiar.indexes;
+
+import com.luis.aguiar.dto.BookFacetsDto;
+import com.luis.aguiar.enums.ChangeType;
+import com.luis.aguiar.enums.Status;
+import com.luis.aguiar.events.*;
+import com.luis.aguiar.repositories.*;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory facet counters for the catalog search. Books are grouped by their
+ * (status, decade, author nationalities) combination and only the size of each group is kept, so
+ * the facet counts for any filter are summed over a few hundred groups instead of grouping the
+ * {@code books} table on every request. Changes are applied after the writing transaction commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookFacetIndex {
+
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private State state = new State();
+    private List<Object> pending;
+    private volatile boolean ready;
+
+    public static int decadeOf(LocalDate date) {
+        return date.getYear() - Math.floorMod(date.getYear(), 10);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        State newState = new State();
+        authorRepository.findAllNationalities()
+                .forEach(author -> newState.nationalities.put(author.getId(), author.getNationality()));
+        bookRepository.findAllFacets()
+                .forEach(book -> newState.putBook(book.getId(), book.getStatus(), decadeOf(book.getPublicationDate())));
+        bookRepository.findAllAuthorships()
+                .forEach(authorship -> newState.addAuthor(authorship.getBookId(), authorship.getAuthorId()));
+
+        lock.writeLock().lock();
+        try {
+            state = newState;
+            List<Object> missed = pending;
+            pending = null;
+            missed.forEach(this::apply);
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        record(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBooksChanged(BooksChangedEvent event) {
+        record(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        record(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorshipChanged(AuthorshipChangedEvent event) {
+        record(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorshipsChanged(AuthorshipsChangedEvent event) {
+        record(event);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Counts the books matching every filter, and for each facet the books matching the filters
+     * of the other facets, so a client can show how many results each alternative value would give.
+     */
+    public BookFacetsDto facets(Status status, String nationality, Integer decade) {
+        long total = 0;
+        Map<Status, Long> statusCounts = new EnumMap<>(Status.class);
+        Map<String, Long> nationalityCounts = new TreeMap<>();
+        Map<Integer, Long> decadeCounts = new TreeMap<>();
+
+        lock.readLock().lock();
+        try {
+            for (Map.Entry<FacetKey, Long> group : state.groups.entrySet()) {
+                FacetKey key = group.getKey();
+                long size = group.getValue();
+                boolean statusMatches = status == null || key.status() == status;
+                boolean decadeMatches = decade == null || key.decade() == decade;
+                boolean nationalityMatches = nationality == null || key.nationalities().contains(nationality);
+
+                if (statusMatches && decadeMatches && nationalityMatches) {
+                    total += size;
+                }
+                if (decadeMatches && nationalityMatches) {
+                    statusCounts.merge(key.status(), size, Long::sum);
+                }
+                if (statusMatches && nationalityMatches) {
+                    decadeCounts.merge(key.decade(), size, Long::sum);
+                }
+                if (statusMatches && decadeMatches) {
+                    for (String value : key.nationalities()) {
+                        nationalityCounts.merge(value, size, Long::sum);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new BookFacetsDto(total, statusCounts, nationalityCounts, decadeCounts);
+    }
+
+    private void record(Object event) {
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                pending.add(event);
+            }
+            apply(event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(Object event) {
+        if (event instanceof BookChangedEvent book) {
+            if (book.current() == null) {
+                state.removeBook(book.bookId());
+            } else {
+                state.putBook(book.bookId(), book.current().status(), decadeOf(book.current().publicationDate()));
+            }
+        } else if (event instanceof AuthorChangedEvent author) {
+            if (author.change() == ChangeType.DELETED) {
+                state.removeAuthor(author.authorId());
+            } else {
+                state.putAuthor(author.authorId(), author.nationality());
+            }
+        } else if (event instanceof AuthorshipChangedEvent authorship) {
+            state.addAuthor(authorship.bookId(), authorship.authorId());
+        } else if (event instanceof BooksChangedEvent books) {
+            books.books().forEach(this::apply);
+        } else if (event instanceof AuthorshipsChangedEvent authorships) {
+            authorships.authorships().forEach(this::apply);
+        }
+    }
+
+    private record FacetKey(Status status, int decade, Set<String> nationalities) {
+    }
+
+    private static final class BookFacets {
+        private Status status;
+        private int decade;
+        private final Set<UUID> authorIds = new HashSet<>();
+    }
+
+    private static final class State {
+        private final Map<UUID, BookFacets> books = new HashMap<>();
+        private final Map<UUID, String> nationalities = new HashMap<>();
+        private final Map<UUID, Set<UUID>> booksByAuthor = new HashMap<>();
+        private final Map<FacetKey, Long> groups = new HashMap<>();
+
+        void putBook(UUID bookId, Status status, int decade) {
+            BookFacets book = books.get(bookId);
+            if (book == null) {
+                book = new BookFacets();
+                books.put(bookId, book);
+            } else {
+                untrack(book);
+            }
+            book.status = status;
+            book.decade = decade;
+            track(book);
+        }
+
+        void removeBook(UUID bookId) {
+            BookFacets book = books.remove(bookId);
+            if (book == null) {
+                return;
+            }
+            untrack(book);
+            for (UUID authorId : book.authorIds) {
+                Set<UUID> authorBooks = booksByAuthor.get(authorId);
+                if (authorBooks != null) {
+                    authorBooks.remove(bookId);
+                }
+            }
+        }
+
+        void putAuthor(UUID authorId, String nationality) {
+            List<BookFacets> authorBooks = booksOf(authorId);
+            authorBooks.forEach(this::untrack);
+            nationalities.put(authorId, nationality);
+            authorBooks.forEach(this::track);
+        }
+
+        void removeAuthor(UUID authorId) {
+            List<BookFacets> authorBooks = booksOf(authorId);
+            authorBooks.forEach(this::untrack);
+            authorBooks.forEach(book -> book.authorIds.remove(authorId));
+            nationalities.remove(authorId);
+            booksByAuthor.remove(authorId);
+            authorBooks.forEach(this::track);
+        }
+
+        void addAuthor(UUID bookId, UUID authorId) {
+            BookFacets book = books.get(bookId);
+            if (book == null || book.authorIds.contains(authorId)) {
+                return;
+            }
+            untrack(book);
+            book.authorIds.add(authorId);
+            track(book);
+            booksByAuthor.computeIfAbsent(authorId, id -> new HashSet<>()).add(bookId);
+        }
+
+        private List<BookFacets> booksOf(UUID authorId) {
+            return booksByAuthor.getOrDefault(authorId, Set.of()).stream()
+                    .map(books::get)
+                    .filter(Objects::nonNull)
+                    .toList();
+        }
+
+        private void track(BookFacets book) {
+            groups.merge(keyOf(book), 1L, Long::sum);
+        }
+
+        private void untrack(BookFacets book) {
+            groups.computeIfPresent(keyOf(book), (key, size) -> size > 1 ? size - 1 : null);
+        }
+
+        private FacetKey keyOf(BookFacets book) {
+            Set<String> bookNationalities = book.authorIds.stream()
+                    .map(nationalities::get)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toUnmodifiableSet());
+            return new FacetKey(book.status, book.decade, bookNationalities);
+        }
+    }
+}
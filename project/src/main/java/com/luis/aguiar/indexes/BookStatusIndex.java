@@ -0,0 +1,166 @@
+package com.luis.aguiar.indexes;
+
+import com.luis.aguiar.enums.Status;
+import com.luis.aguiar.events.BookChangedEvent;
+import com.luis.aguiar.events.BooksChangedEvent;
+import com.luis.aguiar.repositories.BookRepository;
+import com.luis.aguiar.repositories.BookStatusView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory status index over dense book ordinals. Each status owns a bitmap whose set bits are
+ * the ordinals of the books currently in that status, so status pages and counts never touch the
+ * {@code status} column. Changes are applied after the writing transaction commits.
+ * The ordinals of deleted books are reused by the next created ones, so the bitmaps stay as
+ * long as the catalog instead of growing with every book ever created.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookStatusIndex {
+
+    private final BookRepository repository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<UUID, Integer> ordinals = new HashMap<>();
+    private List<UUID> ids = new ArrayList<>();
+    private BitSet free = new BitSet();
+    private Map<Status, BitSet> bitmaps = emptyBitmaps();
+    private List<BookChangedEvent> pending;
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<BookStatusView> statuses = repository.findAllStatuses();
+        Map<UUID, Integer> newOrdinals = new HashMap<>(statuses.size() * 2);
+        List<UUID> newIds = new ArrayList<>(statuses.size());
+        Map<Status, BitSet> newBitmaps = emptyBitmaps();
+        for (BookStatusView view : statuses) {
+            int ordinal = newIds.size();
+            newIds.add(view.getId());
+            newOrdinals.put(view.getId(), ordinal);
+            newBitmaps.get(view.getStatus()).set(ordinal);
+        }
+
+        lock.writeLock().lock();
+        try {
+            ordinals = newOrdinals;
+            ids = newIds;
+            free = new BitSet();
+            bitmaps = newBitmaps;
+            List<BookChangedEvent> missed = pending;
+            pending = null;
+            missed.forEach(this::apply);
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        record(List.of(event));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBooksChanged(BooksChangedEvent event) {
+        record(event.books());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public long count(Status status) {
+        lock.readLock().lock();
+        try {
+            return bitmaps.get(status).cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<UUID> page(Status status, int page, int quantity) {
+        lock.readLock().lock();
+        try {
+            BitSet bitmap = bitmaps.get(status);
+            long skip = (long) page * quantity;
+            int ordinal = bitmap.nextSetBit(0);
+            while (ordinal >= 0 && skip-- > 0) {
+                ordinal = bitmap.nextSetBit(ordinal + 1);
+            }
+
+            List<UUID> result = new ArrayList<>(quantity);
+            while (ordinal >= 0 && result.size() < quantity) {
+                result.add(ids.get(ordinal));
+                ordinal = bitmap.nextSetBit(ordinal + 1);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void record(List<BookChangedEvent> events) {
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                pending.addAll(events);
+            }
+            events.forEach(this::apply);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(BookChangedEvent event) {
+        Integer ordinal = ordinals.get(event.bookId());
+        if (event.current() == null) {
+            if (ordinal != null) {
+                for (BitSet bitmap : bitmaps.values()) {
+                    bitmap.clear(ordinal);
+                }
+                ordinals.remove(event.bookId());
+                ids.set(ordinal, null);
+                free.set(ordinal);
+            }
+            return;
+        }
+
+        if (ordinal == null) {
+            ordinal = free.nextSetBit(0);
+            if (ordinal < 0) {
+                ordinal = ids.size();
+                ids.add(event.bookId());
+            } else {
+                free.clear(ordinal);
+                ids.set(ordinal, event.bookId());
+            }
+            ordinals.put(event.bookId(), ordinal);
+        }
+        for (Map.Entry<Status, BitSet> entry : bitmaps.entrySet()) {
+            entry.getValue().set(ordinal, entry.getKey() == event.current().status());
+        }
+    }
+
+    private static Map<Status, BitSet> emptyBitmaps() {
+        Map<Status, BitSet> bitmaps = new EnumMap<>(Status.class);
+        for (Status status : Status.values()) {
+            bitmaps.put(status, new BitSet());
+        }
+        return bitmaps;
+    }
+}
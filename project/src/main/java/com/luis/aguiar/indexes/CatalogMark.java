@@ -0,0 +1,54 @@
+package com.luis.aguiar.indexes;
+
+import com.luis.aguiar.repositories.CatalogMarkView;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * High-water mark of the catalog tables. Inserts move {@code lastModified}, updates (including
+ * authorship changes, which bump the book version) move the version sum and deletes move the
+ * count, so two equal marks mean the rows have not changed in between. Timestamps are kept at
+ * the microsecond precision the database stores.
+ */
+public record CatalogMark(long books, long bookVersions, Instant booksModified,
+                          long authors, long authorVersions, Instant authorsModified) {
+
+    public static CatalogMark of(CatalogMarkView books, CatalogMarkView authors) {
+        return new CatalogMark(
+                valueOf(books.getCount()), valueOf(books.getVersions()), truncate(books.getLastModified()),
+                valueOf(authors.getCount()), valueOf(authors.getVersions()), truncate(authors.getLastModified())
+        );
+    }
+
+    public static CatalogMark of(CatalogSnapshot snapshot) {
+        long bookVersions = 0;
+        Instant booksModified = null;
+        for (CatalogSnapshot.BookEntry book : snapshot.bookEntries()) {
+            bookVersions += valueOf(book.version());
+            booksModified = latest(booksModified, book.lastModified());
+        }
+        long authorVersions = 0;
+        Instant authorsModified = null;
+        for (CatalogSnapshot.AuthorEntry author : snapshot.authorEntries()) {
+            authorVersions += valueOf(author.version());
+            authorsModified = latest(authorsModified, author.lastModified());
+        }
+        return new CatalogMark(snapshot.bookCount(), bookVersions, truncate(booksModified),
+                snapshot.authorCount(), authorVersions, truncate(authorsModified));
+    }
+
+    private static long valueOf(Long value) {
+        return value == null ? 0 : value;
+    }
+
+    private static Instant latest(Instant current, Instant candidate) {
+        if (candidate == null) {
+            return current;
+        }
+        return current == null || candidate.isAfter(current) ? candidate : current;
+    }
+
+    private static Instant truncate(Instant instant) {
+        return instant == null ? null : instant.truncatedTo(ChronoUnit.MICROS);
+    }
+}
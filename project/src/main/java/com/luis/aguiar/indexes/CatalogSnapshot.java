@@ -0,0 +1,308 @@
+package com.luis.aguiar.indexes;
+
+import com.luis.aguiar.enums.Status;
+import com.luis.aguiar.models.Author;
+import com.luis.aguiar.models.Book;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Immutable version of the book and author catalog. Entries live in a fixed number of hash
+ * shards: a write copies the shard array and the one shard it touches, every other shard is
+ * shared with the previous version. Sorted views are built lazily, once per version and order.
+ */
+public final class CatalogSnapshot {
+
+    private static final int SHARDS = 64;
+    private static final long MAP_ENTRY_BYTES = 48;
+
+    private final long version;
+    private final Instant publishedAt;
+    private final Shards<BookEntry> books;
+    private final Shards<AuthorEntry> authors;
+    private final long footprintBytes;
+    private final ConcurrentMap<Sort, List<BookEntry>> orderings = new ConcurrentHashMap<>();
+
+    private CatalogSnapshot(long version, Shards<BookEntry> books, Shards<AuthorEntry> authors, long footprintBytes) {
+        this.version = version;
+        this.publishedAt = Instant.now();
+        this.books = books;
+        this.authors = authors;
+        this.footprintBytes = footprintBytes;
+    }
+
+    public record BookEntry(UUID id, String title, LocalDate publicationDate, Status status,
+                            List<UUID> authorIds, Long version, Instant lastModified) {
+
+        public static BookEntry of(Book book, Collection<UUID> authorIds) {
+            return new BookEntry(book.getId(), book.getTitle(), book.getPublicationDate(), book.getStatus(),
+                    List.copyOf(authorIds), book.getVersion(), book.getLastModified());
+        }
+
+        long footprint() {
+            return 160 + 2L * title.length() + 32L * authorIds.size() + MAP_ENTRY_BYTES;
+        }
+    }
+
+    public record AuthorEntry(UUID id, String firstName, String lastName, LocalDate birthDate,
+                              String nationality, Long version, Instant lastModified) {
+
+        public static AuthorEntry of(Author author) {
+            return new AuthorEntry(author.getId(), author.getFirstName(), author.getLastName(),
+                    author.getBirthDate(), author.getNationality(), author.getVersion(), author.getLastModified());
+        }
+
+        long footprint() {
+            return 200 + 2L * (firstName.length() + lastName.length() + nationality.length()) + MAP_ENTRY_BYTES;
+        }
+    }
+
+    public static CatalogSnapshot empty() {
+        return new CatalogSnapshot(0, Shards.empty(), Shards.empty(), 0);
+    }
+
+    public static CatalogSnapshot of(Collection<BookEntry> books, Collection<AuthorEntry> authors) {
+        long footprint = 0;
+        Map<UUID, BookEntry> bookMap = new HashMap<>(books.size() * 2);
+        for (BookEntry book : books) {
+            bookMap.put(book.id(), book);
+            footprint += book.footprint();
+        }
+        Map<UUID, AuthorEntry> authorMap = new HashMap<>(authors.size() * 2);
+        for (AuthorEntry author : authors) {
+            authorMap.put(author.id(), author);
+            footprint += author.footprint();
+        }
+        return new CatalogSnapshot(1, Shards.of(bookMap), Shards.of(authorMap), footprint);
+    }
+
+    public CatalogSnapshot withBook(BookEntry book) {
+        BookEntry previous = books.get(book.id());
+        long footprint = footprintBytes + book.footprint() - (previous == null ? 0 : previous.footprint());
+        return new CatalogSnapshot(version + 1, books.with(book.id(), book), authors, footprint);
+    }
+
+    public CatalogSnapshot withoutBook(UUID bookId) {
+        BookEntry previous = books.get(bookId);
+        if (previous == null) {
+            return this;
+        }
+        return new CatalogSnapshot(version + 1, books.without(bookId), authors, footprintBytes - previous.footprint());
+    }
+
+    public CatalogSnapshot withAuthor(AuthorEntry author) {
+        AuthorEntry previous = authors.get(author.id());
+        long footprint = footprintBytes + author.footprint() - (previous == null ? 0 : previous.footprint());
+        return new CatalogSnapshot(version + 1, books, authors.with(author.id(), author), footprint);
+    }
+
+    public CatalogSnapshot withoutAuthor(UUID authorId) {
+        AuthorEntry previous = authors.get(authorId);
+        if (previous == null) {
+            return this;
+        }
+        return new CatalogSnapshot(version + 1, books, authors.without(authorId), footprintBytes - previous.footprint());
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public Instant publishedAt() {
+        return publishedAt;
+    }
+
+    public int bookCount() {
+        return books.size();
+    }
+
+    public int authorCount() {
+        return authors.size();
+    }
+
+    /**
+     * Estimated bytes held by the entries of this version. Shards shared with other versions are
+     * counted in full, so the figure is per version and not additive across versions.
+     */
+    public long footprintBytes() {
+        return footprintBytes;
+    }
+
+    public List<BookEntry> bookEntries() {
+        List<BookEntry> entries = new ArrayList<>(books.size());
+        books.forEach(entries::add);
+        return entries;
+    }
+
+    public List<AuthorEntry> authorEntries() {
+        List<AuthorEntry> entries = new ArrayList<>(authors.size());
+        authors.forEach(entries::add);
+        return entries;
+    }
+
+    public Optional<Long> bookVersion(UUID bookId) {
+        return Optional.ofNullable(books.get(bookId)).map(BookEntry::version);
+    }
+
+    public Optional<Book> findBook(UUID bookId) {
+        return Optional.ofNullable(books.get(bookId)).map(this::toBook);
+    }
+
+    public List<Book> books(int page, int quantity, Sort sort) {
+        return page(book -> true, page, quantity, sort);
+    }
+
+    public List<Book> booksByTitle(String title, int page, int quantity, Sort sort) {
+        String fragment = title.toLowerCase(Locale.ROOT);
+        return page(book -> book.title().toLowerCase(Locale.ROOT).contains(fragment), page, quantity, sort);
+    }
+
+    public List<Book> booksByAuthor(String lastName, int page, int quantity, Sort sort) {
+        String fragment = lastName.toLowerCase(Locale.ROOT);
+        return page(book -> book.authorIds().stream()
+                .map(authors::get)
+                .anyMatch(author -> author != null && author.lastName().toLowerCase(Locale.ROOT).contains(fragment)),
+                page, quantity, sort);
+    }
+
+    public List<Book> booksByStatus(Status status, int page, int quantity, Sort sort) {
+        return page(book -> book.status() == status, page, quantity, sort);
+    }
+
+    private List<Book> page(Predicate<BookEntry> filter, int page, int quantity, Sort sort) {
+        Pageable pageable = PageRequest.of(page, quantity, sort);
+        return ordered(pageable.getSort()).stream()
+                .filter(filter)
+                .skip(pageable.getOffset())
+                .limit(quantity)
+                .map(this::toBook)
+                .toList();
+    }
+
+    private List<BookEntry> ordered(Sort sort) {
+        return orderings.computeIfAbsent(sort, key -> {
+            List<BookEntry> entries = bookEntries();
+            entries.sort(comparatorOf(key));
+            return List.copyOf(entries);
+        });
+    }
+
+    private static Comparator<BookEntry> comparatorOf(Sort sort) {
+        Comparator<BookEntry> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<BookEntry> next = switch (order.getProperty()) {
+                case "id" -> Comparator.comparing(BookEntry::id, CatalogSnapshot::compareIds);
+                case "title" -> Comparator.comparing(BookEntry::title);
+                case "publicationDate" -> Comparator.comparing(BookEntry::publicationDate);
+                default -> throw new IllegalArgumentException("Unsupported snapshot sort property: " + order.getProperty() + ".");
+            };
+            if (order.isDescending()) {
+                next = next.reversed();
+            }
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        Comparator<BookEntry> byId = Comparator.comparing(BookEntry::id, CatalogSnapshot::compareIds);
+        return comparator == null ? byId : comparator.thenComparing(byId);
+    }
+
+    /**
+     * Orders ids like the database does for the uuid type, which compares the bytes unsigned.
+     */
+    private static int compareIds(UUID first, UUID second) {
+        int high = Long.compareUnsigned(first.getMostSignificantBits(), second.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(first.getLeastSignificantBits(), second.getLeastSignificantBits());
+    }
+
+    private Book toBook(BookEntry entry) {
+        Set<Author> bookAuthors = new HashSet<>();
+        for (UUID authorId : entry.authorIds()) {
+            AuthorEntry author = authors.get(authorId);
+            if (author != null) {
+                bookAuthors.add(new Author(author.id(), author.firstName(), author.lastName(), author.birthDate(),
+                        author.nationality(), new HashSet<>(), author.version(), author.lastModified()));
+            }
+        }
+        return new Book(entry.id(), entry.title(), bookAuthors, new HashSet<>(), entry.publicationDate(),
+                entry.status(), entry.version(), entry.lastModified());
+    }
+
+    private static final class Shards<V> {
+
+        private final Map<UUID, V>[] shards;
+        private final int size;
+
+        private Shards(Map<UUID, V>[] shards, int size) {
+            this.shards = shards;
+            this.size = size;
+        }
+
+        @SuppressWarnings("unchecked")
+        static <V> Shards<V> empty() {
+            Map<UUID, V>[] shards = new Map[SHARDS];
+            Arrays.fill(shards, Map.of());
+            return new Shards<>(shards, 0);
+        }
+
+        @SuppressWarnings("unchecked")
+        static <V> Shards<V> of(Map<UUID, V> values) {
+            Map<UUID, V>[] building = new Map[SHARDS];
+            for (int i = 0; i < SHARDS; i++) {
+                building[i] = new HashMap<>();
+            }
+            values.forEach((key, value) -> building[indexOf(key)].put(key, value));
+            for (int i = 0; i < SHARDS; i++) {
+                building[i] = Collections.unmodifiableMap(building[i]);
+            }
+            return new Shards<>(building, values.size());
+        }
+
+        V get(UUID key) {
+            return shards[indexOf(key)].get(key);
+        }
+
+        int size() {
+            return size;
+        }
+
+        void forEach(Consumer<V> action) {
+            for (Map<UUID, V> shard : shards) {
+                shard.values().forEach(action);
+            }
+        }
+
+        Shards<V> with(UUID key, V value) {
+            int index = indexOf(key);
+            Map<UUID, V> shard = new HashMap<>(shards[index]);
+            boolean added = shard.put(key, value) == null;
+            return replace(index, shard, added ? size + 1 : size);
+        }
+
+        Shards<V> without(UUID key) {
+            int index = indexOf(key);
+            if (!shards[index].containsKey(key)) {
+                return this;
+            }
+            Map<UUID, V> shard = new HashMap<>(shards[index]);
+            shard.remove(key);
+            return replace(index, shard, size - 1);
+        }
+
+        private Shards<V> replace(int index, Map<UUID, V> shard, int newSize) {
+            Map<UUID, V>[] copy = shards.clone();
+            copy[index] = Collections.unmodifiableMap(shard);
+            return new Shards<>(copy, newSize);
+        }
+
+        private static int indexOf(UUID key) {
+            return Math.floorMod(key.hashCode(), SHARDS);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.luis.aguiar.indexes;
+
+import com.luis.aguiar.enums.Status;
+import lombok.extern.slf4j.Slf4j;
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Binary copy of a {@link CatalogSnapshot} on local disk, used to warm a node on restart.
+ * The file is written to a temporary sibling and moved into place, and read back through a
+ * read-only memory mapping. A CRC32 trailer guards the content; a file with a different magic,
+ * format or checksum is ignored and the catalog is loaded from the database instead.
+ *
+ * <pre>
+ * int magic, int format, long writtenAt
+ * int authors, then per author: uuid, firstName, lastName, birthDate, nationality, version, lastModified
+ * int books, then per book: uuid, title, publicationDate, status, version, lastModified, int n, n author uuids
+ * long crc32 of everything above
+ * </pre>
+ */
+@Slf4j
+public final class CatalogSnapshotFile {
+
+    private static final int MAGIC = 0x4C435331;
+    private static final int FORMAT = 1;
+    private static final int TRAILER_BYTES = Long.BYTES;
+    private static final Status[] STATUSES = Status.values();
+
+    private final Path path;
+
+    public CatalogSnapshotFile(Path path) {
+        this.path = path;
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    public void write(CatalogSnapshot snapshot) {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            CRC32 crc = new CRC32();
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new CheckedOutputStream(Files.newOutputStream(temporary), crc), 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT);
+                out.writeLong(System.currentTimeMillis());
+
+                List<CatalogSnapshot.AuthorEntry> authors = snapshot.authorEntries();
+                out.writeInt(authors.size());
+                for (CatalogSnapshot.AuthorEntry author : authors) {
+                    writeUuid(out, author.id());
+                    writeString(out, author.firstName());
+                    writeString(out, author.lastName());
+                    out.writeLong(author.birthDate().toEpochDay());
+                    writeString(out, author.nationality());
+                    writeVersion(out, author.version());
+                    writeInstant(out, author.lastModified());
+                }
+
+                List<CatalogSnapshot.BookEntry> books = snapshot.bookEntries();
+                out.writeInt(books.size());
+                for (CatalogSnapshot.BookEntry book : books) {
+                    writeUuid(out, book.id());
+                    writeString(out, book.title());
+                    out.writeLong(book.publicationDate().toEpochDay());
+                    out.writeByte(book.status().ordinal());
+                    writeVersion(out, book.version());
+                    writeInstant(out, book.lastModified());
+                    out.writeInt(book.authorIds().size());
+                    for (UUID authorId : book.authorIds()) {
+                        writeUuid(out, authorId);
+                    }
+                }
+
+                out.flush();
+                out.writeLong(crc.getValue());
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not write the catalog snapshot to " + path + ".", ex);
+        }
+    }
+
+    public Optional<CatalogSnapshot> read() {
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < 2 * Integer.BYTES + Long.BYTES + TRAILER_BYTES || size > Integer.MAX_VALUE) {
+                return rejected("unexpected size " + size);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int contentBytes = (int) size - TRAILER_BYTES;
+
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(0, contentBytes));
+            if (crc.getValue() != buffer.getLong(contentBytes)) {
+                return rejected("checksum mismatch");
+            }
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT) {
+                return rejected("unknown format");
+            }
+            buffer.getLong();
+
+            int authorCount = buffer.getInt();
+            List<CatalogSnapshot.AuthorEntry> authors = new ArrayList<>(authorCount);
+            for (int i = 0; i < authorCount; i++) {
+                authors.add(new CatalogSnapshot.AuthorEntry(
+                        readUuid(buffer),
+                        readString(buffer),
+                        readString(buffer),
+                        LocalDate.ofEpochDay(buffer.getLong()),
+                        readString(buffer),
+                        readVersion(buffer),
+                        readInstant(buffer)
+                ));
+            }
+
+            int bookCount = buffer.getInt();
+            List<CatalogSnapshot.BookEntry> books = new ArrayList<>(bookCount);
+            for (int i = 0; i < bookCount; i++) {
+                UUID id = readUuid(buffer);
+                String title = readString(buffer);
+                LocalDate publicationDate = LocalDate.ofEpochDay(buffer.getLong());
+                Status status = STATUSES[buffer.get()];
+                Long version = readVersion(buffer);
+                Instant lastModified = readInstant(buffer);
+                int authorIdCount = buffer.getInt();
+                List<UUID> authorIds = new ArrayList<>(authorIdCount);
+                for (int j = 0; j < authorIdCount; j++) {
+                    authorIds.add(readUuid(buffer));
+                }
+                books.add(new CatalogSnapshot.BookEntry(id, title, publicationDate, status,
+                        List.copyOf(authorIds), version, lastModified));
+            }
+            if (buffer.position() != contentBytes) {
+                return rejected("trailing bytes");
+            }
+            return Optional.of(CatalogSnapshot.of(books, authors));
+        } catch (IOException | BufferUnderflowException | IndexOutOfBoundsException
+                 | NegativeArraySizeException | IllegalArgumentException | DateTimeException ex) {
+            log.warn("Ignoring the catalog snapshot file {}: {}", path, ex.toString());
+            return Optional.empty();
+        }
+    }
+
+    private Optional<CatalogSnapshot> rejected(String reason) {
+        log.warn("Ignoring the catalog snapshot file {}: {}", path, reason);
+        return Optional.empty();
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID id) throws IOException {
+        out.writeLong(id.getMostSignificantBits());
+        out.writeLong(id.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(MappedByteBuffer buffer) {
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(MappedByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeVersion(DataOutputStream out, Long version) throws IOException {
+        out.writeLong(version == null ? -1 : version);
+    }
+
+    private static Long readVersion(MappedByteBuffer buffer) {
+        long version = buffer.getLong();
+        return version < 0 ? null : version;
+    }
+
+    private static void writeInstant(DataOutputStream out, Instant instant) throws IOException {
+        out.writeBoolean(instant != null);
+        if (instant != null) {
+            out.writeLong(instant.getEpochSecond());
+            out.writeInt(instant.getNano());
+        }
+    }
+
+    private static Instant readInstant(MappedByteBuffer buffer) {
+        if (buffer.get() == 0) {
+            return null;
+        }
+        return Instant.ofEpochSecond(buffer.getLong(), buffer.getInt());
+    }
+}
@@ -0,0 +1,303 @@
+package com.luis.aguiar.indexes;
+
+import com.luis.aguiar.enums.ChangeType;
+import com.luis.aguiar.events.*;
+import com.luis.aguiar.models.Author;
+import com.luis.aguiar.models.Book;
+import com.luis.aguiar.repositories.AuthorRepository;
+import com.luis.aguiar.repositories.BookRepository;
+import com.luis.aguiar.repositories.VersionView;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Holds the current {@link CatalogSnapshot} when {@code library.catalog.snapshot.enabled} is set.
+ * Readers take the current version without any lock or transaction. Writers are serialized and
+ * publish a new version after the writing transaction commits, reloading the changed book or
+ * author so the snapshot always reflects committed rows. With {@code library.catalog.snapshot.file}
+ * set, the snapshot is also kept on local disk and a restart only loads what changed since.
+ */
+@Slf4j
+@Component
+public class CatalogSnapshotStore implements MeterBinder {
+
+    private static final int RELOAD_BATCH_SIZE = 500;
+
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final boolean enabled;
+    private final CatalogSnapshotFile file;
+
+    private final Lock writeLock = new ReentrantLock();
+    private volatile CatalogSnapshot current = CatalogSnapshot.empty();
+    private List<Object> pending;
+    private volatile boolean ready;
+
+    public CatalogSnapshotStore(BookRepository bookRepository,
+                                AuthorRepository authorRepository,
+                                @Value("${library.catalog.snapshot.enabled:false}") boolean enabled,
+                                @Value("${library.catalog.snapshot.file:}") String file) {
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.enabled = enabled;
+        this.file = file == null || file.isBlank() ? null : new CatalogSnapshotFile(Path.of(file));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            writeLock.unlock();
+        }
+
+        CatalogSnapshot snapshot = Optional.ofNullable(file)
+                .flatMap(CatalogSnapshotFile::read)
+                .map(this::catchUp)
+                .orElseGet(this::load);
+
+        writeLock.lock();
+        try {
+            current = snapshot;
+            List<Object> missed = pending;
+            pending = null;
+            missed.forEach(this::apply);
+            ready = true;
+        } finally {
+            writeLock.unlock();
+        }
+        persist();
+    }
+
+    /**
+     * Writes the current version to the snapshot file, if one is configured, so the next start
+     * only has to load what changed after it. Runs after every rebuild and on shutdown.
+     */
+    @PreDestroy
+    public void persist() {
+        if (file == null || !isServing()) {
+            return;
+        }
+        try {
+            file.write(current);
+        } catch (UncheckedIOException ex) {
+            log.warn("Could not persist the catalog snapshot: {}", ex.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        record(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBooksChanged(BooksChangedEvent event) {
+        record(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        record(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorshipChanged(AuthorshipChangedEvent event) {
+        record(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorshipsChanged(AuthorshipsChangedEvent event) {
+        record(event);
+    }
+
+    /**
+     * Whether reads should be answered from the snapshot instead of the database.
+     */
+    public boolean isServing() {
+        return enabled && ready;
+    }
+
+    public CatalogSnapshot current() {
+        return current;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        TimeGauge.builder("library.catalog.snapshot.age", this, TimeUnit.MILLISECONDS,
+                        store -> Duration.between(store.current.publishedAt(), Instant.now()).toMillis())
+                .description("Time since the current catalog snapshot version was published.")
+                .register(registry);
+        Gauge.builder("library.catalog.snapshot.version", this, store -> store.current.version())
+                .register(registry);
+        Gauge.builder("library.catalog.snapshot.footprint", this, store -> store.current.footprintBytes())
+                .baseUnit(BaseUnits.BYTES)
+                .description("Estimated memory held by the entries of the current catalog snapshot.")
+                .register(registry);
+        Gauge.builder("library.catalog.snapshot.books", this, store -> store.current.bookCount())
+                .register(registry);
+        Gauge.builder("library.catalog.snapshot.authors", this, store -> store.current.authorCount())
+                .register(registry);
+    }
+
+    private void record(Object event) {
+        if (!enabled) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            if (pending != null) {
+                pending.add(event);
+            }
+            apply(event);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void apply(Object event) {
+        if (event instanceof BookChangedEvent book) {
+            current = book.current() == null
+                    ? current.withoutBook(book.bookId())
+                    : reloadBook(book.bookId());
+        } else if (event instanceof BooksChangedEvent books) {
+            List<UUID> changed = new ArrayList<>();
+            for (BookChangedEvent book : books.books()) {
+                if (book.current() == null) {
+                    current = current.withoutBook(book.bookId());
+                } else {
+                    changed.add(book.bookId());
+                }
+            }
+            current = reloadBooks(changed);
+        } else if (event instanceof AuthorChangedEvent author) {
+            current = author.change() == ChangeType.DELETED
+                    ? current.withoutAuthor(author.authorId())
+                    : authorRepository.findById(author.authorId())
+                            .map(found -> current.withAuthor(CatalogSnapshot.AuthorEntry.of(found)))
+                            .orElseGet(() -> current.withoutAuthor(author.authorId()));
+        } else if (event instanceof AuthorshipChangedEvent authorship) {
+            current = reloadBook(authorship.bookId());
+        } else if (event instanceof AuthorshipsChangedEvent authorships) {
+            current = reloadBooks(List.copyOf(authorships.bookIds()));
+        }
+    }
+
+    private CatalogSnapshot load() {
+        Map<UUID, List<UUID>> authorIds = new HashMap<>();
+        bookRepository.findAllAuthorships().forEach(authorship ->
+                authorIds.computeIfAbsent(authorship.getBookId(), id -> new ArrayList<>()).add(authorship.getAuthorId()));
+        List<CatalogSnapshot.BookEntry> books = bookRepository.findAll().stream()
+                .map(book -> CatalogSnapshot.BookEntry.of(book, authorIds.getOrDefault(book.getId(), List.of())))
+                .toList();
+        List<CatalogSnapshot.AuthorEntry> authors = authorRepository.findAll().stream()
+                .map(CatalogSnapshot.AuthorEntry::of)
+                .toList();
+        return CatalogSnapshot.of(books, authors);
+    }
+
+    /**
+     * Brings a snapshot read from disk up to date. When the high-water mark of the tables still
+     * matches its content it is used as is; otherwise only the rows whose version differs from the
+     * stored one are reloaded and the rows gone from the database are dropped.
+     */
+    private CatalogSnapshot catchUp(CatalogSnapshot stored) {
+        CatalogMark mark = CatalogMark.of(bookRepository.findMark(), authorRepository.findMark());
+        if (mark.equals(CatalogMark.of(stored))) {
+            return stored;
+        }
+
+        Map<UUID, CatalogSnapshot.BookEntry> books = new HashMap<>();
+        stored.bookEntries().forEach(book -> books.put(book.id(), book));
+        List<UUID> staleBooks = stale(bookRepository.findAllVersions(), books.keySet(),
+                id -> books.get(id).version());
+        for (List<UUID> batch : batches(staleBooks)) {
+            bookRepository.findAllWithAuthorsByIdIn(batch).forEach(book ->
+                    books.put(book.getId(), CatalogSnapshot.BookEntry.of(book, authorIdsOf(book))));
+        }
+
+        Map<UUID, CatalogSnapshot.AuthorEntry> authors = new HashMap<>();
+        stored.authorEntries().forEach(author -> authors.put(author.id(), author));
+        List<UUID> staleAuthors = stale(authorRepository.findAllVersions(), authors.keySet(),
+                id -> authors.get(id).version());
+        for (List<UUID> batch : batches(staleAuthors)) {
+            authorRepository.findAllById(batch).forEach(author ->
+                    authors.put(author.getId(), CatalogSnapshot.AuthorEntry.of(author)));
+        }
+        return CatalogSnapshot.of(books.values(), authors.values());
+    }
+
+    /**
+     * Returns the ids whose database version differs from the stored one, and removes from
+     * {@code storedIds} the ids that no longer exist in the database.
+     */
+    private static List<UUID> stale(List<VersionView> versions, Set<UUID> storedIds, Function<UUID, Long> storedVersion) {
+        Set<UUID> existing = new HashSet<>(versions.size() * 2);
+        List<UUID> stale = new ArrayList<>();
+        for (VersionView version : versions) {
+            existing.add(version.getId());
+            if (!storedIds.contains(version.getId())
+                    || !Objects.equals(storedVersion.apply(version.getId()), version.getVersion())) {
+                stale.add(version.getId());
+            }
+        }
+        storedIds.retainAll(existing);
+        return stale;
+    }
+
+    private static List<List<UUID>> batches(List<UUID> ids) {
+        List<List<UUID>> batches = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += RELOAD_BATCH_SIZE) {
+            batches.add(ids.subList(from, Math.min(ids.size(), from + RELOAD_BATCH_SIZE)));
+        }
+        return batches;
+    }
+
+    private static List<UUID> authorIdsOf(Book book) {
+        return book.getAuthors().stream().map(Author::getId).toList();
+    }
+
+    private CatalogSnapshot reloadBook(UUID bookId) {
+        return bookRepository.findAllWithAuthorsByIdIn(List.of(bookId)).stream()
+                .findFirst()
+                .map(book -> current.withBook(CatalogSnapshot.BookEntry.of(book, authorIdsOf(book))))
+                .orElseGet(() -> current.withoutBook(bookId));
+    }
+
+    private CatalogSnapshot reloadBooks(List<UUID> bookIds) {
+        CatalogSnapshot reloaded = current;
+        Set<UUID> missing = new HashSet<>(bookIds);
+        for (List<UUID> batch : batches(bookIds)) {
+            for (Book book : bookRepository.findAllWithAuthorsByIdIn(batch)) {
+                reloaded = reloaded.withBook(CatalogSnapshot.BookEntry.of(book, authorIdsOf(book)));
+                missing.remove(book.getId());
+            }
+        }
+        for (UUID bookId : missing) {
+            reloaded = reloaded.withoutBook(bookId);
+        }
+        return reloaded;
+    }
+}
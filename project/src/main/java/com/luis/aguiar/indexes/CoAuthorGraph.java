@@ -0,0 +1,281 @@
+package com.luis.aguiar.indexes;
+
+import com.luis.aguiar.enums.ChangeType;
+import com.luis.aguiar.events.*;
+import com.luis.aguiar.repositories.BookRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory co-authorship graph. Every author gets an int index, and its edges are two parallel
+ * int arrays holding the neighbour indexes and the number of books shared with each, so ranking the
+ * related authors of an author reads one small array instead of self-joining {@code books_authors}.
+ * The authors of every book are kept as an int array too, which is all an incremental change needs.
+ * Changes are applied after the writing transaction commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class CoAuthorGraph {
+
+    private final BookRepository repository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Graph graph = new Graph();
+    private List<Object> pending;
+    private volatile boolean ready;
+
+    public record Related(UUID authorId, int sharedBooks) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Graph newGraph = new Graph();
+        repository.findAllAuthorships()
+                .forEach(authorship -> newGraph.add(authorship.getBookId(), authorship.getAuthorId()));
+
+        lock.writeLock().lock();
+        try {
+            graph = newGraph;
+            List<Object> missed = pending;
+            pending = null;
+            missed.forEach(this::apply);
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        if (event.change() == ChangeType.DELETED) {
+            record(event);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBooksChanged(BooksChangedEvent event) {
+        event.books().forEach(this::onBookChanged);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        if (event.change() == ChangeType.DELETED) {
+            record(event);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorshipChanged(AuthorshipChangedEvent event) {
+        record(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorshipsChanged(AuthorshipsChangedEvent event) {
+        record(event);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * The authors sharing books with the given one, most shared books first, at most {@code limit}.
+     */
+    public List<Related> related(UUID authorId, int limit) {
+        lock.readLock().lock();
+        try {
+            return graph.related(authorId, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void record(Object event) {
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                pending.add(event);
+            }
+            apply(event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(Object event) {
+        if (event instanceof AuthorshipChangedEvent authorship) {
+            graph.add(authorship.bookId(), authorship.authorId());
+        } else if (event instanceof AuthorshipsChangedEvent authorships) {
+            authorships.authorships().forEach(this::apply);
+        } else if (event instanceof BookChangedEvent book) {
+            graph.removeBook(book.bookId());
+        } else if (event instanceof AuthorChangedEvent author) {
+            graph.removeAuthor(author.authorId());
+        }
+    }
+
+    static final class Graph {
+        private static final int[] NONE = new int[0];
+
+        private final Map<UUID, Integer> indexes = new HashMap<>();
+        private final Map<UUID, int[]> bookAuthors = new HashMap<>();
+        private UUID[] ids = new UUID[16];
+        private int[][] neighbours = new int[16][];
+        private int[][] shared = new int[16][];
+        private int[] degrees = new int[16];
+        private int size;
+
+        /**
+         * Adds the author to the book, linking it with the book's other authors. Adding a pair
+         * already present changes nothing, so replayed events are harmless.
+         */
+        void add(UUID bookId, UUID authorId) {
+            int author = indexOf(authorId);
+            int[] authors = bookAuthors.getOrDefault(bookId, NONE);
+            for (int other : authors) {
+                if (other == author) {
+                    return;
+                }
+            }
+            for (int other : authors) {
+                link(author, other, 1);
+                link(other, author, 1);
+            }
+            int[] grown = Arrays.copyOf(authors, authors.length + 1);
+            grown[authors.length] = author;
+            bookAuthors.put(bookId, grown);
+        }
+
+        void removeBook(UUID bookId) {
+            int[] authors = bookAuthors.remove(bookId);
+            if (authors == null) {
+                return;
+            }
+            for (int i = 0; i < authors.length; i++) {
+                for (int j = i + 1; j < authors.length; j++) {
+                    link(authors[i], authors[j], -1);
+                    link(authors[j], authors[i], -1);
+                }
+            }
+        }
+
+        void removeAuthor(UUID authorId) {
+            Integer author = indexes.remove(authorId);
+            if (author == null) {
+                return;
+            }
+            for (Map.Entry<UUID, int[]> book : bookAuthors.entrySet()) {
+                int[] authors = book.getValue();
+                int position = indexIn(authors, author);
+                if (position < 0) {
+                    continue;
+                }
+                int[] remaining = new int[authors.length - 1];
+                System.arraycopy(authors, 0, remaining, 0, position);
+                System.arraycopy(authors, position + 1, remaining, position, remaining.length - position);
+                for (int other : remaining) {
+                    link(other, author, -1);
+                }
+                book.setValue(remaining);
+            }
+            ids[author] = null;
+            neighbours[author] = null;
+            shared[author] = null;
+            degrees[author] = 0;
+        }
+
+        List<Related> related(UUID authorId, int limit) {
+            Integer author = indexes.get(authorId);
+            if (author == null || degrees[author] == 0 || limit <= 0) {
+                return List.of();
+            }
+            int degree = degrees[author];
+            int[] edges = neighbours[author];
+            int[] counts = shared[author];
+
+            long[] ranked = new long[degree];
+            for (int i = 0; i < degree; i++) {
+                ranked[i] = ((long) counts[i] << 32) | (Integer.MAX_VALUE - i);
+            }
+            Arrays.sort(ranked);
+
+            int results = Math.min(limit, degree);
+            List<Related> related = new ArrayList<>(results);
+            for (int i = degree - 1; i >= degree - results; i--) {
+                int position = Integer.MAX_VALUE - (int) ranked[i];
+                related.add(new Related(ids[edges[position]], counts[position]));
+            }
+            return related;
+        }
+
+        private int indexOf(UUID authorId) {
+            Integer known = indexes.get(authorId);
+            if (known != null) {
+                return known;
+            }
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                neighbours = Arrays.copyOf(neighbours, capacity);
+                shared = Arrays.copyOf(shared, capacity);
+                degrees = Arrays.copyOf(degrees, capacity);
+            }
+            ids[size] = authorId;
+            indexes.put(authorId, size);
+            return size++;
+        }
+
+        /**
+         * Adds {@code delta} to the books shared by {@code from} with {@code to}, dropping the edge
+         * when none is left.
+         */
+        private void link(int from, int to, int delta) {
+            int degree = degrees[from];
+            int[] edges = neighbours[from];
+            for (int i = 0; i < degree; i++) {
+                if (edges[i] == to) {
+                    shared[from][i] += delta;
+                    if (shared[from][i] <= 0) {
+                        edges[i] = edges[degree - 1];
+                        shared[from][i] = shared[from][degree - 1];
+                        degrees[from] = degree - 1;
+                    }
+                    return;
+                }
+            }
+            if (delta <= 0) {
+                return;
+            }
+            if (edges == null || degree == edges.length) {
+                int capacity = edges == null ? 4 : degree * 2;
+                neighbours[from] = edges = edges == null ? new int[capacity] : Arrays.copyOf(edges, capacity);
+                shared[from] = shared[from] == null ? new int[capacity] : Arrays.copyOf(shared[from], capacity);
+            }
+            edges[degree] = to;
+            shared[from][degree] = delta;
+            degrees[from] = degree + 1;
+        }
+
+        private static int indexIn(int[] values, int value) {
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] == value) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
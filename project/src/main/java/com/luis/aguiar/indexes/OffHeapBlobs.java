@@ -0,0 +1,70 @@
+package com.luis.aguiar.indexes;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only byte area in direct memory for the variable-length parts of {@link OffHeapRecords}
+ * (strings, id lists). A value never spans two chunks; its address packs the chunk index in the
+ * high 32 bits and the offset in the low 32 bits. A replacement no longer than the value it
+ * replaces is written over it; any other replaced bytes are only counted as garbage, reclaimed by
+ * copying the live values into a fresh area. Not thread safe.
+ */
+final class OffHeapBlobs {
+
+    static final int CHUNK_BYTES = 1 << 24;
+
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    private int position = CHUNK_BYTES;
+    private long usedBytes;
+    private long garbageBytes;
+
+    long append(byte[] bytes) {
+        if (bytes.length > CHUNK_BYTES) {
+            throw new IllegalArgumentException("The value is larger than an off-heap chunk.");
+        }
+        if (position + bytes.length > CHUNK_BYTES) {
+            chunks.add(ByteBuffer.allocateDirect(CHUNK_BYTES));
+            position = 0;
+        }
+        chunks.get(chunks.size() - 1).put(position, bytes);
+        long address = ((long) (chunks.size() - 1) << 32) | position;
+        position += bytes.length;
+        usedBytes += bytes.length;
+        return address;
+    }
+
+    /**
+     * Overwrites the value at {@code address}; the caller guarantees it fits in the old one.
+     */
+    void write(long address, byte[] bytes) {
+        chunks.get((int) (address >>> 32)).put((int) address, bytes);
+    }
+
+    byte[] read(long address, int length) {
+        byte[] bytes = new byte[length];
+        chunks.get((int) (address >>> 32)).get((int) address, bytes);
+        return bytes;
+    }
+
+    ByteBuffer slice(long address, int length) {
+        return chunks.get((int) (address >>> 32)).slice((int) address, length);
+    }
+
+    void release(int length) {
+        garbageBytes += length;
+    }
+
+    long allocatedBytes() {
+        return (long) chunks.size() * CHUNK_BYTES;
+    }
+
+    long usedBytes() {
+        return usedBytes - garbageBytes;
+    }
+
+    long garbageBytes() {
+        return garbageBytes;
+    }
+}
@@ -0,0 +1,271 @@
+package com.luis.aguiar.indexes;
+
+import com.luis.aguiar.enums.Status;
+import com.luis.aguiar.models.Author;
+import com.luis.aguiar.models.Book;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Book and author summaries kept outside the Java heap. Each summary is a fixed-layout record in
+ * {@link OffHeapRecords}; strings and author id lists go to a shared {@link OffHeapBlobs} area.
+ * The heap only holds a few hundred buffer references however large the catalog is, so the
+ * collector never has to trace it. Not thread safe.
+ *
+ * <pre>
+ * book:   id, live, 17 status, 20 publicationDate, 24 version, 32 modifiedSeconds, 40 modifiedNanos,
+ *         44 titleLength, 48 titleAddress, 56 authorCount, 64 authorsAddress
+ * author: id, live, 20 birthDate, 24 version, 32 modifiedSeconds, 40 modifiedNanos,
+ *         44 firstNameLength, 48 firstNameAddress, 56 lastNameLength, 60 nationalityLength,
+ *         64 lastNameAddress, 72 nationalityAddress
+ * </pre>
+ */
+final class OffHeapCatalog {
+
+    private static final int BOOK_BYTES = 72;
+    private static final int AUTHOR_BYTES = 80;
+    private static final int NULL_DATE = Integer.MIN_VALUE;
+    private static final int NULL_NANOS = -1;
+    private static final int NULL_LENGTH = -1;
+    private static final int UUID_BYTES = 2 * Long.BYTES;
+    private static final Status[] STATUSES = Status.values();
+
+    private final OffHeapRecords books = new OffHeapRecords(BOOK_BYTES);
+    private final OffHeapRecords authors = new OffHeapRecords(AUTHOR_BYTES);
+    private final OffHeapBlobs blobs = new OffHeapBlobs();
+
+    void putBook(CatalogSnapshot.BookEntry book) {
+        boolean replacing = books.find(book.id()) >= 0;
+        int record = books.insert(book.id());
+        ByteBuffer chunk = books.chunk(record);
+        int base = books.offset(record);
+        chunk.put(base + 17, (byte) book.status().ordinal());
+        chunk.putInt(base + 20, date(book.publicationDate()));
+        chunk.putLong(base + 24, book.version() == null ? -1 : book.version());
+        putInstant(chunk, base + 32, book.lastModified());
+        putString(chunk, base + 44, base + 48, book.title(), replacing);
+
+        ByteBuffer ids = ByteBuffer.allocate(book.authorIds().size() * UUID_BYTES);
+        book.authorIds().forEach(id -> ids.putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits()));
+        int previous = replacing ? chunk.getInt(base + 56) * UUID_BYTES : NULL_LENGTH;
+        chunk.putInt(base + 56, book.authorIds().size());
+        chunk.putLong(base + 64, store(ids.array(), previous, chunk.getLong(base + 64)));
+    }
+
+    boolean removeBook(UUID bookId) {
+        int record = books.find(bookId);
+        if (record < 0) {
+            return false;
+        }
+        ByteBuffer chunk = books.chunk(record);
+        int base = books.offset(record);
+        release(chunk.getInt(base + 44));
+        blobs.release(chunk.getInt(base + 56) * UUID_BYTES);
+        return books.remove(bookId);
+    }
+
+    void putAuthor(CatalogSnapshot.AuthorEntry author) {
+        boolean replacing = authors.find(author.id()) >= 0;
+        int record = authors.insert(author.id());
+        ByteBuffer chunk = authors.chunk(record);
+        int base = authors.offset(record);
+        chunk.putInt(base + 20, date(author.birthDate()));
+        chunk.putLong(base + 24, author.version() == null ? -1 : author.version());
+        putInstant(chunk, base + 32, author.lastModified());
+        putString(chunk, base + 44, base + 48, author.firstName(), replacing);
+        putString(chunk, base + 56, base + 64, author.lastName(), replacing);
+        putString(chunk, base + 60, base + 72, author.nationality(), replacing);
+    }
+
+    boolean removeAuthor(UUID authorId) {
+        int record = authors.find(authorId);
+        if (record < 0) {
+            return false;
+        }
+        releaseAuthorStrings(record);
+        return authors.remove(authorId);
+    }
+
+    Optional<Long> bookVersion(UUID bookId) {
+        int record = books.find(bookId);
+        if (record < 0) {
+            return Optional.empty();
+        }
+        long version = books.chunk(record).getLong(books.offset(record) + 24);
+        return Optional.ofNullable(version < 0 ? null : version);
+    }
+
+    /**
+     * Materializes a detached book, with its authors, from the stored summaries.
+     */
+    Optional<Book> findBook(UUID bookId) {
+        int record = books.find(bookId);
+        if (record < 0) {
+            return Optional.empty();
+        }
+        ByteBuffer chunk = books.chunk(record);
+        int base = books.offset(record);
+        Set<Author> bookAuthors = new HashSet<>();
+        ByteBuffer ids = blobs.slice(chunk.getLong(base + 64), chunk.getInt(base + 56) * UUID_BYTES);
+        while (ids.hasRemaining()) {
+            findAuthor(new UUID(ids.getLong(), ids.getLong())).ifPresent(bookAuthors::add);
+        }
+        long version = chunk.getLong(base + 24);
+        return Optional.of(new Book(bookId, getString(chunk, base + 44, base + 48), bookAuthors, new HashSet<>(),
+                toDate(chunk.getInt(base + 20)), STATUSES[chunk.get(base + 17)],
+                version < 0 ? null : version, getInstant(chunk, base + 32)));
+    }
+
+    Optional<Author> findAuthor(UUID authorId) {
+        int record = authors.find(authorId);
+        if (record < 0) {
+            return Optional.empty();
+        }
+        ByteBuffer chunk = authors.chunk(record);
+        int base = authors.offset(record);
+        long version = chunk.getLong(base + 24);
+        return Optional.of(new Author(authorId,
+                getString(chunk, base + 44, base + 48),
+                getString(chunk, base + 56, base + 64),
+                toDate(chunk.getInt(base + 20)),
+                getString(chunk, base + 60, base + 72),
+                new HashSet<>(), version < 0 ? null : version, getInstant(chunk, base + 32)));
+    }
+
+    int bookCount() {
+        return books.size();
+    }
+
+    int authorCount() {
+        return authors.size();
+    }
+
+    /**
+     * Direct memory reserved by records, indexes and blob chunks.
+     */
+    long allocatedBytes() {
+        return books.allocatedBytes() + authors.allocatedBytes() + blobs.allocatedBytes();
+    }
+
+    /**
+     * Bytes held by replaced or removed values, reclaimed by {@link #compacted()}.
+     */
+    long garbageBytes() {
+        return blobs.garbageBytes()
+                + (long) books.deadRecords() * BOOK_BYTES
+                + (long) authors.deadRecords() * AUTHOR_BYTES;
+    }
+
+    /**
+     * Bytes held by the current records and their values.
+     */
+    long liveBytes() {
+        return blobs.usedBytes() + (long) books.size() * BOOK_BYTES + (long) authors.size() * AUTHOR_BYTES;
+    }
+
+    /**
+     * Copies the live summaries into a new catalog, leaving every garbage byte behind. Only reads
+     * this catalog, so it may run alongside readers.
+     */
+    OffHeapCatalog compacted() {
+        OffHeapCatalog copy = new OffHeapCatalog();
+        authors.forEachLive(record -> copy.putAuthor(authorEntry(record)));
+        books.forEachLive(record -> copy.putBook(bookEntry(record)));
+        return copy;
+    }
+
+    private CatalogSnapshot.BookEntry bookEntry(int record) {
+        ByteBuffer chunk = books.chunk(record);
+        int base = books.offset(record);
+        List<UUID> authorIds = new ArrayList<>(chunk.getInt(base + 56));
+        ByteBuffer ids = blobs.slice(chunk.getLong(base + 64), chunk.getInt(base + 56) * UUID_BYTES);
+        while (ids.hasRemaining()) {
+            authorIds.add(new UUID(ids.getLong(), ids.getLong()));
+        }
+        long version = chunk.getLong(base + 24);
+        return new CatalogSnapshot.BookEntry(new UUID(chunk.getLong(base), chunk.getLong(base + Long.BYTES)),
+                getString(chunk, base + 44, base + 48), toDate(chunk.getInt(base + 20)), STATUSES[chunk.get(base + 17)],
+                authorIds, version < 0 ? null : version, getInstant(chunk, base + 32));
+    }
+
+    private CatalogSnapshot.AuthorEntry authorEntry(int record) {
+        ByteBuffer chunk = authors.chunk(record);
+        int base = authors.offset(record);
+        long version = chunk.getLong(base + 24);
+        return new CatalogSnapshot.AuthorEntry(new UUID(chunk.getLong(base), chunk.getLong(base + Long.BYTES)),
+                getString(chunk, base + 44, base + 48),
+                getString(chunk, base + 56, base + 64),
+                toDate(chunk.getInt(base + 20)),
+                getString(chunk, base + 60, base + 72),
+                version < 0 ? null : version, getInstant(chunk, base + 32));
+    }
+
+    private void releaseAuthorStrings(int record) {
+        ByteBuffer chunk = authors.chunk(record);
+        int base = authors.offset(record);
+        release(chunk.getInt(base + 44));
+        release(chunk.getInt(base + 56));
+        release(chunk.getInt(base + 60));
+    }
+
+    private void release(int length) {
+        if (length > 0) {
+            blobs.release(length);
+        }
+    }
+
+    private void putString(ByteBuffer chunk, int lengthOffset, int addressOffset, String value, boolean replacing) {
+        int previous = replacing ? chunk.getInt(lengthOffset) : NULL_LENGTH;
+        if (value == null) {
+            release(previous);
+            chunk.putInt(lengthOffset, NULL_LENGTH);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        chunk.putInt(lengthOffset, bytes.length);
+        chunk.putLong(addressOffset, store(bytes, previous, chunk.getLong(addressOffset)));
+    }
+
+    /**
+     * Writes a value over the {@code previous} bytes at {@code address} when it fits there, so a
+     * change that keeps a title or an author list leaves no garbage; otherwise appends it.
+     */
+    private long store(byte[] bytes, int previous, long address) {
+        if (previous >= bytes.length) {
+            blobs.write(address, bytes);
+            release(previous - bytes.length);
+            return address;
+        }
+        release(previous);
+        return blobs.append(bytes);
+    }
+
+    private String getString(ByteBuffer chunk, int lengthOffset, int addressOffset) {
+        int length = chunk.getInt(lengthOffset);
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        return new String(blobs.read(chunk.getLong(addressOffset), length), StandardCharsets.UTF_8);
+    }
+
+    private static void putInstant(ByteBuffer chunk, int offset, Instant instant) {
+        chunk.putLong(offset, instant == null ? 0 : instant.getEpochSecond());
+        chunk.putInt(offset + Long.BYTES, instant == null ? NULL_NANOS : instant.getNano());
+    }
+
+    private static Instant getInstant(ByteBuffer chunk, int offset) {
+        int nanos = chunk.getInt(offset + Long.BYTES);
+        return nanos == NULL_NANOS ? null : Instant.ofEpochSecond(chunk.getLong(offset), nanos);
+    }
+
+    private static int date(LocalDate date) {
+        return date == null ? NULL_DATE : Math.toIntExact(date.toEpochDay());
+    }
+
+    private static LocalDate toDate(int epochDay) {
+        return epochDay == NULL_DATE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+}
@@ -0,0 +1,289 @@
+package com.luis.aguiar.indexes;
+
+import com.luis.aguiar.enums.ChangeType;
+import com.luis.aguiar.events.*;
+import com.luis.aguiar.models.Author;
+import com.luis.aguiar.models.Book;
+import com.luis.aguiar.repositories.AuthorRepository;
+import com.luis.aguiar.repositories.AuthorshipView;
+import com.luis.aguiar.repositories.BookRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Serves book lookups by id from an {@link OffHeapCatalog} when
+ * {@code library.catalog.off-heap.enabled} is set. The catalog is loaded in keyset batches, so
+ * the heap never holds more than one batch of entities, and kept current from the same
+ * after-commit events as the other indexes. Values replaced by others that don't fit in their
+ * bytes are garbage; once it passes {@code library.catalog.off-heap.compact-garbage-bytes} and half
+ * of the live bytes, the live summaries are copied into a fresh catalog which is swapped in.
+ */
+@Component
+public class OffHeapCatalogStore implements MeterBinder {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final UUID FIRST_ID = new UUID(0, 0);
+
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final boolean enabled;
+    private final long compactGarbageBytes;
+
+    private final Lock writers = new ReentrantLock();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private OffHeapCatalog catalog = new OffHeapCatalog();
+    private List<Object> pending;
+    private volatile boolean ready;
+    private volatile Timer lookups;
+
+    public OffHeapCatalogStore(BookRepository bookRepository,
+                               AuthorRepository authorRepository,
+                               @Value("${library.catalog.off-heap.enabled:false}") boolean enabled,
+                               @Value("${library.catalog.off-heap.compact-garbage-bytes:67108864}") long compactGarbageBytes) {
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.enabled = enabled;
+        this.compactGarbageBytes = compactGarbageBytes;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        writers.lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            writers.unlock();
+        }
+
+        OffHeapCatalog loaded = load();
+
+        writers.lock();
+        try {
+            mutate(ignored -> catalog = loaded);
+            List<Object> missed = pending;
+            pending = null;
+            missed.forEach(this::apply);
+            ready = true;
+        } finally {
+            writers.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        record(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBooksChanged(BooksChangedEvent event) {
+        record(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        record(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorshipChanged(AuthorshipChangedEvent event) {
+        record(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorshipsChanged(AuthorshipsChangedEvent event) {
+        record(event);
+    }
+
+    /**
+     * Whether lookups by id should be answered from the off-heap catalog.
+     */
+    public boolean isServing() {
+        return enabled && ready;
+    }
+
+    public Optional<Book> findBook(UUID bookId) {
+        return read(() -> catalog.findBook(bookId));
+    }
+
+    public Optional<Long> bookVersion(UUID bookId) {
+        return read(() -> catalog.bookVersion(bookId));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        lookups = Timer.builder("library.catalog.off-heap.lookup")
+                .description("Time to read a book summary from the off-heap catalog.")
+                .register(registry);
+        Gauge.builder("library.catalog.off-heap.footprint", this, store -> store.gauge(OffHeapCatalog::allocatedBytes))
+                .baseUnit(BaseUnits.BYTES)
+                .description("Direct memory reserved by the off-heap catalog.")
+                .register(registry);
+        Gauge.builder("library.catalog.off-heap.garbage", this, store -> store.gauge(OffHeapCatalog::garbageBytes))
+                .baseUnit(BaseUnits.BYTES)
+                .description("Off-heap bytes held by replaced or removed summaries until the next compaction.")
+                .register(registry);
+        Gauge.builder("library.catalog.off-heap.books", this, store -> store.gauge(OffHeapCatalog::bookCount))
+                .register(registry);
+        Gauge.builder("library.catalog.off-heap.authors", this, store -> store.gauge(OffHeapCatalog::authorCount))
+                .register(registry);
+    }
+
+    private <T> T read(Supplier<T> reader) {
+        long start = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            return reader.get();
+        } finally {
+            lock.readLock().unlock();
+            Timer timer = lookups;
+            if (timer != null) {
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private double gauge(ToLongFunction<OffHeapCatalog> metric) {
+        lock.readLock().lock();
+        try {
+            return metric.applyAsLong(catalog);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void record(Object event) {
+        if (!enabled) {
+            return;
+        }
+        writers.lock();
+        try {
+            if (pending != null) {
+                pending.add(event);
+            }
+            apply(event);
+            compactIfNeeded();
+        } finally {
+            writers.unlock();
+        }
+    }
+
+    /**
+     * Copying only reads the catalog, so it runs under {@code writers} alone and readers are
+     * blocked just for the swap. Waiting for garbage worth half the live bytes keeps the copying
+     * proportional to the changes that made it necessary.
+     */
+    private void compactIfNeeded() {
+        long garbage = catalog.garbageBytes();
+        if (garbage < compactGarbageBytes || 2 * garbage < catalog.liveBytes()) {
+            return;
+        }
+        OffHeapCatalog compacted = catalog.compacted();
+        mutate(ignored -> catalog = compacted);
+    }
+
+    /**
+     * Writers are serialized by {@code writers} and reload rows without blocking readers; only
+     * the change to the off-heap memory itself excludes them.
+     */
+    private void mutate(Consumer<OffHeapCatalog> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(catalog);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(Object event) {
+        if (event instanceof BookChangedEvent book) {
+            if (book.current() == null) {
+                mutate(catalog -> catalog.removeBook(book.bookId()));
+            } else {
+                reloadBooks(List.of(book.bookId()));
+            }
+        } else if (event instanceof BooksChangedEvent books) {
+            List<UUID> changed = new ArrayList<>();
+            for (BookChangedEvent book : books.books()) {
+                if (book.current() == null) {
+                    mutate(catalog -> catalog.removeBook(book.bookId()));
+                } else {
+                    changed.add(book.bookId());
+                }
+            }
+            reloadBooks(changed);
+        } else if (event instanceof AuthorChangedEvent author) {
+            Optional<Author> found = author.change() == ChangeType.DELETED
+                    ? Optional.empty()
+                    : authorRepository.findById(author.authorId());
+            mutate(catalog -> found.ifPresentOrElse(
+                    value -> catalog.putAuthor(CatalogSnapshot.AuthorEntry.of(value)),
+                    () -> catalog.removeAuthor(author.authorId())));
+        } else if (event instanceof AuthorshipChangedEvent authorship) {
+            reloadBooks(List.of(authorship.bookId()));
+        } else if (event instanceof AuthorshipsChangedEvent authorships) {
+            reloadBooks(List.copyOf(authorships.bookIds()));
+        }
+    }
+
+    private void reloadBooks(List<UUID> bookIds) {
+        for (int from = 0; from < bookIds.size(); from += BATCH_SIZE) {
+            List<UUID> batch = bookIds.subList(from, Math.min(bookIds.size(), from + BATCH_SIZE));
+            List<CatalogSnapshot.BookEntry> reloaded = bookRepository.findAllWithAuthorsByIdIn(batch).stream()
+                    .map(book -> CatalogSnapshot.BookEntry.of(book, book.getAuthors().stream().map(Author::getId).toList()))
+                    .toList();
+            Set<UUID> missing = new HashSet<>(batch);
+            reloaded.forEach(book -> missing.remove(book.id()));
+            mutate(catalog -> {
+                reloaded.forEach(catalog::putBook);
+                missing.forEach(catalog::removeBook);
+            });
+        }
+    }
+
+    private OffHeapCatalog load() {
+        OffHeapCatalog loaded = new OffHeapCatalog();
+        PageRequest batch = PageRequest.of(0, BATCH_SIZE);
+
+        UUID after = FIRST_ID;
+        List<Author> authors;
+        while (!(authors = authorRepository.findBatchAfter(after, batch)).isEmpty()) {
+            authors.forEach(author -> loaded.putAuthor(CatalogSnapshot.AuthorEntry.of(author)));
+            after = authors.get(authors.size() - 1).getId();
+        }
+
+        after = FIRST_ID;
+        List<Book> books;
+        while (!(books = bookRepository.findBatchAfter(after, batch)).isEmpty()) {
+            Map<UUID, List<UUID>> authorIds = new HashMap<>();
+            List<UUID> ids = books.stream().map(Book::getId).toList();
+            for (AuthorshipView authorship : bookRepository.findAuthorshipsByBookIdIn(ids)) {
+                authorIds.computeIfAbsent(authorship.getBookId(), id -> new ArrayList<>()).add(authorship.getAuthorId());
+            }
+            books.forEach(book -> loaded.putBook(
+                    CatalogSnapshot.BookEntry.of(book, authorIds.getOrDefault(book.getId(), List.of()))));
+            after = ids.get(ids.size() - 1);
+        }
+        return loaded;
+    }
+}
@@ -0,0 +1,177 @@
+package com.luis.aguiar.indexes;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.IntConsumer;
+
+/**
+ * Fixed-size records in direct memory, keyed by UUID through an open-addressing index that
+ * also lives in direct memory. Every record starts with its id (16 bytes) and a live flag; the
+ * caller owns the layout of the remaining bytes. Removed records are tombstoned and their space
+ * is only reclaimed when the live records are copied into a new table. Not thread safe.
+ */
+final class OffHeapRecords {
+
+    static final int HEADER_BYTES = 17;
+
+    private static final int RECORDS_PER_CHUNK = 1 << 16;
+    private static final int EMPTY = 0;
+    private static final int TOMBSTONE = -1;
+    private static final int MAX_SLOTS = 1 << 29;
+
+    private final int recordBytes;
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    private ByteBuffer slots;
+    private int slotCount;
+    private int records;
+    private int live;
+    private int tombstones;
+
+    OffHeapRecords(int recordBytes) {
+        if (recordBytes <= HEADER_BYTES) {
+            throw new IllegalArgumentException("The record must be larger than its header.");
+        }
+        this.recordBytes = recordBytes;
+        this.slotCount = 1024;
+        this.slots = ByteBuffer.allocateDirect(slotCount * Integer.BYTES);
+    }
+
+    int find(UUID id) {
+        int mask = slotCount - 1;
+        for (int slot = hash(id) & mask; ; slot = (slot + 1) & mask) {
+            int value = slots.getInt(slot * Integer.BYTES);
+            if (value == EMPTY) {
+                return -1;
+            }
+            if (value != TOMBSTONE && idMatches(value - 1, id)) {
+                return value - 1;
+            }
+        }
+    }
+
+    /**
+     * Returns the record for {@code id}, appending a new one when the id is not indexed yet.
+     */
+    int insert(UUID id) {
+        int existing = find(id);
+        if (existing >= 0) {
+            return existing;
+        }
+        if ((long) (live + tombstones + 1) * 2 > slotCount) {
+            resize(live + 1 > slotCount / 4 ? slotCount * 2 : slotCount);
+        }
+
+        int record = records++;
+        if (record / RECORDS_PER_CHUNK == chunks.size()) {
+            chunks.add(ByteBuffer.allocateDirect(RECORDS_PER_CHUNK * recordBytes));
+        }
+        int base = offset(record);
+        ByteBuffer chunk = chunk(record);
+        chunk.putLong(base, id.getMostSignificantBits());
+        chunk.putLong(base + Long.BYTES, id.getLeastSignificantBits());
+        chunk.put(base + 2 * Long.BYTES, (byte) 1);
+        place(record, id);
+        live++;
+        return record;
+    }
+
+    boolean remove(UUID id) {
+        int mask = slotCount - 1;
+        for (int slot = hash(id) & mask; ; slot = (slot + 1) & mask) {
+            int value = slots.getInt(slot * Integer.BYTES);
+            if (value == EMPTY) {
+                return false;
+            }
+            if (value != TOMBSTONE && idMatches(value - 1, id)) {
+                slots.putInt(slot * Integer.BYTES, TOMBSTONE);
+                chunk(value - 1).put(offset(value - 1) + 2 * Long.BYTES, (byte) 0);
+                live--;
+                tombstones++;
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Visits every live record, in insertion order.
+     */
+    void forEachLive(IntConsumer action) {
+        for (int record = 0; record < records; record++) {
+            if (chunk(record).get(offset(record) + 2 * Long.BYTES) != 0) {
+                action.accept(record);
+            }
+        }
+    }
+
+    ByteBuffer chunk(int record) {
+        return chunks.get(record / RECORDS_PER_CHUNK);
+    }
+
+    int offset(int record) {
+        return (record % RECORDS_PER_CHUNK) * recordBytes;
+    }
+
+    int size() {
+        return live;
+    }
+
+    int deadRecords() {
+        return records - live;
+    }
+
+    long allocatedBytes() {
+        return (long) chunks.size() * RECORDS_PER_CHUNK * recordBytes + (long) slotCount * Integer.BYTES;
+    }
+
+    private boolean idMatches(int record, UUID id) {
+        ByteBuffer chunk = chunk(record);
+        int base = offset(record);
+        return chunk.getLong(base) == id.getMostSignificantBits()
+                && chunk.getLong(base + Long.BYTES) == id.getLeastSignificantBits();
+    }
+
+    private void place(int record, UUID id) {
+        int mask = slotCount - 1;
+        int slot = hash(id) & mask;
+        while (true) {
+            int value = slots.getInt(slot * Integer.BYTES);
+            if (value == EMPTY || value == TOMBSTONE) {
+                if (value == TOMBSTONE) {
+                    tombstones--;
+                }
+                slots.putInt(slot * Integer.BYTES, record + 1);
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void resize(int newSlotCount) {
+        if (newSlotCount > MAX_SLOTS) {
+            throw new IllegalStateException("The off-heap index cannot grow beyond " + MAX_SLOTS + " slots.");
+        }
+        ByteBuffer previous = slots;
+        int previousCount = slotCount;
+        slots = ByteBuffer.allocateDirect(newSlotCount * Integer.BYTES);
+        slotCount = newSlotCount;
+        tombstones = 0;
+        for (int slot = 0; slot < previousCount; slot++) {
+            int value = previous.getInt(slot * Integer.BYTES);
+            if (value != EMPTY && value != TOMBSTONE) {
+                ByteBuffer chunk = chunk(value - 1);
+                int base = offset(value - 1);
+                place(value - 1, new UUID(chunk.getLong(base), chunk.getLong(base + Long.BYTES)));
+            }
+        }
+    }
+
+    private static int hash(UUID id) {
+        long h = id.getMostSignificantBits() ^ id.getLeastSignificantBits();
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+}
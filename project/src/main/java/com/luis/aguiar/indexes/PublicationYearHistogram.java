@@ -0,0 +1,152 @@
+package com.luis.aguiar.indexes;
+
+import com.luis.aguiar.events.BookChangedEvent;
+import com.luis.aguiar.events.BooksChangedEvent;
+import com.luis.aguiar.repositories.BookFacetView;
+import com.luis.aguiar.repositories.BookRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Number of books published per year, kept in an array indexed by {@code year - firstYear} that
+ * grows in both directions as new years appear. The year of every book is remembered, so applying
+ * the same change twice, as happens when a change races with a rebuild, leaves the counts intact.
+ */
+@Component
+@RequiredArgsConstructor
+public class PublicationYearHistogram {
+
+    private final BookRepository repository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Counts counts = new Counts();
+    private List<BookChangedEvent> pending;
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Counts newCounts = new Counts();
+        for (BookFacetView book : repository.findAllFacets()) {
+            newCounts.put(book.getId(), book.getPublicationDate().getYear());
+        }
+
+        lock.writeLock().lock();
+        try {
+            counts = newCounts;
+            List<BookChangedEvent> missed = pending;
+            pending = null;
+            missed.forEach(this::apply);
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        record(List.of(event));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBooksChanged(BooksChangedEvent event) {
+        record(event.books());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Returns the years between {@code fromYear} and {@code toYear}, both inclusive and both
+     * optional, that have at least one book, in ascending order.
+     */
+    public Map<Integer, Long> histogram(Integer fromYear, Integer toYear) {
+        Map<Integer, Long> histogram = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            int first = Math.max(counts.firstYear, fromYear == null ? Integer.MIN_VALUE : fromYear);
+            int last = Math.min(counts.firstYear + counts.years.length - 1, toYear == null ? Integer.MAX_VALUE : toYear);
+            for (int year = first; year <= last; year++) {
+                long count = counts.years[year - counts.firstYear];
+                if (count > 0) {
+                    histogram.put(year, count);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return histogram;
+    }
+
+    private void record(List<BookChangedEvent> events) {
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                pending.addAll(events);
+            }
+            events.forEach(this::apply);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(BookChangedEvent event) {
+        if (event.current() == null) {
+            counts.remove(event.bookId());
+        } else {
+            counts.put(event.bookId(), event.current().publicationDate().getYear());
+        }
+    }
+
+    private static final class Counts {
+        private final Map<UUID, Integer> yearOf = new HashMap<>();
+        private long[] years = new long[0];
+        private int firstYear;
+
+        void put(UUID bookId, int year) {
+            Integer previous = yearOf.put(bookId, year);
+            if (previous != null) {
+                years[previous - firstYear]--;
+            }
+            ensureCapacity(year);
+            years[year - firstYear]++;
+        }
+
+        void remove(UUID bookId) {
+            Integer previous = yearOf.remove(bookId);
+            if (previous != null) {
+                years[previous - firstYear]--;
+            }
+        }
+
+        private void ensureCapacity(int year) {
+            if (years.length == 0) {
+                years = new long[1];
+                firstYear = year;
+                return;
+            }
+            int lastYear = firstYear + years.length - 1;
+            if (year < firstYear) {
+                long[] grown = new long[lastYear - year + 1];
+                System.arraycopy(years, 0, grown, firstYear - year, years.length);
+                years = grown;
+                firstYear = year;
+            } else if (year > lastYear) {
+                years = Arrays.copyOf(years, year - firstYear + 1);
+            }
+        }
+    }
+}
@@ -2,10 +2,17 @@ package com.luis.aguiar.mappers;
 
 import com.luis.aguiar.dto.AuthorCreateDto;
 import com.luis.aguiar.dto.AuthorResponseDto;
+import com.luis.aguiar.dto.AuthorSummaryDto;
+import com.luis.aguiar.dto.BookSummaryDto;
+import com.luis.aguiar.dto.CompactAuthorDto;
 import com.luis.aguiar.models.Author;
+import com.luis.aguiar.models.Book;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import org.modelmapper.ModelMapper;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class AuthorMapper {
@@ -23,13 +30,67 @@ public class AuthorMapper {
         if (userDto == null) {
             throw new IllegalArgumentException("AuthorResponseDto can't be null.");
         }
-        return mapper.map(userDto, Author.class);
+        Set<Book> books = new HashSet<>();
+        if (userDto.getBooks() != null) {
+            userDto.getBooks().forEach(book -> books.add(new Book(book.id(), book.title(), new HashSet<>(),
+                    new HashSet<>(), book.publicationDate(), book.status(), book.version(), null)));
+        }
+        return new Author(
+                userDto.getId(),
+                userDto.getFirstName(),
+                userDto.getLastName(),
+                userDto.getBirthDate(),
+                userDto.getNationality(),
+                books,
+                userDto.getVersion(),
+                userDto.getLastModified()
+        );
     }
 
+    /**
+     * Maps the author without its books, which are never read: the response carries no book count
+     * nor summaries. Use it for authors known to have no books, such as a newly created one.
+     */
     public static AuthorResponseDto toResponseDto(Author author) {
+        return toResponseDto(author, 0, List.of());
+    }
+
+    public static AuthorResponseDto toResponseDto(Author author, long bookCount, List<BookSummaryDto> books) {
+        if (author == null) {
+            throw new IllegalArgumentException("Author can't be null.");
+        }
+        return new AuthorResponseDto(
+                author.getId(),
+                author.getFirstName(),
+                author.getLastName(),
+                author.getBirthDate(),
+                author.getNationality(),
+                bookCount,
+                books,
+                author.getVersion(),
+                author.getLastModified()
+        );
+    }
+
+    public static CompactAuthorDto toCompactDto(Author author) {
+        if (author == null) {
+            throw new IllegalArgumentException("Author can't be null.");
+        }
+        return new CompactAuthorDto(
+                author.getId(),
+                author.getFirstName(),
+                author.getLastName(),
+                author.getBirthDate(),
+                author.getNationality(),
+                author.getVersion(),
+                author.getLastModified()
+        );
+    }
+
+    public static AuthorSummaryDto toSummaryDto(Author author) {
         if (author == null) {
             throw new IllegalArgumentException("Author can't be null.");
         }
-        return mapper.map(author, AuthorResponseDto.class);
+        return new AuthorSummaryDto(author.getId(), author.getFirstName(), author.getLastName(), author.getVersion());
     }
 }
\ No newline at end of file
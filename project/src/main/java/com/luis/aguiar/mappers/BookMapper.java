@@ -1,16 +1,15 @@
 package com.luis.aguiar.mappers;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
-import com.luis.aguiar.controllers.AuthorController;
-import com.luis.aguiar.dto.AuthorResponseDto;
 import com.luis.aguiar.dto.BookCreateDto;
 import com.luis.aguiar.dto.BookResponseDto;
+import com.luis.aguiar.dto.CompactBookDto;
 import com.luis.aguiar.models.Book;
+import com.luis.aguiar.web.CatalogLinks;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.hateoas.Link;
-import org.springframework.http.HttpMethod;
+import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -28,16 +27,52 @@ public class BookMapper {
         dto.setPublicationDate(book.getPublicationDate());
         dto.setStatus(book.getStatus());
         dto.setId(book.getId());
+        dto.setVersion(book.getVersion());
+        dto.setLastModified(book.getLastModified());
 
+        CatalogLinks links = CatalogLinks.current();
         Set<Link> authors = book.getAuthors().stream()
-                .map(AuthorMapper::toResponseDto)
-                .map(BookMapper::addSelfAuthorReference)
+                .map(author -> links.author(author.getId()))
                 .collect(Collectors.toSet());
 
         dto.setAuthors(authors);
         return dto;
     }
 
+    public static BookResponseDto copyOf(BookResponseDto dto) {
+        if (dto == null) {
+            throw new IllegalArgumentException("The BookResponseDto can't be null.");
+        }
+        BookResponseDto copy = new BookResponseDto(
+                dto.getId(),
+                dto.getTitle(),
+                dto.getPublicationDate(),
+                dto.getStatus(),
+                new HashSet<>(dto.getAuthors()),
+                dto.getVersion(),
+                dto.getLastModified()
+        );
+        copy.add(dto.getLinks());
+        return copy;
+    }
+
+    public static CompactBookDto toCompactDto(Book book) {
+        if (book == null) {
+            throw new IllegalArgumentException("The book can't be null.");
+        }
+        return new CompactBookDto(
+                book.getId(),
+                book.getTitle(),
+                book.getPublicationDate(),
+                book.getStatus(),
+                book.getAuthors().stream()
+                        .map(AuthorMapper::toSummaryDto)
+                        .toList(),
+                book.getVersion(),
+                book.getLastModified()
+        );
+    }
+
     public static Book toBook(BookResponseDto bookDto) {
         if (bookDto == null) {
             throw new IllegalArgumentException("The BookResponseDto can't be null.");
@@ -51,11 +86,4 @@ public class BookMapper {
         }
         return mapper.map(bookDto, Book.class);
     }
-
-    private static Link addSelfAuthorReference(AuthorResponseDto author) {
-        return linkTo(methodOn(AuthorController.class)
-                .findAuthorById(author.getId()))
-                .withSelfRel()
-                .withType(HttpMethod.GET.name());
-    }
 }
\ No newline at end of file
@@ -4,19 +4,35 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.UpdateTimestamp;
+import java.text.Normalizer;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Locale;
 import java.util.Set;
 import java.util.UUID;
+import java.util.regex.Pattern;
 
 @Entity
-@Table(name = "authors")
-@NoArgsConstructor @AllArgsConstructor
+@Table(name = "authors", indexes = {
+        @Index(name = "idx_authors_last_name_id", columnList = "last_name, id"),
+        @Index(name = "idx_authors_normalized_last_name_id", columnList = "normalized_last_name, id"),
+        @Index(name = "idx_authors_normalized_full_name_id", columnList = "normalized_full_name, id"),
+        @Index(name = "idx_authors_book_count_id", columnList = "book_count, id")
+})
+@DynamicUpdate
+@NoArgsConstructor
 @Getter @Setter @ToString
 @EqualsAndHashCode(of = "id")
 public class Author {
 
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
@@ -39,4 +55,61 @@ public class Author {
 
     @ManyToMany(mappedBy = "authors")
     private Set<Book> books = new HashSet<>();
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    @UpdateTimestamp
+    private Instant lastModified;
+
+    /**
+     * Number of books of the author, kept by atomic updates in the transactions that change
+     * {@code books_authors} and never written from the entity: with dynamic updates a stale value
+     * loaded here cannot overwrite a concurrent increment.
+     */
+    @Setter(AccessLevel.NONE)
+    @ColumnDefault("0")
+    @Column(name = "book_count", nullable = false)
+    private long bookCount;
+
+    @Setter(AccessLevel.NONE)
+    @Column(name = "normalized_last_name")
+    private String normalizedLastName;
+
+    @Setter(AccessLevel.NONE)
+    @Column(name = "normalized_full_name")
+    private String normalizedFullName;
+
+    public Author(UUID id, String firstName, String lastName, LocalDate birthDate, String nationality,
+                  Set<Book> books, Long version, Instant lastModified) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.birthDate = birthDate;
+        this.nationality = nationality;
+        this.books = books;
+        this.version = version;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * Lower case, without accents and with single spaces, so a search prefix typed either way
+     * matches the indexed name columns.
+     */
+    public static String normalize(String name) {
+        if (name == null) {
+            return null;
+        }
+        String stripped = MARKS.matcher(Normalizer.normalize(name, Normalizer.Form.NFD)).replaceAll("");
+        return SPACES.matcher(stripped.strip()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    @PrePersist
+    @PreUpdate
+    void normalizeNames() {
+        normalizedLastName = normalize(lastName);
+        normalizedFullName = normalize(firstName + " " + lastName);
+    }
 }
\ No newline at end of file
@@ -5,11 +5,15 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.*;
 
 @Entity
-@Table(name = "books")
+@Table(name = "books", indexes = @Index(name = "idx_books_publication_date_id", columnList = "publication_date, id"))
 @NoArgsConstructor @AllArgsConstructor
 @Getter @Setter @ToString
 @EqualsAndHashCode(of = "id")
@@ -24,10 +28,12 @@ public class Book {
     private String title;
 
     @ManyToMany
+    @BatchSize(size = 50)
     @JoinTable(
             name = "books_authors",
             joinColumns = @JoinColumn(name = "book_id"),
-            inverseJoinColumns = @JoinColumn(name = "author_id")
+            inverseJoinColumns = @JoinColumn(name = "author_id"),
+            indexes = @Index(name = "idx_books_authors_author_id_book_id", columnList = "author_id, book_id")
     )
     private Set<Author> authors = new HashSet<>();
 
@@ -42,4 +48,12 @@ public class Book {
     @Column(nullable = false)
     @Enumerated(EnumType.STRING)
     private Status status;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    @UpdateTimestamp
+    private Instant lastModified;
 }
\ No newline at end of file
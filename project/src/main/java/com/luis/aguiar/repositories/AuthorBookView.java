@@ -0,0 +1,14 @@
+package com.luis.aguiar.repositories;
+
+import com.luis.aguiar.enums.Status;
+import java.time.LocalDate;
+import java.util.UUID;
+
+public interface AuthorBookView {
+    UUID getAuthorId();
+    UUID getId();
+    String getTitle();
+    LocalDate getPublicationDate();
+    Status getStatus();
+    Long getVersion();
+}
@@ -0,0 +1,75 @@
+package com.luis.aguiar.repositories;
+
+import com.luis.aguiar.models.Author;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keeps the normalized name columns of {@code authors} searchable. Rows written before the columns
+ * existed are filled in keyset batches at startup; new rows are normalized by the entity itself.
+ * On PostgreSQL the columns also get {@code text_pattern_ops} indexes, which serve {@code LIKE}
+ * prefixes whatever the database collation; JPA cannot declare an operator class.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuthorNameColumns {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private record Names(UUID id, String firstName, String lastName) { }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void prepare() {
+        long filled = 0;
+        UUID after = new UUID(0, 0);
+        List<Names> batch;
+        while (!(batch = jdbcTemplate.query("""
+                        select id, first_name, last_name from authors
+                        where normalized_last_name is null and id > ?
+                        order by id limit ?
+                        """,
+                (row, index) -> new Names(row.getObject("id", UUID.class),
+                        row.getString("first_name"), row.getString("last_name")),
+                after, BATCH_SIZE)).isEmpty()) {
+            jdbcTemplate.batchUpdate("""
+                            update authors set normalized_last_name = ?, normalized_full_name = ? where id = ?
+                            """,
+                    batch, batch.size(), (statement, names) -> {
+                        statement.setString(1, Author.normalize(names.lastName()));
+                        statement.setString(2, Author.normalize(names.firstName() + " " + names.lastName()));
+                        statement.setObject(3, names.id());
+                    });
+            filled += batch.size();
+            after = batch.get(batch.size() - 1).id();
+        }
+        if (filled > 0) {
+            log.info("Normalized the names of {} authors.", filled);
+        }
+
+        if (isPostgres()) {
+            jdbcTemplate.execute("""
+                    create index if not exists idx_authors_normalized_last_name_prefix
+                    on authors (normalized_last_name text_pattern_ops)
+                    """);
+            jdbcTemplate.execute("""
+                    create index if not exists idx_authors_normalized_full_name_prefix
+                    on authors (normalized_full_name text_pattern_ops)
+                    """);
+        }
+    }
+
+    private boolean isPostgres() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName())));
+    }
+}
@@ -1,10 +1,104 @@
 package com.luis.aguiar.repositories;
 
 import com.luis.aguiar.models.Author;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface AuthorRepository extends JpaRepository<Author, UUID> {
-}
\ No newline at end of file
+
+    @Query("select a.id as id, a.nationality as nationality from Author a")
+    List<AuthorNationalityView> findAllNationalities();
+
+    @Query("select a.nationality as nationality, count(a) as count from Author a group by a.nationality")
+    List<NationalityCountView> countByNationality();
+
+    @Query("select a.version from Author a where a.id = :id")
+    Optional<Long> findVersionById(UUID id);
+
+    @Query("select count(a) as count, coalesce(sum(a.version), 0) as versions, max(a.lastModified) as lastModified from Author a")
+    CatalogMarkView findMark();
+
+    @Query("select a.id as id, a.version as version from Author a")
+    List<VersionView> findAllVersions();
+
+    @Query("select a from Author a where a.id > :after order by a.id")
+    List<Author> findBatchAfter(UUID after, Pageable pageable);
+
+    /**
+     * Authors whose normalized last name starts with the pattern's prefix, after the keyset
+     * {@code (afterName, afterId)} in name order. Wildcards in the prefix must be escaped with a backslash.
+     * {@code afterName} and {@code beforeName} bound the name range explicitly, so the name index is
+     * scanned only over the prefix whatever the collation; {@code beforeName} may be null.
+     */
+    @Query("""
+            select a from Author a
+            where a.normalizedLastName >= :afterName
+              and (:beforeName is null or a.normalizedLastName < :beforeName)
+              and (a.normalizedLastName > :afterName or (a.normalizedLastName = :afterName and a.id > :afterId))
+              and a.normalizedLastName like :pattern escape '\\'
+            order by a.normalizedLastName, a.id
+            """)
+    List<Author> searchByLastName(String pattern, String afterName, UUID afterId, String beforeName, Pageable pageable);
+
+    @Query("""
+            select a from Author a
+            where a.normalizedFullName >= :afterName
+              and (:beforeName is null or a.normalizedFullName < :beforeName)
+              and (a.normalizedFullName > :afterName or (a.normalizedFullName = :afterName and a.id > :afterId))
+              and a.normalizedFullName like :pattern escape '\\'
+            order by a.normalizedFullName, a.id
+            """)
+    List<Author> searchByFullName(String pattern, String afterName, UUID afterId, String beforeName, Pageable pageable);
+
+    List<Author> findByBookCountBetween(long min, long max, Pageable pageable);
+
+    @Modifying
+    @Query("update Author a set a.bookCount = a.bookCount + :delta where a.id = :id")
+    int addToBookCount(UUID id, long delta);
+
+    /**
+     * Decrements the count of every author of the book; must run before the book's rows of
+     * {@code books_authors} are deleted.
+     */
+    @Modifying
+    @Query("""
+            update Author a set a.bookCount = a.bookCount - 1
+            where a.id in (select ba.id from Book b join b.authors ba where b.id = :bookId)
+            """)
+    int decrementBookCountsOfBook(UUID bookId);
+
+    @Query("""
+            select a.id from Author a
+            where a.bookCount <> (select count(b) from Book b join b.authors ba where ba.id = a.id)
+            """)
+    List<UUID> findIdsWithDriftedBookCount();
+
+    /**
+     * Locks the author row until the end of the transaction; waits for any transaction that is
+     * changing its book count.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a.id from Author a where a.id = :id")
+    Optional<UUID> lockById(UUID id);
+
+    /**
+     * Recounts the books of the author, returning 1 if its count had drifted. Run it after
+     * {@link #lockById}, in a later statement, so the recount sees every change committed before the lock.
+     */
+    @Modifying
+    @Query("""
+            update Author a set a.bookCount = (select count(b) from Book b join b.authors ba where ba.id = a.id)
+            where a.id = :id
+              and a.bookCount <> (select count(b) from Book b join b.authors ba where ba.id = a.id)
+            """)
+    int recountBookCount(UUID id);
+}
@@ -0,0 +1,197 @@
+package com.luis.aguiar.repositories;
+
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.*;
+
+/**
+ * Adds rows to the {@code books_authors} join table in bulk, without loading any book or author.
+ * The ids of each batch are checked with one query, the pairs are inserted skipping those already
+ * present, the version of every book that gained an author is bumped as the persistence context
+ * would have done, and the book count of every author is raised by its new pairs. On PostgreSQL the
+ * pairs go in one {@code INSERT ... ON CONFLICT DO NOTHING RETURNING}; other databases get a JDBC
+ * batch of guarded inserts.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AuthorshipBulkRepository {
+
+    private static final String UPSERT = """
+            insert into books_authors (book_id, author_id)
+            select * from unnest(cast(? as uuid[]), cast(? as uuid[]))
+            on conflict do nothing
+            returning book_id, author_id
+            """;
+
+    private static final String GUARDED_INSERT = """
+            insert into books_authors (book_id, author_id)
+            select cast(? as uuid), cast(? as uuid)
+            from (values (1)) v
+            where not exists (select 1 from books_authors ba where ba.book_id = ? and ba.author_id = ?)
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private volatile Boolean postgres;
+
+    public record Authorship(UUID authorId, UUID bookId) {
+    }
+
+    public record Result(Set<Authorship> inserted, Set<UUID> missingAuthors, Set<UUID> missingBooks) {
+    }
+
+    /**
+     * Associates the pairs whose author and book both exist, in one transaction, and returns the
+     * pairs actually inserted along with the ids that were not found.
+     */
+    @Transactional
+    public Result associate(Collection<Authorship> authorships) {
+        if (authorships.isEmpty()) {
+            return new Result(Set.of(), Set.of(), Set.of());
+        }
+        Set<UUID> authorIds = new HashSet<>();
+        Set<UUID> bookIds = new HashSet<>();
+        authorships.forEach(authorship -> {
+            authorIds.add(authorship.authorId());
+            bookIds.add(authorship.bookId());
+        });
+
+        Set<UUID> foundAuthors = new HashSet<>();
+        Set<UUID> foundBooks = new HashSet<>();
+        jdbcTemplate.query("""
+                        select 'A' as kind, a.id as id from authors a where a.id in (:authors)
+                        union all
+                        select 'B' as kind, b.id as id from books b where b.id in (:books)
+                        """,
+                Map.of("authors", authorIds, "books", bookIds),
+                row -> {
+                    UUID id = row.getObject("id", UUID.class);
+                    ("A".equals(row.getString("kind")) ? foundAuthors : foundBooks).add(id);
+                });
+
+        List<Authorship> valid = authorships.stream()
+                .filter(authorship -> foundAuthors.contains(authorship.authorId())
+                        && foundBooks.contains(authorship.bookId()))
+                .distinct()
+                .toList();
+        Set<Authorship> inserted = insert(valid);
+
+        Set<UUID> changedBooks = new HashSet<>();
+        Map<UUID, Integer> addedBooks = new HashMap<>();
+        inserted.forEach(authorship -> {
+            changedBooks.add(authorship.bookId());
+            addedBooks.merge(authorship.authorId(), 1, Integer::sum);
+        });
+        if (!changedBooks.isEmpty()) {
+            jdbcTemplate.update("""
+                            update books set version = version + 1, last_modified = current_timestamp
+                            where id in (:books)
+                            """,
+                    Map.of("books", changedBooks));
+            jdbcTemplate.getJdbcTemplate().batchUpdate("update authors set book_count = book_count + ? where id = ?",
+                    addedBooks.entrySet(), addedBooks.size(), (statement, added) -> {
+                        statement.setInt(1, added.getValue());
+                        statement.setObject(2, added.getKey());
+                    });
+        }
+
+        authorIds.removeAll(foundAuthors);
+        bookIds.removeAll(foundBooks);
+        return new Result(inserted, authorIds, bookIds);
+    }
+
+    private Set<Authorship> insert(List<Authorship> authorships) {
+        if (authorships.isEmpty()) {
+            return Set.of();
+        }
+        return isPostgres() ? upsert(authorships) : batch(authorships);
+    }
+
+    private Set<Authorship> upsert(List<Authorship> authorships) {
+        UUID[] bookIds = authorships.stream().map(Authorship::bookId).toArray(UUID[]::new);
+        UUID[] authorIds = authorships.stream().map(Authorship::authorId).toArray(UUID[]::new);
+        Set<Authorship> inserted = new HashSet<>();
+        jdbcTemplate.getJdbcTemplate().query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(UPSERT);
+            statement.setArray(1, connection.createArrayOf("uuid", bookIds));
+            statement.setArray(2, connection.createArrayOf("uuid", authorIds));
+            return statement;
+        }, row -> {
+            inserted.add(new Authorship(row.getObject("author_id", UUID.class), row.getObject("book_id", UUID.class)));
+        });
+        return inserted;
+    }
+
+    /**
+     * Only the pairs missing when the batch starts are sent. A driver may answer a batched row with
+     * {@link Statement#SUCCESS_NO_INFO} instead of its count; those pairs are looked up again and
+     * counted as inserted only if they are there now.
+     */
+    private Set<Authorship> batch(List<Authorship> authorships) {
+        Set<Authorship> present = existing(authorships);
+        List<Authorship> missing = authorships.stream().filter(authorship -> !present.contains(authorship)).toList();
+        if (missing.isEmpty()) {
+            return Set.of();
+        }
+        int[][] counts = jdbcTemplate.getJdbcTemplate().batchUpdate(GUARDED_INSERT,
+                missing, missing.size(), (statement, authorship) -> {
+                    statement.setObject(1, authorship.bookId());
+                    statement.setObject(2, authorship.authorId());
+                    statement.setObject(3, authorship.bookId());
+                    statement.setObject(4, authorship.authorId());
+                });
+
+        Set<Authorship> inserted = new HashSet<>();
+        List<Authorship> unknown = new ArrayList<>();
+        for (int i = 0; i < missing.size(); i++) {
+            int count = counts[0][i];
+            if (count > 0) {
+                inserted.add(missing.get(i));
+            } else if (count == Statement.SUCCESS_NO_INFO) {
+                unknown.add(missing.get(i));
+            }
+        }
+        if (!unknown.isEmpty()) {
+            inserted.addAll(existing(unknown));
+        }
+        return inserted;
+    }
+
+    private Set<Authorship> existing(List<Authorship> authorships) {
+        Set<UUID> bookIds = new HashSet<>();
+        Set<UUID> authorIds = new HashSet<>();
+        authorships.forEach(authorship -> {
+            bookIds.add(authorship.bookId());
+            authorIds.add(authorship.authorId());
+        });
+        Set<Authorship> requested = new HashSet<>(authorships);
+        Set<Authorship> existing = new HashSet<>();
+        jdbcTemplate.query("""
+                        select ba.book_id, ba.author_id from books_authors ba
+                        where ba.book_id in (:books) and ba.author_id in (:authors)
+                        """,
+                Map.of("books", bookIds, "authors", authorIds),
+                row -> {
+                    Authorship authorship = new Authorship(row.getObject("author_id", UUID.class),
+                            row.getObject("book_id", UUID.class));
+                    if (requested.contains(authorship)) {
+                        existing.add(authorship);
+                    }
+                });
+        return existing;
+    }
+
+    private boolean isPostgres() {
+        Boolean known = postgres;
+        if (known == null) {
+            known = jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName()));
+            postgres = known;
+        }
+        return Boolean.TRUE.equals(known);
+    }
+}
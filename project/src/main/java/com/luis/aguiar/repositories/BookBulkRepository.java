@@ -0,0 +1,133 @@
+package com.luis.aguiar.repositories;
+
+import com.luis.aguiar.models.Book;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+
+/**
+ * Inserts books in bulk, bypassing the persistence context, and skips the rows whose title is
+ * already registered instead of failing the whole batch. On PostgreSQL the batch is copied into a
+ * temporary table with {@code COPY} and moved with {@code INSERT ... ON CONFLICT DO NOTHING};
+ * other databases get a JDBC batch of guarded inserts. The books must carry their ids.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BookBulkRepository {
+
+    private static final String GUARDED_INSERT = """
+            insert into books (id, title, publication_date, status, version, last_modified)
+            select cast(? as uuid), cast(? as varchar(255)), cast(? as date), cast(? as varchar(255)),
+                   0, current_timestamp
+            from (values (1)) v
+            where not exists (select 1 from books b where b.title = ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private volatile Boolean postgres;
+
+    /**
+     * Inserts the books in one transaction and returns the ids of those actually inserted.
+     */
+    @Transactional
+    public Set<UUID> insertIgnoringDuplicates(List<Book> books) {
+        if (books.isEmpty()) {
+            return Set.of();
+        }
+        return jdbcTemplate.execute((ConnectionCallback<Set<UUID>>) connection -> isPostgres(connection)
+                ? copy(connection, books)
+                : batch(books));
+    }
+
+    private Set<UUID> copy(Connection connection, List<Book> books) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    create temporary table if not exists books_import
+                    (id uuid, title text, publication_date date, status varchar(255))
+                    on commit delete rows
+                    """);
+        }
+
+        StringBuilder csv = new StringBuilder(books.size() * 96);
+        for (Book book : books) {
+            csv.append(book.getId()).append(',')
+                    .append('"').append(book.getTitle().replace("\"", "\"\"")).append('"').append(',')
+                    .append(book.getPublicationDate()).append(',')
+                    .append(book.getStatus().name()).append('\n');
+        }
+        try {
+            connection.unwrap(PGConnection.class).getCopyAPI().copyIn(
+                    "copy books_import (id, title, publication_date, status) from stdin with (format csv)",
+                    new StringReader(csv.toString()));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        Set<UUID> inserted = new HashSet<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("""
+                     insert into books (id, title, publication_date, status, version, last_modified)
+                     select id, title, publication_date, status, 0, current_timestamp from books_import
+                     on conflict (title) do nothing
+                     returning id
+                     """)) {
+            while (rows.next()) {
+                inserted.add(rows.getObject(1, UUID.class));
+            }
+        }
+        return inserted;
+    }
+
+    /**
+     * A driver may answer a batched row with {@link Statement#SUCCESS_NO_INFO} instead of its count.
+     * The ids are new, so such a book was inserted by the batch exactly when its id is found now.
+     */
+    private Set<UUID> batch(List<Book> books) {
+        int[][] counts = jdbcTemplate.batchUpdate(GUARDED_INSERT, books, books.size(), (statement, book) -> {
+            statement.setObject(1, book.getId());
+            statement.setString(2, book.getTitle());
+            statement.setObject(3, book.getPublicationDate());
+            statement.setString(4, book.getStatus().name());
+            statement.setString(5, book.getTitle());
+        });
+
+        Set<UUID> inserted = new HashSet<>();
+        List<UUID> unknown = new ArrayList<>();
+        for (int i = 0; i < books.size(); i++) {
+            int count = counts[0][i];
+            if (count > 0) {
+                inserted.add(books.get(i).getId());
+            } else if (count == Statement.SUCCESS_NO_INFO) {
+                unknown.add(books.get(i).getId());
+            }
+        }
+        if (!unknown.isEmpty()) {
+            inserted.addAll(namedParameterJdbcTemplate.queryForList(
+                    "select b.id from books b where b.id in (:ids)", Map.of("ids", unknown), UUID.class));
+        }
+        return inserted;
+    }
+
+    private boolean isPostgres(Connection connection) throws SQLException {
+        Boolean known = postgres;
+        if (known == null) {
+            known = "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName())
+                    && connection.isWrapperFor(PGConnection.class);
+            postgres = known;
+        }
+        return known;
+    }
+}
@@ -0,0 +1,18 @@
+package com.luis.aguiar.repositories;
+
+import com.luis.aguiar.enums.Status;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+public interface BookExportView {
+    UUID getId();
+    String getTitle();
+    LocalDate getPublicationDate();
+    Status getStatus();
+    Long getVersion();
+    Instant getLastModified();
+    UUID getAuthorId();
+    String getAuthorFirstName();
+    String getAuthorLastName();
+}
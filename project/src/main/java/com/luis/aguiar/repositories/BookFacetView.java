@@ -0,0 +1,11 @@
+package com.luis.aguiar.repositories;
+
+import com.luis.aguiar.enums.Status;
+import java.time.LocalDate;
+import java.util.UUID;
+
+public interface BookFacetView {
+    UUID getId();
+    Status getStatus();
+    LocalDate getPublicationDate();
+}
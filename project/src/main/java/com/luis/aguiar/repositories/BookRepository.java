@@ -2,15 +2,137 @@ package com.luis.aguiar.repositories;
 
 import com.luis.aguiar.enums.Status;
 import com.luis.aguiar.models.Book;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookRepository extends JpaRepository<Book, UUID> {
     List<Book> findByTitleContainingIgnoreCase(String name, Pageable pageable);
     List<Book> findByAuthorsLastNameContainingIgnoreCase(String lastName, Pageable pageable);
     List<Book> findByStatus(Status status, Pageable pageable);
+
+    @Query("select distinct b from Book b left join fetch b.authors where b.id in :ids")
+    List<Book> findAllWithAuthorsByIdIn(Collection<UUID> ids);
+
+    long countByStatus(Status status);
+
+    @Query("select b.id as id, b.status as status from Book b order by b.id")
+    List<BookStatusView> findAllStatuses();
+
+    @Query("select b.id as id, b.status as status, b.publicationDate as publicationDate from Book b")
+    List<BookFacetView> findAllFacets();
+
+    @Query("select b.id as bookId, a.id as authorId from Book b join b.authors a")
+    List<AuthorshipView> findAllAuthorships();
+
+    @Query("select b.id as bookId, a.id as authorId from Book b join b.authors a where b.id in :ids")
+    List<AuthorshipView> findAuthorshipsByBookIdIn(Collection<UUID> ids);
+
+    @Query("""
+            select b from Book b
+            where (:status is null or b.status = :status)
+              and (:from is null or b.publicationDate >= :from)
+              and (:to is null or b.publicationDate < :to)
+              and (:nationality is null or exists (
+                    select a.id from Author a join a.books ab
+                    where ab.id = b.id and a.nationality = :nationality))
+            """)
+    List<Book> search(Status status, String nationality, LocalDate from, LocalDate to, Pageable pageable);
+
+    List<Book> findByPublicationDateBetween(LocalDate from, LocalDate to, Pageable pageable);
+
+    @Query("select year(b.publicationDate) as year, count(b) as count from Book b group by year(b.publicationDate)")
+    List<YearCountView> countByPublicationYear();
+
+    @Query("select b.status as status, count(b) as count from Book b group by b.status")
+    List<StatusCountView> countGroupedByStatus();
+
+    @Query("""
+            select a.nationality as nationality, count(distinct b.id) as count
+            from Book b join b.authors a
+            group by a.nationality
+            """)
+    List<NationalityCountView> countByAuthorNationality();
+
+    @Query("select b.version from Book b where b.id = :id")
+    Optional<Long> findVersionById(UUID id);
+
+    @Query("select count(b) as count, coalesce(sum(b.version), 0) as versions, max(b.lastModified) as lastModified from Book b")
+    CatalogMarkView findMark();
+
+    @Query("select b.id as id, b.version as version from Book b")
+    List<VersionView> findAllVersions();
+
+    @Query("select b from Book b where b.id > :after order by b.id")
+    List<Book> findBatchAfter(UUID after, Pageable pageable);
+
+    /**
+     * The {@code limit} most recently published books of each author, ranked inside the database
+     * so an author's remaining books are never read.
+     */
+    @Query("""
+            select r.authorId as authorId, r.id as id, r.title as title, r.publicationDate as publicationDate,
+                   r.status as status, r.version as version
+            from (
+                select a.id as authorId, b.id as id, b.title as title, b.publicationDate as publicationDate,
+                       b.status as status, b.version as version,
+                       row_number() over (partition by a.id order by b.publicationDate desc, b.id) as position
+                from Book b join b.authors a
+                where a.id in :authorIds
+            ) r
+            where r.position <= :limit
+            order by r.authorId, r.position
+            """)
+    List<AuthorBookView> findLatestByAuthorIdIn(Collection<UUID> authorIds, int limit);
+
+    /**
+     * The author's books with an id greater than {@code after}, in id order, so every page is read
+     * from the {@code (author_id, book_id)} index of {@code books_authors} however deep it is.
+     */
+    @Query("""
+            select a.id as authorId, b.id as id, b.title as title, b.publicationDate as publicationDate,
+                   b.status as status, b.version as version
+            from Book b join b.authors a
+            where a.id = :authorId and b.id > :after
+            order by b.id
+            """)
+    List<AuthorBookView> findByAuthorIdAfter(UUID authorId, UUID after, Pageable pageable);
+
+    /**
+     * The authors sharing books with the given one, most shared books first. Self-joins
+     * {@code books_authors}, so it only answers while the co-author graph is being built.
+     */
+    @Query("""
+            select other.id as authorId, count(b) as sharedBooks
+            from Book b join b.authors author join b.authors other
+            where author.id = :authorId and other.id <> :authorId
+            group by other.id
+            order by count(b) desc, other.id
+            """)
+    List<CoAuthorView> findCoAuthors(UUID authorId, Pageable pageable);
+
+    /**
+     * One row per book and author, ordered so the rows of a book are consecutive. Read through a
+     * forward-only cursor; must be consumed, and closed, inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            select b.id as id, b.title as title, b.publicationDate as publicationDate, b.status as status,
+                   b.version as version, b.lastModified as lastModified,
+                   a.id as authorId, a.firstName as authorFirstName, a.lastName as authorLastName
+            from Book b left join b.authors a
+            order by b.id, a.id
+            """)
+    Stream<BookExportView> streamExport();
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.luis.aguiar.repositories;
+
+import com.luis.aguiar.enums.Status;
+import java.util.UUID;
+
+public interface BookStatusView {
+    UUID getId();
+    Status getStatus();
+}
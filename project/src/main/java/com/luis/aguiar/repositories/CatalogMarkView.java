@@ -0,0 +1,9 @@
+package com.luis.aguiar.repositories;
+
+import java.time.Instant;
+
+public interface CatalogMarkView {
+    Long getCount();
+    Long getVersions();
+    Instant getLastModified();
+}
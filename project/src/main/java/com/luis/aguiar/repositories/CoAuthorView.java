@@ -0,0 +1,8 @@
+package com.luis.aguiar.repositories;
+
+import java.util.UUID;
+
+public interface CoAuthorView {
+    UUID getAuthorId();
+    long getSharedBooks();
+}
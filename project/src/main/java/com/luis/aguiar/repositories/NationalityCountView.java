@@ -0,0 +1,6 @@
+package com.luis.aguiar.repositories;
+
+public interface NationalityCountView {
+    String getNationality();
+    Long getCount();
+}
@@ -0,0 +1,8 @@
+package com.luis.aguiar.repositories;
+
+import com.luis.aguiar.enums.Status;
+
+public interface StatusCountView {
+    Status getStatus();
+    Long getCount();
+}
@@ -0,0 +1,8 @@
+package com.luis.aguiar.repositories;
+
+import java.util.UUID;
+
+public interface VersionView {
+    UUID getId();
+    Long getVersion();
+}
@@ -0,0 +1,6 @@
+package com.luis.aguiar.repositories;
+
+public interface YearCountView {
+    Integer getYear();
+    Long getCount();
+}
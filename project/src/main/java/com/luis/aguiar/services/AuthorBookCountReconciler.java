@@ -0,0 +1,49 @@
+package com.luis.aguiar.services;
+
+import com.luis.aguiar.events.AuthorBookCountsReconciledEvent;
+import com.luis.aguiar.repositories.AuthorRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Recounts the books of every author in the background and fixes the {@code book_count} values
+ * that drifted, for instance through rows of {@code books_authors} written outside the application.
+ * The first run happens at startup, which also fills the counts of authors created before the
+ * column existed.
+ *
+ * <p>Each drifted author is fixed in its own transaction that locks the row before recounting.
+ * A single correlated update would wait for the lock of an uncommitted association but still count
+ * with the snapshot taken before it, writing the old count over the committed increment.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuthorBookCountReconciler {
+
+    private final AuthorRepository repository;
+    private final TransactionTemplate transactions;
+    private final ApplicationEventPublisher publisher;
+
+    @Scheduled(fixedDelayString = "${library.authors.book-count.reconcile-interval:PT1H}")
+    public void reconcile() {
+        List<UUID> fixed = new ArrayList<>();
+        for (UUID authorId : repository.findIdsWithDriftedBookCount()) {
+            Boolean recounted = transactions.execute(status ->
+                    repository.lockById(authorId).isPresent() && repository.recountBookCount(authorId) > 0);
+            if (Boolean.TRUE.equals(recounted)) {
+                fixed.add(authorId);
+            }
+        }
+        if (!fixed.isEmpty()) {
+            log.warn("Fixed the book count of {} authors.", fixed.size());
+            publisher.publishEvent(new AuthorBookCountsReconciledEvent(fixed));
+        }
+    }
+}
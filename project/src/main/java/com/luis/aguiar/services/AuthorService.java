@@ -1,40 +1,136 @@
 package com.luis.aguiar.services;
 
 import com.luis.aguiar.dto.AuthorResponseDto;
+import com.luis.aguiar.dto.BookSummaryDto;
+import com.luis.aguiar.dto.CompactAuthorDto;
+import com.luis.aguiar.dto.RelatedAuthorDto;
+import com.luis.aguiar.enums.AuthorNameField;
+import com.luis.aguiar.enums.ChangeType;
+import com.luis.aguiar.events.*;
 import com.luis.aguiar.exceptions.EntityNotFoundException;
+import com.luis.aguiar.exceptions.InvalidRequestException;
+import com.luis.aguiar.indexes.CoAuthorGraph;
 import com.luis.aguiar.mappers.AuthorMapper;
 import com.luis.aguiar.models.*;
 import com.luis.aguiar.repositories.*;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class AuthorService {
+    private static final UUID FIRST_ID = new UUID(0, 0);
+
     @Autowired
     private AuthorRepository authorRepository;
     @Autowired
     private BookRepository bookRepository;
+    @Autowired
+    private ApplicationEventPublisher publisher;
+    @Autowired
+    private SparseFieldRepository sparseRepository;
+    @Autowired
+    private CoAuthorGraph coAuthors;
+    @Value("${library.authors.book-summaries:5}")
+    private int bookSummaries;
 
     public Author save(Author author) {
-        return authorRepository.save(author);
+        Author savedAuthor = authorRepository.save(author);
+        publisher.publishEvent(new AuthorChangedEvent(savedAuthor.getId(), ChangeType.CREATED, savedAuthor.getNationality()));
+        return savedAuthor;
     }
 
     @Transactional
     public List<AuthorResponseDto> findAll(int page, int quantity) {
-        List<Author> authors = authorRepository.findAll(PageRequest.of(page, quantity)).getContent();
+        return findAll(page, quantity, Sort.unsorted());
+    }
+
+    @Transactional
+    public List<AuthorResponseDto> findAll(int page, int quantity, Sort sort) {
+        return toResponseDtos(authorRepository.findAll(PageRequest.of(page, quantity, sort)).getContent());
+    }
+
+    /**
+     * Returns the authors with between {@code minBooks} and {@code maxBooks} books, filtered on
+     * the {@code book_count} column.
+     */
+    @Transactional
+    public List<AuthorResponseDto> findAll(int page, int quantity, Sort sort, long minBooks, long maxBooks) {
+        if (minBooks > maxBooks) {
+            throw new InvalidRequestException("The minimum number of books can't be greater than the maximum.");
+        }
+        return toResponseDtos(authorRepository.findByBookCountBetween(minBooks, maxBooks,
+                PageRequest.of(page, quantity, sort)));
+    }
+
+    @Transactional
+    public <T> List<T> findAll(int page, int quantity, Sort sort, Function<Author, T> mapper) {
+        List<Author> authors = authorRepository.findAll(PageRequest.of(page, quantity, sort)).getContent();
         return authors.stream()
-                .map(AuthorMapper::toResponseDto)
+                .map(mapper)
                 .toList();
     }
 
+    /**
+     * Returns up to {@code quantity} authors whose last name, or full name, starts with the prefix,
+     * ignoring case and accents, in name order and starting after the author {@code after}.
+     */
+    @Transactional
+    public List<CompactAuthorDto> search(String prefix, AuthorNameField field, UUID after, int quantity) {
+        String normalized = Author.normalize(prefix);
+        if (normalized == null || normalized.isEmpty()) {
+            throw new InvalidRequestException("The name prefix can't be blank.");
+        }
+        if (quantity < 1) {
+            throw new InvalidRequestException("The quantity must be at least 1.");
+        }
+
+        String afterName = normalized;
+        UUID afterId = FIRST_ID;
+        if (after != null) {
+            Author last = authorRepository.findById(after)
+                    .orElseThrow(() -> new InvalidRequestException("There is no author for the after id."));
+            afterName = field == AuthorNameField.FULL_NAME ? last.getNormalizedFullName() : last.getNormalizedLastName();
+            afterId = last.getId();
+        }
+
+        String pattern = normalized.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        String beforeName = upperBound(normalized);
+        PageRequest limit = PageRequest.ofSize(quantity);
+        List<Author> authors = field == AuthorNameField.FULL_NAME
+                ? authorRepository.searchByFullName(pattern, afterName, afterId, beforeName, limit)
+                : authorRepository.searchByLastName(pattern, afterName, afterId, beforeName, limit);
+        return authors.stream()
+                .map(AuthorMapper::toCompactDto)
+                .toList();
+    }
+
+    @Transactional
+    public List<Map<String, Object>> findAll(int page, int quantity, Sort sort, List<String> fields) {
+        return sparseRepository.findAll(Author.class, fields, null, PageRequest.of(page, quantity, sort));
+    }
+
     @Transactional
     public AuthorResponseDto findById(UUID uuid) {
+        return findById(uuid, author -> toResponseDtos(List.of(author)).get(0));
+    }
+
+    @Transactional
+    public <T> T findById(UUID uuid, Function<Author, T> mapper) {
         Author author = authorRepository.findById(uuid)
                 .orElseThrow(() -> new EntityNotFoundException("There is no author for this id."));
-        return AuthorMapper.toResponseDto(author);
+        return mapper.apply(author);
+    }
+
+    public Long findVersion(UUID uuid) {
+        return authorRepository.findVersionById(uuid).orElse(null);
     }
 
     @Transactional
@@ -47,7 +143,63 @@ public class AuthorService {
         findAuthor.setFirstName(author.getFirstName());
         findAuthor.setLastName(author.getLastName());
 
-        return AuthorMapper.toResponseDto(authorRepository.save(findAuthor));
+        Author savedAuthor = authorRepository.save(findAuthor);
+        publisher.publishEvent(new AuthorChangedEvent(savedAuthor.getId(), ChangeType.UPDATED, savedAuthor.getNationality()));
+        return toResponseDtos(List.of(savedAuthor)).get(0);
+    }
+
+    /**
+     * Returns up to {@code quantity} books of the author in id order, starting after the book
+     * {@code after}, or from the first one when it is {@code null}.
+     */
+    @Transactional
+    public List<BookSummaryDto> findBooks(UUID uuid, UUID after, int quantity) {
+        if (quantity < 1) {
+            throw new InvalidRequestException("The quantity must be at least 1.");
+        }
+        List<BookSummaryDto> books = bookRepository
+                .findByAuthorIdAfter(uuid, after == null ? FIRST_ID : after, PageRequest.ofSize(quantity)).stream()
+                .map(AuthorService::toSummaryDto)
+                .toList();
+        if (books.isEmpty() && !authorRepository.existsById(uuid)) {
+            throw new EntityNotFoundException("There is no author for this id.");
+        }
+        return books;
+    }
+
+    /**
+     * Returns up to {@code quantity} authors sharing books with the author, most shared books
+     * first, read from the co-author graph once it is built.
+     */
+    @Transactional
+    public List<RelatedAuthorDto> findRelated(UUID uuid, int quantity) {
+        if (quantity < 1) {
+            throw new InvalidRequestException("The quantity must be at least 1.");
+        }
+        Map<UUID, Long> shared = new LinkedHashMap<>();
+        if (coAuthors.isReady()) {
+            coAuthors.related(uuid, quantity)
+                    .forEach(related -> shared.put(related.authorId(), (long) related.sharedBooks()));
+        } else {
+            bookRepository.findCoAuthors(uuid, PageRequest.ofSize(quantity))
+                    .forEach(related -> shared.put(related.getAuthorId(), related.getSharedBooks()));
+        }
+        if (shared.isEmpty()) {
+            if (!authorRepository.existsById(uuid)) {
+                throw new EntityNotFoundException("There is no author for this id.");
+            }
+            return List.of();
+        }
+
+        Map<UUID, Author> authors = authorRepository.findAllById(shared.keySet()).stream()
+                .collect(Collectors.toMap(Author::getId, Function.identity()));
+        return shared.entrySet().stream()
+                .filter(entry -> authors.containsKey(entry.getKey()))
+                .map(entry -> {
+                    Author author = authors.get(entry.getKey());
+                    return new RelatedAuthorDto(author.getId(), author.getFirstName(), author.getLastName(), entry.getValue());
+                })
+                .toList();
     }
 
     @Transactional
@@ -55,6 +207,7 @@ public class AuthorService {
         Author author = authorRepository.findById(uuid)
                 .orElseThrow(() -> new EntityNotFoundException("There is no author for this id."));
         authorRepository.delete(author);
+        publisher.publishEvent(new AuthorChangedEvent(author.getId(), ChangeType.DELETED, null));
     }
 
     @Transactional
@@ -66,8 +219,53 @@ public class AuthorService {
                 .orElseThrow(() -> new EntityNotFoundException("There is no author for this id."));
 
         Set<Author> authors = book.getAuthors();
-        authors.add(author);
+        boolean added = authors.add(author);
 
         bookRepository.save(book);
+        if (added) {
+            authorRepository.addToBookCount(author.getId(), 1);
+        }
+        publisher.publishEvent(new AuthorshipChangedEvent(book.getId(), author.getId()));
+    }
+
+    /**
+     * Maps the authors with their book count and latest book summaries, read for the whole page in
+     * one query instead of loading every author's books.
+     */
+    private List<AuthorResponseDto> toResponseDtos(List<Author> authors) {
+        if (authors.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> ids = authors.stream().map(Author::getId).toList();
+        Map<UUID, List<BookSummaryDto>> summaries = bookSummaries <= 0 ? Map.of()
+                : bookRepository.findLatestByAuthorIdIn(ids, bookSummaries).stream()
+                        .collect(Collectors.groupingBy(AuthorBookView::getAuthorId,
+                                Collectors.mapping(AuthorService::toSummaryDto, Collectors.toList())));
+
+        return authors.stream()
+                .map(author -> AuthorMapper.toResponseDto(author, author.getBookCount(),
+                        summaries.getOrDefault(author.getId(), List.of())))
+                .toList();
+    }
+
+    /**
+     * The smallest name after every name starting with the prefix: its last letter or digit incremented.
+     * Trailing punctuation is dropped first, as collations may ignore it when comparing; null when
+     * nothing is left to increment.
+     */
+    static String upperBound(String prefix) {
+        int end = prefix.length();
+        while (end > 0 && !Character.isLetterOrDigit(prefix.charAt(end - 1))) {
+            end--;
+        }
+        if (end == 0 || prefix.charAt(end - 1) == Character.MAX_VALUE) {
+            return null;
+        }
+        return prefix.substring(0, end - 1) + (char) (prefix.charAt(end - 1) + 1);
+    }
+
+    private static BookSummaryDto toSummaryDto(AuthorBookView book) {
+        return new BookSummaryDto(book.getId(), book.getTitle(), book.getPublicationDate(),
+                book.getStatus(), book.getVersion());
     }
 }
\ No newline at end of file
@@ -0,0 +1,121 @@
+package com.luis.aguiar.services;
+
+import com.luis.aguiar.dto.AuthorshipDto;
+import com.luis.aguiar.dto.AuthorshipReportDto;
+import com.luis.aguiar.events.AuthorshipChangedEvent;
+import com.luis.aguiar.events.AuthorshipsChangedEvent;
+import com.luis.aguiar.repositories.AuthorshipBulkRepository;
+import com.luis.aguiar.repositories.AuthorshipBulkRepository.Authorship;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import java.util.*;
+
+/**
+ * Associates authors with books in bulk. Pairs are sent to the database in batches of
+ * {@code library.import.batch-size}, each in its own transaction, and pairs already associated
+ * are skipped. Pairs are numbered by their position in the request, starting at 0. The pairs
+ * inserted by a batch are published as one {@link AuthorshipsChangedEvent}.
+ */
+@Slf4j
+@Service
+public class AuthorshipImportService {
+
+    static final int MAX_REPORTED_ERRORS = 1000;
+    static final String MISSING_IDS = "The author id and the book id are required.";
+    static final String MISSING_AUTHOR = "There is no author for this id.";
+    static final String MISSING_BOOK = "There is no book for this id.";
+
+    private final AuthorshipBulkRepository repository;
+    private final ApplicationEventPublisher publisher;
+    private final int batchSize;
+
+    public AuthorshipImportService(AuthorshipBulkRepository repository,
+                                   ApplicationEventPublisher publisher,
+                                   @Value("${library.import.batch-size:1000}") int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("The import batch size must be positive.");
+        }
+        this.repository = repository;
+        this.publisher = publisher;
+        this.batchSize = batchSize;
+    }
+
+    private record Pair(long index, Authorship authorship) { }
+
+    public AuthorshipReportDto associate(List<AuthorshipDto> authorships) {
+        Report report = new Report();
+        List<Pair> batch = new ArrayList<>(batchSize);
+
+        for (int i = 0; i < authorships.size(); i++) {
+            AuthorshipDto dto = authorships.get(i);
+            report.received++;
+            if (dto == null || dto.authorId() == null || dto.bookId() == null) {
+                report.reject(i, dto, MISSING_IDS);
+                continue;
+            }
+            batch.add(new Pair(i, new Authorship(dto.authorId(), dto.bookId())));
+            if (batch.size() == batchSize) {
+                flush(batch, report);
+            }
+        }
+        flush(batch, report);
+
+        log.info("Associated {} of {} authorships ({} existing, {} rejected).",
+                report.inserted, report.received, report.existing, report.rejected);
+        return report.toDto();
+    }
+
+    private void flush(List<Pair> batch, Report report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        AuthorshipBulkRepository.Result result = repository.associate(batch.stream().map(Pair::authorship).toList());
+        Set<Authorship> published = new LinkedHashSet<>();
+        for (Pair pair : batch) {
+            Authorship authorship = pair.authorship();
+            AuthorshipDto dto = new AuthorshipDto(authorship.authorId(), authorship.bookId());
+            if (result.missingAuthors().contains(authorship.authorId())) {
+                report.reject(pair.index(), dto, MISSING_AUTHOR);
+            } else if (result.missingBooks().contains(authorship.bookId())) {
+                report.reject(pair.index(), dto, MISSING_BOOK);
+            } else if (result.inserted().contains(authorship) && published.add(authorship)) {
+                report.inserted++;
+            } else {
+                report.existing++;
+            }
+        }
+        if (!published.isEmpty()) {
+            publisher.publishEvent(new AuthorshipsChangedEvent(published.stream()
+                    .map(authorship -> new AuthorshipChangedEvent(authorship.bookId(), authorship.authorId()))
+                    .toList()));
+        }
+        batch.clear();
+    }
+
+    private static final class Report {
+        private long received;
+        private long inserted;
+        private long existing;
+        private long rejected;
+        private boolean truncated;
+        private final List<AuthorshipReportDto.PairError> errors = new ArrayList<>();
+
+        void reject(long index, AuthorshipDto dto, String message) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new AuthorshipReportDto.PairError(index,
+                        dto == null ? null : dto.authorId(),
+                        dto == null ? null : dto.bookId(),
+                        message));
+            } else {
+                truncated = true;
+            }
+        }
+
+        AuthorshipReportDto toDto() {
+            return new AuthorshipReportDto(received, inserted, existing, rejected, List.copyOf(errors), truncated);
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.luis.aguiar.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.luis.aguiar.dto.BookCreateDto;
+import com.luis.aguiar.dto.BookImportReportDto;
+import com.luis.aguiar.enums.ChangeType;
+import com.luis.aguiar.enums.Status;
+import com.luis.aguiar.events.BookChangedEvent;
+import com.luis.aguiar.events.BookState;
+import com.luis.aguiar.events.BooksChangedEvent;
+import com.luis.aguiar.exceptions.InvalidRequestException;
+import com.luis.aguiar.models.Book;
+import com.luis.aguiar.repositories.BookBulkRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Imports books from a request body read line by line, so only one batch is held in memory.
+ * Every row is validated like a single {@code POST}; valid rows are inserted in batches of
+ * {@code library.import.batch-size}, each in its own transaction, and rows whose title is already
+ * registered are skipped. Rows are numbered by their line in the body.
+ */
+@Slf4j
+@Service
+public class BookImportService {
+
+    public enum Format { NDJSON, CSV }
+
+    static final int MAX_REPORTED_ERRORS = 1000;
+    static final String DUPLICATE = "A book with this title has already been registered.";
+
+    private final BookBulkRepository repository;
+    private final ApplicationEventPublisher publisher;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int batchSize;
+
+    public BookImportService(BookBulkRepository repository,
+                             ApplicationEventPublisher publisher,
+                             ObjectMapper objectMapper,
+                             Validator validator,
+                             @Value("${library.import.batch-size:1000}") int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("The import batch size must be positive.");
+        }
+        this.repository = repository;
+        this.publisher = publisher;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.batchSize = batchSize;
+    }
+
+    private record Row(long line, Book book) { }
+
+    public BookImportReportDto importBooks(InputStream body, Format format) throws IOException {
+        Report report = new Report();
+        List<Row> batch = new ArrayList<>(batchSize);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        CsvColumns columns = null;
+        long line = 0;
+
+        for (String text = reader.readLine(); text != null; text = reader.readLine()) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            if (format == Format.CSV && columns == null) {
+                columns = CsvColumns.of(text);
+                continue;
+            }
+
+            report.received++;
+            BookCreateDto dto;
+            try {
+                dto = format == Format.NDJSON ? objectMapper.readValue(text, BookCreateDto.class) : columns.parse(text);
+            } catch (JsonProcessingException ex) {
+                report.reject(line, null, "Malformed row: " + ex.getOriginalMessage());
+                continue;
+            } catch (DateTimeException | IllegalArgumentException ex) {
+                report.reject(line, null, "Malformed row: " + ex.getMessage());
+                continue;
+            }
+
+            Set<ConstraintViolation<BookCreateDto>> violations = validator.validate(dto);
+            if (!violations.isEmpty()) {
+                report.reject(line, dto.getTitle(), violations.stream()
+                        .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                        .sorted()
+                        .reduce((first, second) -> first + "; " + second)
+                        .orElseThrow());
+                continue;
+            }
+
+            batch.add(new Row(line, new Book(UUID.randomUUID(), dto.getTitle(), new HashSet<>(), new HashSet<>(),
+                    dto.getPublicationDate(), dto.getStatus(), 0L, null)));
+            if (batch.size() == batchSize) {
+                flush(batch, report);
+            }
+        }
+        flush(batch, report);
+
+        log.info("Imported {} of {} books ({} duplicates, {} rejected).",
+                report.inserted, report.received, report.duplicates, report.rejected);
+        return report.toDto();
+    }
+
+    private void flush(List<Row> batch, Report report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Set<UUID> inserted = repository.insertIgnoringDuplicates(batch.stream().map(Row::book).toList());
+        List<BookChangedEvent> created = new ArrayList<>(inserted.size());
+        for (Row row : batch) {
+            Book book = row.book();
+            if (inserted.contains(book.getId())) {
+                report.inserted++;
+                created.add(new BookChangedEvent(book.getId(), ChangeType.CREATED, null, BookState.of(book)));
+            } else {
+                report.duplicates++;
+                report.error(row.line(), book.getTitle(), DUPLICATE);
+            }
+        }
+        if (!created.isEmpty()) {
+            publisher.publishEvent(new BooksChangedEvent(created));
+        }
+        batch.clear();
+    }
+
+    private static final class Report {
+        private long received;
+        private long inserted;
+        private long duplicates;
+        private long rejected;
+        private boolean truncated;
+        private final List<BookImportReportDto.RowError> errors = new ArrayList<>();
+
+        void reject(long line, String title, String message) {
+            rejected++;
+            error(line, title, message);
+        }
+
+        void error(long line, String title, String message) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new BookImportReportDto.RowError(line, title, message));
+            } else {
+                truncated = true;
+            }
+        }
+
+        BookImportReportDto toDto() {
+            return new BookImportReportDto(received, inserted, duplicates, rejected, List.copyOf(errors), truncated);
+        }
+    }
+
+    /**
+     * Positions of the columns named by a CSV header. Fields may be quoted with double quotes,
+     * doubling the quotes inside them; a field spanning several lines is not supported.
+     */
+    private record CsvColumns(int title, int publicationDate, int status, int count) {
+
+        static CsvColumns of(String header) {
+            List<String> names = split(header).stream()
+                    .map(name -> name == null ? "" : name.trim().toLowerCase(Locale.ROOT))
+                    .toList();
+            int title = names.indexOf("title");
+            int publicationDate = names.indexOf("publicationdate");
+            int status = names.indexOf("status");
+            if (title < 0 || publicationDate < 0 || status < 0) {
+                throw new InvalidRequestException("The CSV header must name the title, publicationDate and status columns.");
+            }
+            return new CsvColumns(title, publicationDate, status, names.size());
+        }
+
+        BookCreateDto parse(String line) {
+            List<String> fields = split(line);
+            if (fields.size() != count) {
+                throw new IllegalArgumentException("expected " + count + " fields but found " + fields.size() + ".");
+            }
+            String date = fields.get(publicationDate);
+            String state = fields.get(status);
+            return new BookCreateDto(
+                    fields.get(title),
+                    date == null ? null : LocalDate.parse(date.trim()),
+                    state == null ? null : Status.valueOf(state.trim().toUpperCase(Locale.ROOT))
+            );
+        }
+
+        /**
+         * Splits a CSV line; empty unquoted fields become {@code null}.
+         */
+        private static List<String> split(String line) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean wasQuoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                    wasQuoted = true;
+                } else if (c == ',') {
+                    fields.add(field.isEmpty() && !wasQuoted ? null : field.toString());
+                    field.setLength(0);
+                    wasQuoted = false;
+                } else {
+                    field.append(c);
+                }
+            }
+            if (quoted) {
+                throw new IllegalArgumentException("unterminated quoted field.");
+            }
+            fields.add(field.isEmpty() && !wasQuoted ? null : field.toString());
+            return fields;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.luis.aguiar.services;
+
+import com.luis.aguiar.dto.BookResponseDto;
+import com.luis.aguiar.enums.Status;
+import com.luis.aguiar.exceptions.EntityNotFoundException;
+import com.luis.aguiar.indexes.CatalogSnapshotStore;
+import com.luis.aguiar.indexes.OffHeapCatalogStore;
+import com.luis.aguiar.mappers.BookMapper;
+import com.luis.aguiar.models.Book;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read path for the public book endpoints, in front of {@link BookService}. When the catalog
+ * snapshot is enabled and loaded, reads are answered from it without touching the database;
+ * when the off-heap catalog is enabled instead, it answers the lookups by id. Otherwise
+ * concurrent identical reads are coalesced; this class is deliberately not transactional, so
+ * waiters never take a connection, only the caller that leads a flight goes through the
+ * transactional service. Every caller gets its own DTOs because controllers add
+ * links to the DTOs they return.
+ */
+@Service
+public class BookLookupService implements MeterBinder {
+
+    private final BookService service;
+    private final CatalogSnapshotStore snapshots;
+    private final OffHeapCatalogStore offHeap;
+    private final SingleFlight<UUID, BookResponseDto> lookups;
+    private final SingleFlight<SearchKey, List<BookResponseDto>> searches;
+
+    public BookLookupService(BookService service,
+                             CatalogSnapshotStore snapshots,
+                             OffHeapCatalogStore offHeap,
+                             @Value("${library.single-flight.lookup-timeout:2s}") Duration lookupTimeout,
+                             @Value("${library.single-flight.search-timeout:5s}") Duration searchTimeout) {
+        this.service = service;
+        this.snapshots = snapshots;
+        this.offHeap = offHeap;
+        this.lookups = new SingleFlight<>("book-lookup", lookupTimeout);
+        this.searches = new SingleFlight<>("book-search", searchTimeout);
+    }
+
+    private enum SearchType { ALL, NAME, AUTHOR, STATUS }
+
+    private record SearchKey(SearchType type, Object criteria, int page, int quantity, Sort sort) { }
+
+    public Long findVersion(UUID uuid) {
+        if (snapshots.isServing()) {
+            return snapshots.current().bookVersion(uuid).orElse(null);
+        }
+        if (offHeap.isServing()) {
+            return offHeap.bookVersion(uuid).orElse(null);
+        }
+        return service.findVersion(uuid);
+    }
+
+    public BookResponseDto findById(UUID uuid) {
+        if (snapshots.isServing() || offHeap.isServing()) {
+            return findById(uuid, BookMapper::toResponseDto);
+        }
+        return BookMapper.copyOf(lookups.load(uuid, () -> service.findById(uuid)));
+    }
+
+    public <T> T findById(UUID uuid, Function<Book, T> mapper) {
+        if (snapshots.isServing()) {
+            return snapshots.current().findBook(uuid)
+                    .map(mapper)
+                    .orElseThrow(() -> new EntityNotFoundException("Book not found."));
+        }
+        if (offHeap.isServing()) {
+            return offHeap.findBook(uuid)
+                    .map(mapper)
+                    .orElseThrow(() -> new EntityNotFoundException("Book not found."));
+        }
+        return service.findById(uuid, mapper);
+    }
+
+    public List<BookResponseDto> getAll(int page, int quantity, Sort sort) {
+        if (snapshots.isServing()) {
+            return getAll(page, quantity, sort, BookMapper::toResponseDto);
+        }
+        return search(new SearchKey(SearchType.ALL, null, page, quantity, sort),
+                () -> service.getAll(page, quantity, sort, BookMapper::toResponseDto));
+    }
+
+    public <T> List<T> getAll(int page, int quantity, Sort sort, Function<Book, T> mapper) {
+        if (snapshots.isServing()) {
+            return map(snapshots.current().books(page, quantity, sort), mapper);
+        }
+        return service.getAll(page, quantity, sort, mapper);
+    }
+
+    public List<BookResponseDto> getAllByName(String name, int page, int quantity, Sort sort) {
+        if (snapshots.isServing()) {
+            return getAllByName(name, page, quantity, sort, BookMapper::toResponseDto);
+        }
+        return search(new SearchKey(SearchType.NAME, name, page, quantity, sort),
+                () -> service.getAllByName(name, page, quantity, sort, BookMapper::toResponseDto));
+    }
+
+    public <T> List<T> getAllByName(String name, int page, int quantity, Sort sort, Function<Book, T> mapper) {
+        if (snapshots.isServing()) {
+            return map(snapshots.current().booksByTitle(name, page, quantity, sort), mapper);
+        }
+        return service.getAllByName(name, page, quantity, sort, mapper);
+    }
+
+    public List<BookResponseDto> getAllByAuthor(String lastName, int page, int quantity, Sort sort) {
+        if (snapshots.isServing()) {
+            return getAllByAuthor(lastName, page, quantity, sort, BookMapper::toResponseDto);
+        }
+        return search(new SearchKey(SearchType.AUTHOR, lastName, page, quantity, sort),
+                () -> service.getAllByAuthor(lastName, page, quantity, sort, BookMapper::toResponseDto));
+    }
+
+    public <T> List<T> getAllByAuthor(String lastName, int page, int quantity, Sort sort, Function<Book, T> mapper) {
+        if (snapshots.isServing()) {
+            return map(snapshots.current().booksByAuthor(lastName, page, quantity, sort), mapper);
+        }
+        return service.getAllByAuthor(lastName, page, quantity, sort, mapper);
+    }
+
+    public List<BookResponseDto> getAllByStatus(Status status, int page, int quantity, Sort sort) {
+        if (snapshots.isServing()) {
+            return getAllByStatus(status, page, quantity, sort, BookMapper::toResponseDto);
+        }
+        return search(new SearchKey(SearchType.STATUS, status, page, quantity, sort),
+                () -> service.getAllByStatus(status, page, quantity, sort, BookMapper::toResponseDto));
+    }
+
+    public <T> List<T> getAllByStatus(Status status, int page, int quantity, Sort sort, Function<Book, T> mapper) {
+        if (snapshots.isServing()) {
+            return map(snapshots.current().booksByStatus(status, page, quantity, sort), mapper);
+        }
+        return service.getAllByStatus(status, page, quantity, sort, mapper);
+    }
+
+    private List<BookResponseDto> search(SearchKey key, Supplier<List<BookResponseDto>> loader) {
+        return searches.load(key, loader).stream()
+                .map(BookMapper::copyOf)
+                .toList();
+    }
+
+    private static <T> List<T> map(List<Book> books, Function<Book, T> mapper) {
+        return books.stream().map(mapper).toList();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        lookups.bindTo(registry);
+        searches.bindTo(registry);
+    }
+}
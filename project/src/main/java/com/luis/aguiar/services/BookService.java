@@ -1,26 +1,59 @@
 package com.luis.aguiar.services;
 
-import com.luis.aguiar.dto.BookResponseDto;
+import com.luis.aguiar.dto.*;
+import com.luis.aguiar.enums.ChangeType;
 import com.luis.aguiar.enums.Status;
+import com.luis.aguiar.events.BookChangedEvent;
+import com.luis.aguiar.events.BookState;
 import com.luis.aguiar.exceptions.*;
+import com.luis.aguiar.indexes.BookFacetIndex;
+import com.luis.aguiar.indexes.BookStatusIndex;
+import com.luis.aguiar.indexes.PublicationYearHistogram;
 import com.luis.aguiar.mappers.BookMapper;
 import com.luis.aguiar.models.Book;
+import com.luis.aguiar.repositories.AuthorRepository;
 import com.luis.aguiar.repositories.BookRepository;
+import com.luis.aguiar.repositories.SparseFieldRepository;
+import com.luis.aguiar.web.CatalogLinks;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.hateoas.Link;
 import org.springframework.stereotype.Service;
+import java.time.LocalDate;
 import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 @Service
 public class BookService {
 
+    public static final int MAX_LOOKUP_IDS = 500;
+
     @Autowired
     private BookRepository repository;
+    @Autowired
+    private AuthorRepository authorRepository;
+    @Autowired
+    private ApplicationEventPublisher publisher;
+    @Autowired
+    private BookStatusIndex statusIndex;
+    @Autowired
+    private BookFacetIndex facetIndex;
+    @Autowired
+    private PublicationYearHistogram publicationHistogram;
+    @Autowired
+    private SparseFieldRepository sparseRepository;
 
     public Book save(Book book) {
         try {
-            return repository.save(book);
+            Book savedBook = repository.save(book);
+            publisher.publishEvent(new BookChangedEvent(savedBook.getId(), ChangeType.CREATED, null, BookState.of(savedBook)));
+            return savedBook;
         }
         catch (org.springframework.dao.DataIntegrityViolationException ex) {
             throw new UniqueDataViolationException("A book with this title has already been registered.");
@@ -29,59 +62,224 @@ public class BookService {
 
     @Transactional
     public BookResponseDto findById(UUID uuid) {
+        return findById(uuid, BookMapper::toResponseDto);
+    }
+
+    @Transactional
+    public <T> T findById(UUID uuid, Function<Book, T> mapper) {
         Book book = repository.findById(uuid)
                 .orElseThrow(() -> new EntityNotFoundException("Book not found."));
-        return BookMapper.toResponseDto(book);
+        return mapper.apply(book);
+    }
+
+    public Long findVersion(UUID uuid) {
+        return repository.findVersionById(uuid).orElse(null);
     }
 
     @Transactional
     public List<BookResponseDto> getAll(int page, int quantity) {
-        List<Book> books = repository.findAll(PageRequest.of(page, quantity)).getContent();
+        return getAll(page, quantity, Sort.unsorted(), BookMapper::toResponseDto);
+    }
+
+    @Transactional
+    public <T> List<T> getAll(int page, int quantity, Sort sort, Function<Book, T> mapper) {
+        List<Book> books = repository.findAll(PageRequest.of(page, quantity, sort)).getContent();
         return books.stream()
-                .map(BookMapper::toResponseDto)
+                .map(mapper)
                 .toList();
     }
 
+    @Transactional
+    public List<Map<String, Object>> getAll(int page, int quantity, Sort sort, List<String> fields) {
+        return sparseBooks(fields, null, PageRequest.of(page, quantity, sort));
+    }
+
     @Transactional
     public List<BookResponseDto> getAllByName(String name, int page, int quantity) {
-        List<Book> books = repository.findByTitleContainingIgnoreCase(name, PageRequest.of(page, quantity));
+        return getAllByName(name, page, quantity, Sort.unsorted(), BookMapper::toResponseDto);
+    }
+
+    @Transactional
+    public <T> List<T> getAllByName(String name, int page, int quantity, Sort sort, Function<Book, T> mapper) {
+        List<Book> books = repository.findByTitleContainingIgnoreCase(name, PageRequest.of(page, quantity, sort));
         return books.stream()
-                .map(BookMapper::toResponseDto)
+                .map(mapper)
                 .toList();
     }
 
+    @Transactional
+    public List<Map<String, Object>> getAllByName(String name, int page, int quantity, Sort sort, List<String> fields) {
+        Specification<Book> titleContains = (root, query, builder) ->
+                builder.like(builder.lower(root.get("title")), "%" + name.toLowerCase() + "%");
+        return sparseBooks(fields, titleContains, PageRequest.of(page, quantity, sort));
+    }
+
     @Transactional
     public List<BookResponseDto> getAllByAuthor(String lastName, int page, int quantity) {
-        List<Book> books = repository.findByAuthorsLastNameContainingIgnoreCase(lastName, PageRequest.of(page, quantity));
+        return getAllByAuthor(lastName, page, quantity, Sort.unsorted(), BookMapper::toResponseDto);
+    }
+
+    @Transactional
+    public <T> List<T> getAllByAuthor(String lastName, int page, int quantity, Sort sort, Function<Book, T> mapper) {
+        List<Book> books = repository.findByAuthorsLastNameContainingIgnoreCase(lastName, PageRequest.of(page, quantity, sort));
         return books.stream()
-                .map(BookMapper::toResponseDto)
+                .map(mapper)
                 .toList();
     }
 
+    @Transactional
+    public List<Map<String, Object>> getAllByAuthor(String lastName, int page, int quantity, Sort sort, List<String> fields) {
+        Specification<Book> authorLastNameContains = (root, query, builder) ->
+                builder.like(builder.lower(root.join("authors").get("lastName")), "%" + lastName.toLowerCase() + "%");
+        return sparseBooks(fields, authorLastNameContains, PageRequest.of(page, quantity, sort));
+    }
+
     @Transactional
     public List<BookResponseDto> getAllByStatus(Status status, int page, int quantity) {
-        List<Book> books = repository.findByStatus(status, PageRequest.of(page, quantity));
+        return getAllByStatus(status, page, quantity, Sort.unsorted(), BookMapper::toResponseDto);
+    }
+
+    @Transactional
+    public <T> List<T> getAllByStatus(Status status, int page, int quantity, Sort sort, Function<Book, T> mapper) {
+        if (statusIndex.isReady() && sort.isUnsorted()) {
+            return hydrate(statusIndex.page(status, page, quantity), book -> book.getStatus() == status, mapper);
+        }
+        List<Book> books = repository.findByStatus(status, PageRequest.of(page, quantity, sort));
         return books.stream()
+                .map(mapper)
+                .toList();
+    }
+
+    @Transactional
+    public List<Map<String, Object>> getAllByStatus(Status status, int page, int quantity, Sort sort, List<String> fields) {
+        Specification<Book> hasStatus = (root, query, builder) -> builder.equal(root.get("status"), status);
+        return sparseBooks(fields, hasStatus, PageRequest.of(page, quantity, sort));
+    }
+
+    public Map<Status, Long> countByStatus() {
+        Map<Status, Long> counts = new EnumMap<>(Status.class);
+        for (Status status : Status.values()) {
+            counts.put(status, statusIndex.isReady() ? statusIndex.count(status) : repository.countByStatus(status));
+        }
+        return counts;
+    }
+
+    @Transactional
+    public List<BookResponseDto> getAllPublishedBetween(LocalDate from, LocalDate to, int page, int quantity) {
+        if (from.isAfter(to)) {
+            throw new InvalidRequestException("The start date can't be after the end date.");
+        }
+        PageRequest pageRequest = PageRequest.of(page, quantity, Sort.by("publicationDate", "id"));
+        return repository.findByPublicationDateBetween(from, to, pageRequest).stream()
                 .map(BookMapper::toResponseDto)
                 .toList();
     }
 
+    public Map<Integer, Long> getPublicationHistogram(Integer fromYear, Integer toYear) {
+        if (publicationHistogram.isReady()) {
+            return publicationHistogram.histogram(fromYear, toYear);
+        }
+        Map<Integer, Long> histogram = new TreeMap<>();
+        repository.countByPublicationYear().stream()
+                .filter(year -> fromYear == null || year.getYear() >= fromYear)
+                .filter(year -> toYear == null || year.getYear() <= toYear)
+                .forEach(year -> histogram.put(year.getYear(), year.getCount()));
+        return histogram;
+    }
+
+    @Transactional
+    public BookSearchResultDto search(Status status, String nationality, Integer decade, int page, int quantity) {
+        if (decade != null && decade % 10 != 0) {
+            throw new InvalidRequestException("The decade must be given by its first year, such as 1990.");
+        }
+        String nationalityFilter = nationality == null || nationality.isBlank() ? null : nationality;
+        LocalDate from = decade == null ? null : LocalDate.of(decade, 1, 1);
+        LocalDate to = decade == null ? null : LocalDate.of(decade + 10, 1, 1);
+
+        List<BookResponseDto> books = repository.search(status, nationalityFilter, from, to, PageRequest.of(page, quantity))
+                .stream()
+                .map(BookMapper::toResponseDto)
+                .toList();
+        BookFacetsDto facets = facetIndex.isReady() ? facetIndex.facets(status, nationalityFilter, decade) : null;
+        return new BookSearchResultDto(books, facets);
+    }
+
+    @Transactional
+    public List<BookLookupResultDto> findAllByIds(List<UUID> ids) {
+        Set<UUID> distinctIds = new LinkedHashSet<>(ids);
+        if (distinctIds.size() > MAX_LOOKUP_IDS) {
+            throw new InvalidRequestException("At most " + MAX_LOOKUP_IDS + " book ids can be looked up at once.");
+        }
+
+        Map<UUID, Book> books = new HashMap<>();
+        repository.findAllWithAuthorsByIdIn(distinctIds)
+                .forEach(book -> books.put(book.getId(), book));
+
+        return distinctIds.stream()
+                .map(id -> books.containsKey(id)
+                        ? new BookLookupResultDto(id, true, BookMapper.toResponseDto(books.get(id)))
+                        : new BookLookupResultDto(id, false, null))
+                .toList();
+    }
+
     @Transactional
     public BookResponseDto update(UUID uuid, Book bookNewData) {
         Book book = repository.findById(uuid)
                 .orElseThrow(() -> new EntityNotFoundException("Book not found."));
+        BookState previous = BookState.of(book);
 
         book.setTitle(bookNewData.getTitle());
         book.setPublicationDate(bookNewData.getPublicationDate());
         book.setStatus(bookNewData.getStatus());
 
-        return BookMapper.toResponseDto(repository.save(book));
+        Book savedBook = repository.save(book);
+        publisher.publishEvent(new BookChangedEvent(savedBook.getId(), ChangeType.UPDATED, previous, BookState.of(savedBook)));
+        return BookMapper.toResponseDto(savedBook);
+    }
+
+    private List<Map<String, Object>> sparseBooks(List<String> fields, Specification<Book> where, Pageable pageable) {
+        List<String> columns = fields.stream()
+                .filter(field -> !field.equals("authors"))
+                .toList();
+        List<Map<String, Object>> rows = sparseRepository.findAll(Book.class, columns, where, pageable);
+        if (!fields.contains("authors") || rows.isEmpty()) {
+            return rows;
+        }
+
+        CatalogLinks links = CatalogLinks.current();
+        Map<Object, List<Link>> authors = new HashMap<>();
+        repository.findAuthorshipsByBookIdIn(rows.stream().map(row -> (UUID) row.get("id")).toList())
+                .forEach(authorship -> authors.computeIfAbsent(authorship.getBookId(), id -> new ArrayList<>())
+                        .add(links.author(authorship.getAuthorId())));
+
+        return rows.stream()
+                .map(row -> {
+                    Map<String, Object> book = new LinkedHashMap<>();
+                    for (String field : fields) {
+                        book.put(field, field.equals("authors") ? authors.getOrDefault(row.get("id"), List.of()) : row.get(field));
+                    }
+                    return book;
+                })
+                .toList();
+    }
+
+    private <T> List<T> hydrate(List<UUID> ids, Predicate<Book> filter, Function<Book, T> mapper) {
+        Map<UUID, Book> books = new HashMap<>();
+        repository.findAllById(ids).forEach(book -> books.put(book.getId(), book));
+        return ids.stream()
+                .map(books::get)
+                .filter(Objects::nonNull)
+                .filter(filter)
+                .map(mapper)
+                .toList();
     }
 
     @Transactional
     public void delete(UUID uuid) {
         Book book = repository.findById(uuid)
                 .orElseThrow(() -> new EntityNotFoundException("Book not found."));
+        authorRepository.decrementBookCountsOfBook(book.getId());
         repository.delete(book);
+        publisher.publishEvent(new BookChangedEvent(book.getId(), ChangeType.DELETED, BookState.of(book), null));
     }
 }
\ No newline at end of file
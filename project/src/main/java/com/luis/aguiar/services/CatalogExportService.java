@@ -0,0 +1,81 @@
+package com.luis.aguiar.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.luis.aguiar.dto.AuthorSummaryDto;
+import com.luis.aguiar.dto.BookExportDto;
+import com.luis.aguiar.repositories.BookExportView;
+import com.luis.aguiar.repositories.BookRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Writes the whole catalog as newline-delimited JSON, one book with its authors per line. Rows
+ * come from a forward-only cursor as flat projections, so no entity ever enters the persistence
+ * context and memory stays flat whatever the catalog size: only the book being written is held.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CatalogExportService {
+
+    private final BookRepository repository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Streams every book to {@code out} and returns how many were written. The stream is flushed
+     * but not closed.
+     */
+    @Transactional
+    public long exportBooks(OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        ObjectWriter writer = objectMapper.writerFor(BookExportDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long exported = 0;
+
+        try (Stream<BookExportView> rows = repository.streamExport();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            BookExportView book = null;
+            List<AuthorSummaryDto> authors = new ArrayList<>();
+            for (BookExportView row : (Iterable<BookExportView>) rows::iterator) {
+                if (book != null && !book.getId().equals(row.getId())) {
+                    write(writer, generator, book, authors);
+                    exported++;
+                    authors = new ArrayList<>();
+                }
+                book = row;
+                if (row.getAuthorId() != null) {
+                    authors.add(new AuthorSummaryDto(row.getAuthorId(), row.getAuthorFirstName(), row.getAuthorLastName(),
+                            null));
+                }
+            }
+            if (book != null) {
+                write(writer, generator, book, authors);
+                exported++;
+            }
+            generator.flush();
+        }
+
+        log.info("Exported {} books in {} ms.", exported, (System.nanoTime() - start) / 1_000_000);
+        return exported;
+    }
+
+    private static void write(ObjectWriter writer, JsonGenerator generator,
+                              BookExportView book, List<AuthorSummaryDto> authors) throws IOException {
+        writer.writeValue(generator, new BookExportDto(book.getId(), book.getTitle(), book.getPublicationDate(),
+                book.getStatus(), book.getVersion(), book.getLastModified(), authors));
+        generator.writeRaw('\n');
+    }
+}
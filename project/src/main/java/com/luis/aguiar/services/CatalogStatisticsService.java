@@ -0,0 +1,254 @@
+package com.luis.aguiar.services;
+
+import com.luis.aguiar.dto.CatalogStatisticsDto;
+import com.luis.aguiar.enums.ChangeType;
+import com.luis.aguiar.enums.Status;
+import com.luis.aguiar.events.*;
+import com.luis.aguiar.repositories.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Catalog statistics for the dashboard: authors per nationality, books per status and books per
+ * author nationality. Each aggregate is read with one {@code GROUP BY} query and cached. Changes
+ * whose event carries every fact needed (a book's status, a new author's nationality) are applied
+ * to the cached counters; the others only mark the aggregates they affect as stale, and those are
+ * queried again on the next read. Changes are applied after the writing transaction commits, so a
+ * query running between a commit and its event already counts the change the event then adds
+ * again; the counters kept by events are therefore queried again in the background and replaced.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CatalogStatisticsService {
+
+    private final AuthorRepository authorRepository;
+    private final BookRepository bookRepository;
+
+    private final Aggregate<String> authorsByNationality = new Aggregate<>(TreeMap::new);
+    private final Aggregate<Status> booksByStatus = new Aggregate<>(() -> new EnumMap<>(Status.class));
+    private final Aggregate<String> booksByAuthorNationality = new Aggregate<>(TreeMap::new);
+    private Instant refreshedAt;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        statistics();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onBooksChanged(BooksChangedEvent event) {
+        event.books().forEach(this::onBookChanged);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onBookChanged(BookChangedEvent event) {
+        if (event.previous() != null) {
+            booksByStatus.add(event.previous().status(), -1);
+        }
+        if (event.current() != null) {
+            booksByStatus.add(event.current().status(), 1);
+        }
+        if (event.change() == ChangeType.DELETED) {
+            booksByAuthorNationality.invalidate();
+        }
+        refreshedAt = Instant.now();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onAuthorChanged(AuthorChangedEvent event) {
+        if (event.change() == ChangeType.CREATED) {
+            authorsByNationality.add(event.nationality(), 1);
+        } else {
+            authorsByNationality.invalidate();
+            booksByAuthorNationality.invalidate();
+        }
+        refreshedAt = Instant.now();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onAuthorshipChanged(AuthorshipChangedEvent event) {
+        booksByAuthorNationality.invalidate();
+        refreshedAt = Instant.now();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onAuthorshipsChanged(AuthorshipsChangedEvent event) {
+        booksByAuthorNationality.invalidate();
+        refreshedAt = Instant.now();
+    }
+
+    /**
+     * Replaces the counters kept by events with a fresh count, unless a change reached them while
+     * they were being counted; the next run picks those up.
+     */
+    @Scheduled(fixedDelayString = "${library.statistics.reconcile-interval:PT10M}",
+            initialDelayString = "${library.statistics.reconcile-interval:PT10M}")
+    public void reconcile() {
+        long authorsGeneration;
+        long statusGeneration;
+        synchronized (this) {
+            authorsGeneration = authorsByNationality.generation;
+            statusGeneration = booksByStatus.generation;
+        }
+
+        Map<String, Long> authors = countAuthorsByNationality();
+        Map<Status, Long> status = countBooksByStatus();
+
+        synchronized (this) {
+            boolean drifted = authorsByNationality.replace(authors, authorsGeneration)
+                    | booksByStatus.replace(status, statusGeneration);
+            if (drifted) {
+                refreshedAt = Instant.now();
+                log.warn("Fixed catalog statistics that drifted from the database.");
+            }
+        }
+    }
+
+    /**
+     * Returns the statistics, querying again only the aggregates made stale since the last read.
+     * The queries run outside the lock; a result is cached only if no change reached its aggregate
+     * while it was being read, otherwise it is returned but queried again on the next read.
+     */
+    public CatalogStatisticsDto statistics() {
+        long authorsGeneration;
+        long statusGeneration;
+        long nationalityGeneration;
+        Map<String, Long> authors;
+        Map<Status, Long> status;
+        Map<String, Long> books;
+        synchronized (this) {
+            authorsGeneration = authorsByNationality.generation;
+            statusGeneration = booksByStatus.generation;
+            nationalityGeneration = booksByAuthorNationality.generation;
+            authors = authorsByNationality.copy();
+            status = booksByStatus.copy();
+            books = booksByAuthorNationality.copy();
+        }
+
+        if (authors == null) {
+            authors = countAuthorsByNationality();
+        }
+        if (status == null) {
+            status = countBooksByStatus();
+        }
+        if (books == null) {
+            books = booksByAuthorNationality.empty();
+            for (NationalityCountView row : bookRepository.countByAuthorNationality()) {
+                books.put(row.getNationality(), row.getCount());
+            }
+        }
+
+        Instant asOf;
+        synchronized (this) {
+            boolean refreshed = authorsByNationality.install(authors, authorsGeneration)
+                    | booksByStatus.install(status, statusGeneration)
+                    | booksByAuthorNationality.install(books, nationalityGeneration);
+            if (refreshed || refreshedAt == null) {
+                refreshedAt = Instant.now();
+            }
+            asOf = refreshedAt;
+        }
+
+        Map<Status, Long> allStatus = new EnumMap<>(Status.class);
+        for (Status value : Status.values()) {
+            allStatus.put(value, status.getOrDefault(value, 0L));
+        }
+        return new CatalogStatisticsDto(authors, allStatus, books, asOf);
+    }
+
+    private Map<String, Long> countAuthorsByNationality() {
+        Map<String, Long> authors = authorsByNationality.empty();
+        for (NationalityCountView row : authorRepository.countByNationality()) {
+            authors.put(row.getNationality(), row.getCount());
+        }
+        return authors;
+    }
+
+    private Map<Status, Long> countBooksByStatus() {
+        Map<Status, Long> status = booksByStatus.empty();
+        for (StatusCountView row : bookRepository.countGroupedByStatus()) {
+            status.put(row.getStatus(), row.getCount());
+        }
+        return status;
+    }
+
+    /**
+     * Cached counters of one aggregate, {@code null} while stale. The generation is increased by
+     * every change, so a query started before a change can't overwrite it.
+     */
+    private static final class Aggregate<K> {
+        private final Supplier<Map<K, Long>> factory;
+        private Map<K, Long> counts;
+        private long generation;
+
+        Aggregate(Supplier<Map<K, Long>> factory) {
+            this.factory = factory;
+        }
+
+        void add(K key, long delta) {
+            generation++;
+            if (counts != null) {
+                counts.compute(key, (ignored, count) -> {
+                    long total = (count == null ? 0 : count) + delta;
+                    return total > 0 ? total : null;
+                });
+            }
+        }
+
+        void invalidate() {
+            generation++;
+            counts = null;
+        }
+
+        Map<K, Long> copy() {
+            if (counts == null) {
+                return null;
+            }
+            Map<K, Long> copy = factory.get();
+            copy.putAll(counts);
+            return copy;
+        }
+
+        Map<K, Long> empty() {
+            return factory.get();
+        }
+
+        boolean install(Map<K, Long> result, long startedAt) {
+            if (counts != null || generation != startedAt) {
+                return false;
+            }
+            counts = factory.get();
+            counts.putAll(result);
+            return true;
+        }
+
+        /**
+         * Swaps cached counters for {@code result} when no change came since {@code startedAt},
+         * returning whether they differed.
+         */
+        boolean replace(Map<K, Long> result, long startedAt) {
+            if (counts == null || generation != startedAt) {
+                return false;
+            }
+            Map<K, Long> fresh = factory.get();
+            result.forEach((key, count) -> {
+                if (count > 0) {
+                    fresh.put(key, count);
+                }
+            });
+            if (fresh.equals(counts)) {
+                return false;
+            }
+            counts = fresh;
+            return true;
+        }
+    }
+}
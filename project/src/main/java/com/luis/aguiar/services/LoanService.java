@@ -1,7 +1,10 @@
 package com.luis.aguiar.services;
 
 import com.luis.aguiar.dto.*;
+import com.luis.aguiar.enums.ChangeType;
 import com.luis.aguiar.enums.Status;
+import com.luis.aguiar.events.BookChangedEvent;
+import com.luis.aguiar.events.BookState;
 import com.luis.aguiar.exceptions.*;
 import com.luis.aguiar.mappers.LoanMapper;
 import com.luis.aguiar.models.*;
@@ -9,7 +12,9 @@ import com.luis.aguiar.repositories.*;
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import java.time.LocalDate;
 import java.util.*;
@@ -22,6 +27,10 @@ public class LoanService {
     private BookRepository bookRepository;
     @Autowired
     private UserRepository userRepository;
+    @Autowired
+    private ApplicationEventPublisher publisher;
+    @Autowired
+    private SparseFieldRepository sparseRepository;
 
     @Transactional
     public LoanResponseDto saveLoan(@Valid LoanRequestDto loanRequest) {
@@ -51,8 +60,10 @@ public class LoanService {
                 .build();
         Loan savedLoan = loanRepository.save(loan);
 
+        BookState previous = BookState.of(book);
         book.setStatus(Status.UNAVAILABLE);
         user.setHasBookOnLoan(true);
+        publisher.publishEvent(new BookChangedEvent(book.getId(), ChangeType.UPDATED, previous, BookState.of(book)));
 
         return LoanMapper.toResponseDto(savedLoan);
     }
@@ -72,6 +83,12 @@ public class LoanService {
                 .toList();
     }
 
+    @Transactional
+    public List<Map<String, Object>> findByStatus(boolean status, int page, int quantity, List<String> fields) {
+        Specification<Loan> isActive = (root, query, builder) -> builder.equal(root.get("active"), status);
+        return sparseLoans(fields, isActive, page, quantity);
+    }
+
     @Transactional
     public List<LoanResponseDto> findByUserEmail(String email, int page, int quantity) {
         List<Loan> loans = loanRepository.findByUserEmail(email, PageRequest.of(page, quantity));
@@ -80,6 +97,11 @@ public class LoanService {
                 .toList();
     }
 
+    @Transactional
+    public List<Map<String, Object>> findByUserEmail(String email, int page, int quantity, List<String> fields) {
+        return sparseLoans(fields, userEmailIs(email), page, quantity);
+    }
+
     @Transactional
     public List<LoanResponseDto> findByUserAndActive(String email, boolean status, int page, int quantity) {
         List<Loan> loans = loanRepository.findByUserEmailAndActive(email, status, PageRequest.of(page, quantity));
@@ -88,6 +110,13 @@ public class LoanService {
                 .toList();
     }
 
+    @Transactional
+    public List<Map<String, Object>> findByUserAndActive(String email, boolean status, int page, int quantity,
+                                                         List<String> fields) {
+        Specification<Loan> isActive = (root, query, builder) -> builder.equal(root.get("active"), status);
+        return sparseLoans(fields, userEmailIs(email).and(isActive), page, quantity);
+    }
+
     @Transactional
     public void returnLoan(UUID id, String email) {
         Loan loan = loanRepository.findByIdAndUserEmail(id, email)
@@ -103,11 +132,46 @@ public class LoanService {
         loan.setActive(false);
 
         Book book = loan.getBook();
+        BookState previous = BookState.of(book);
         book.setStatus(Status.AVAILABLE);
         bookRepository.save(book);
+        publisher.publishEvent(new BookChangedEvent(book.getId(), ChangeType.UPDATED, previous, BookState.of(book)));
 
         User user = loan.getUser();
         user.setHasBookOnLoan(true);
         userRepository.save(user);
     }
-}
\ No newline at end of file
+
+    private List<Map<String, Object>> sparseLoans(List<String> fields, Specification<Loan> where, int page, int quantity) {
+        List<String> columns = new ArrayList<>();
+        for (String field : fields) {
+            if (field.equals("book")) {
+                columns.add("book.id");
+                columns.add("book.title");
+            } else {
+                columns.add(field);
+            }
+        }
+
+        return sparseRepository.findAll(Loan.class, columns, where, PageRequest.of(page, quantity)).stream()
+                .map(row -> {
+                    Map<String, Object> loan = new LinkedHashMap<>();
+                    for (String field : fields) {
+                        if (field.equals("book")) {
+                            Map<String, Object> book = new LinkedHashMap<>();
+                            book.put("id", row.get("book.id"));
+                            book.put("title", row.get("book.title"));
+                            loan.put(field, book);
+                        } else {
+                            loan.put(field, row.get(field));
+                        }
+                    }
+                    return loan;
+                })
+                .toList();
+    }
+
+    private static Specification<Loan> userEmailIs(String email) {
+        return (root, query, builder) -> builder.equal(root.get("user").get("email"), email);
+    }
+}
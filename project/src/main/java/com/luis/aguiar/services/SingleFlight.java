@@ -0,0 +1,123 @@
+package com.luis.aguiar.services;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Merges concurrent loads of the same key into a single in-flight call.
+ * The first caller runs the loader, later callers wait for its result for at
+ * most {@code timeout} and then give up and load on their own. Nothing is
+ * cached: the key is released as soon as the load finishes.
+ */
+public final class SingleFlight<K, V> implements MeterBinder {
+
+    private final String name;
+    private final Duration timeout;
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    public SingleFlight(String name, Duration timeout) {
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("The single flight timeout must be positive.");
+        }
+        this.name = name;
+        this.timeout = timeout;
+    }
+
+    public V load(K key, Supplier<V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> leader = inFlight.putIfAbsent(key, flight);
+        if (leader == null) {
+            return lead(key, flight, loader);
+        }
+
+        try {
+            V value = leader.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            coalesced.increment();
+            return value;
+        } catch (TimeoutException ex) {
+            timeouts.increment();
+            loads.increment();
+            return loader.get();
+        } catch (ExecutionException ex) {
+            coalesced.increment();
+            throw propagate(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the " + name + " load.", ex);
+        }
+    }
+
+    /**
+     * The key is released before the flight completes, so a waiter never sees the result while
+     * the load still counts as in flight.
+     */
+    private V lead(K key, CompletableFuture<V> flight, Supplier<V> loader) {
+        loads.increment();
+        V value;
+        try {
+            value = loader.get();
+        } catch (RuntimeException | Error ex) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(ex);
+            throw ex;
+        }
+        inFlight.remove(key, flight);
+        flight.complete(value);
+        return value;
+    }
+
+    private static RuntimeException propagate(Throwable cause) {
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    public long loads() {
+        return loads.sum();
+    }
+
+    public long coalesced() {
+        return coalesced.sum();
+    }
+
+    public long timeouts() {
+        return timeouts.sum();
+    }
+
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("library.single.flight.loads", this, SingleFlight::loads)
+                .tag("flight", name)
+                .description("Loads that actually reached the data source.")
+                .register(registry);
+        FunctionCounter.builder("library.single.flight.coalesced", this, SingleFlight::coalesced)
+                .tag("flight", name)
+                .description("Loads saved by sharing an in-flight result.")
+                .register(registry);
+        FunctionCounter.builder("library.single.flight.timeouts", this, SingleFlight::timeouts)
+                .tag("flight", name)
+                .description("Waiters that gave up on the in-flight load and loaded on their own.")
+                .register(registry);
+        Gauge.builder("library.single.flight.in.flight", this, SingleFlight::inFlight)
+                .tag("flight", name)
+                .register(registry);
+    }
+}
@@ -0,0 +1,254 @@
+package com.luis.aguiar.web;
+
+import com.luis.aguiar.dto.BookAvailabilityDto;
+import com.luis.aguiar.enums.Status;
+import com.luis.aguiar.events.BookChangedEvent;
+import com.luis.aguiar.events.BookState;
+import com.luis.aguiar.events.BooksChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes book status changes to Server-Sent Events subscribers. The last
+ * {@code buffer-size} changes are kept in a ring so a client reconnecting with
+ * {@code Last-Event-ID} receives what it missed. When the requested id has
+ * already been overwritten, the client gets a {@value #RESET_EVENT} event and
+ * should reload the catalog before following the stream again.
+ * Event ids are {@code <epoch>-<sequence>}, where the epoch is the start time of
+ * this instance, so an id issued before a restart always leads to a reset instead
+ * of being mistaken for a sequence number of the new instance.
+ * All writes to the emitters happen on a single dispatcher thread, in event order.
+ */
+@Component
+public class BookAvailabilityStream {
+
+    public static final String CHANGE_EVENT = "availability";
+    public static final String RESET_EVENT = "reset";
+
+    private final Entry[] ring;
+    private final long timeoutMillis;
+    private final List<Subscription> subscriptions = new ArrayList<>();
+    private final ScheduledExecutorService dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "book-availability-stream");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final long epoch = System.currentTimeMillis();
+    private long nextId = 1;
+
+    public BookAvailabilityStream(@Value("${library.stream.availability.buffer-size:1024}") int bufferSize,
+                                  @Value("${library.stream.availability.timeout:30m}") Duration timeout,
+                                  @Value("${library.stream.availability.heartbeat:15s}") Duration heartbeat) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("The availability buffer size must be positive.");
+        }
+        this.ring = new Entry[bufferSize];
+        this.timeoutMillis = timeout.toMillis();
+        long heartbeatMillis = heartbeat.toMillis();
+        dispatcher.scheduleWithFixedDelay(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public record Entry(long id, BookAvailabilityDto change) { }
+
+    public record EventId(long epoch, long sequence) {
+
+        /**
+         * Parses a {@code Last-Event-ID}. A bare number, as issued before ids carried an
+         * epoch, is read with epoch zero so the client gets a reset.
+         */
+        public static EventId parse(String value) {
+            String trimmed = value.trim();
+            int separator = trimmed.indexOf('-');
+            try {
+                if (separator < 0) {
+                    return new EventId(0, Long.parseLong(trimmed));
+                }
+                return new EventId(
+                        Long.parseLong(trimmed.substring(0, separator)),
+                        Long.parseLong(trimmed.substring(separator + 1))
+                );
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("Invalid event id: " + value + ".", ex);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return epoch + "-" + sequence;
+        }
+    }
+
+    public record Filter(Set<Status> statuses, Set<UUID> bookIds) {
+
+        public static Filter of(Collection<Status> statuses, Collection<UUID> bookIds) {
+            return new Filter(
+                    statuses == null ? Set.of() : Set.copyOf(statuses),
+                    bookIds == null ? Set.of() : Set.copyOf(bookIds)
+            );
+        }
+
+        public boolean matches(BookAvailabilityDto change) {
+            boolean book = bookIds.isEmpty() || bookIds.contains(change.bookId());
+            boolean status = statuses.isEmpty()
+                    || change.status() != null && statuses.contains(change.status())
+                    || change.previousStatus() != null && statuses.contains(change.previousStatus());
+            return book && status;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBooksChanged(BooksChangedEvent event) {
+        event.books().forEach(this::onBookChanged);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        Status previous = statusOf(event.previous());
+        Status current = statusOf(event.current());
+        if (previous == current) {
+            return;
+        }
+
+        BookAvailabilityDto change = new BookAvailabilityDto(event.bookId(), previous, current, Instant.now());
+        synchronized (this) {
+            Entry entry = new Entry(nextId++, change);
+            ring[(int) (entry.id() % ring.length)] = entry;
+            List<Subscription> targets = List.copyOf(subscriptions);
+            dispatcher.execute(() -> targets.forEach(subscription -> subscription.deliver(entry)));
+        }
+    }
+
+    public SseEmitter subscribe(Filter filter, EventId lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscription subscription = new Subscription(emitter, filter);
+        emitter.onCompletion(() -> remove(subscription));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(ex -> remove(subscription));
+
+        synchronized (this) {
+            List<Entry> missed = lastEventId == null ? List.of() : since(lastEventId);
+            long lastId = nextId - 1;
+            subscriptions.add(subscription);
+            dispatcher.execute(() -> {
+                if (missed == null) {
+                    subscription.reset(lastId);
+                } else {
+                    subscription.open();
+                    missed.forEach(subscription::deliver);
+                }
+            });
+        }
+        return emitter;
+    }
+
+    /**
+     * Returns the buffered changes after {@code lastEventId}, or {@code null} when they
+     * are no longer all in the ring or the id was never issued by this instance.
+     */
+    public synchronized List<Entry> since(EventId lastEventId) {
+        if (lastEventId.epoch() != epoch) {
+            return null;
+        }
+        return since(lastEventId.sequence());
+    }
+
+    public long epoch() {
+        return epoch;
+    }
+
+    private List<Entry> since(long lastEventId) {
+        long lastId = nextId - 1;
+        long oldestId = Math.max(1, nextId - ring.length);
+        if (lastEventId > lastId || lastEventId < oldestId - 1) {
+            return null;
+        }
+
+        List<Entry> missed = new ArrayList<>((int) (lastId - lastEventId));
+        for (long id = lastEventId + 1; id <= lastId; id++) {
+            missed.add(ring[(int) (id % ring.length)]);
+        }
+        return missed;
+    }
+
+    public synchronized int subscribers() {
+        return subscriptions.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        List<Subscription> open;
+        synchronized (this) {
+            open = List.copyOf(subscriptions);
+            subscriptions.clear();
+        }
+        open.forEach(subscription -> subscription.emitter.complete());
+    }
+
+    private void heartbeat() {
+        List<Subscription> targets;
+        synchronized (this) {
+            targets = List.copyOf(subscriptions);
+        }
+        targets.forEach(subscription -> subscription.send(SseEmitter.event().comment("heartbeat")));
+    }
+
+    private synchronized void remove(Subscription subscription) {
+        subscriptions.remove(subscription);
+    }
+
+    private static Status statusOf(BookState state) {
+        return state == null ? null : state.status();
+    }
+
+    private final class Subscription {
+
+        private final SseEmitter emitter;
+        private final Filter filter;
+
+        private Subscription(SseEmitter emitter, Filter filter) {
+            this.emitter = emitter;
+            this.filter = filter;
+        }
+
+        void open() {
+            send(SseEmitter.event().comment("subscribed"));
+        }
+
+        void reset(long lastId) {
+            send(SseEmitter.event()
+                    .id(new EventId(epoch, lastId).toString())
+                    .name(RESET_EVENT)
+                    .data(""));
+        }
+
+        void deliver(Entry entry) {
+            if (filter.matches(entry.change())) {
+                send(SseEmitter.event()
+                        .id(new EventId(epoch, entry.id()).toString())
+                        .name(CHANGE_EVENT)
+                        .data(entry.change()));
+            }
+        }
+
+        void send(SseEmitter.SseEventBuilder event) {
+            try {
+                emitter.send(event);
+            } catch (IOException | IllegalStateException ex) {
+                // The client went away or the emitter already completed, the container
+                // finishes the response on its own.
+                remove(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.luis.aguiar.web;
+
+import com.luis.aguiar.enums.AuthorNameField;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+public final class CatalogLinks {
+
+    private static final String ATTRIBUTE = CatalogLinks.class.getName();
+    private static final CatalogLinks RELATIVE = new CatalogLinks("");
+
+    private static final String GET = HttpMethod.GET.name();
+    private static final String POST = HttpMethod.POST.name();
+    private static final String PUT = HttpMethod.PUT.name();
+    private static final String DELETE = HttpMethod.DELETE.name();
+
+    private final String books;
+    private final String authors;
+    private final String loans;
+
+    private final Link findAllBooks;
+    private final Link findAllByAuthorLastName;
+    private final Link findAllByStatus;
+    private final Link findAllByBookName;
+    private final Link findLoansByActive;
+
+    private CatalogLinks(String base) {
+        this.books = base + "/library/v1/books/";
+        this.authors = base + "/library/v1/authors/";
+        this.loans = base + "/library/v1/loans/";
+
+        // Concrete example pages: the optional sort parameter is not advertised as a template.
+        this.findAllBooks = Link.of(base + "/library/v1/books?page=1&quantity=2", "find-all")
+                .withType(GET);
+        this.findAllByAuthorLastName = Link.of(books + "author?lastName=Tolkien&page=0&quantity=1",
+                "find-by-author-lastName").withType(GET);
+        this.findAllByStatus = Link.of(books + "status?status=AVAILABLE&page=0&quantity=1",
+                "find-all-by-status").withType(GET);
+        this.findAllByBookName = Link.of(books + "name?name=Harry%20Potter&page=1&quantity=2",
+                "find-all-by-book-name").withType(GET);
+        this.findLoansByActive = Link.of(loans + "status?status=true&page=0&quantity=1",
+                "find-by-active").withType(GET);
+    }
+
+    public static CatalogLinks current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return RELATIVE;
+        }
+        if (attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof CatalogLinks links) {
+            return links;
+        }
+        CatalogLinks links = new CatalogLinks(ServletUriComponentsBuilder.fromCurrentServletMapping().toUriString());
+        attributes.setAttribute(ATTRIBUTE, links, RequestAttributes.SCOPE_REQUEST);
+        return links;
+    }
+
+    public Link book(UUID id) {
+        return Link.of(books + id, IanaLinkRelations.SELF).withType(GET);
+    }
+
+    public Link updateBook(UUID id) {
+        return Link.of(books + id, "update").withType(PUT);
+    }
+
+    public Link deleteBook(UUID id) {
+        return Link.of(books + id, "delete").withType(DELETE);
+    }
+
+    public Link findAllBooks() {
+        return findAllBooks;
+    }
+
+    public Link findAllByAuthorLastName() {
+        return findAllByAuthorLastName;
+    }
+
+    public Link findAllByStatus() {
+        return findAllByStatus;
+    }
+
+    public Link findAllByBookName() {
+        return findAllByBookName;
+    }
+
+    public Link author(UUID id) {
+        return Link.of(authors + id, IanaLinkRelations.SELF).withType(GET);
+    }
+
+    public Link authorBooks(UUID id) {
+        return Link.of(authors + id + "/books?quantity=10", "books").withType(GET);
+    }
+
+    public Link authorBooksAfter(UUID id, UUID after, int quantity) {
+        return Link.of(authors + id + "/books?after=" + after + "&quantity=" + quantity, IanaLinkRelations.NEXT)
+                .withType(GET);
+    }
+
+    public Link searchAuthorsAfter(String prefix, AuthorNameField field, UUID after, int quantity) {
+        return Link.of(authors + "search?prefix=" + UriUtils.encodeQueryParam(prefix, StandardCharsets.UTF_8)
+                + "&field=" + field + "&after=" + after + "&quantity=" + quantity, IanaLinkRelations.NEXT)
+                .withType(GET);
+    }
+
+    public Link updateAuthor(UUID id) {
+        return Link.of(authors + id, "update").withType(PUT);
+    }
+
+    public Link deleteAuthor(UUID id) {
+        return Link.of(authors + id, "delete").withType(DELETE);
+    }
+
+    public Link associateAuthorWithBook(UUID authorId, UUID bookId) {
+        return Link.of(authors + authorId + "/" + bookId, "associate-with-book").withType(POST);
+    }
+
+    /**
+     * The association link with the book left as a {@code {bookId}} template, so the representation
+     * of an author stays the same from one request to the next.
+     */
+    public Link associateAuthorWithBook(UUID authorId) {
+        return Link.of(authors + authorId + "/{bookId}", "associate-with-book").withType(POST);
+    }
+
+    public Link loan(UUID id) {
+        return Link.of(loans + id, IanaLinkRelations.SELF).withType(GET);
+    }
+
+    public Link findLoansByActive() {
+        return findLoansByActive;
+    }
+
+    public Link findLoansByUser(String email) {
+        return Link.of(loans + "user/" + encode(email) + "?page=1&quantity=1", "find-by-user").withType(GET);
+    }
+
+    public Link findLoansByUserAndActive(String email) {
+        return Link.of(loans + "user/" + encode(email) + "/true?page=0&quantity=1", "find-by-user-and-active")
+                .withType(GET);
+    }
+
+    public Link returnLoan(String email, UUID id) {
+        return Link.of(loans + "return/" + encode(email) + "/" + id, "return-loan").withType(POST);
+    }
+
+    /**
+     * Encodes every character but the unreserved ones, as the method based link builder does for
+     * path variables, so {@code @} in an email becomes {@code %40}.
+     */
+    private static String encode(String pathSegment) {
+        return UriUtils.encode(pathSegment, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,259 @@
+package com.luis.aguiar.web;
+
+import com.luis.aguiar.enums.ChangeType;
+import com.luis.aguiar.events.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.zip.GZIPOutputStream;
+
+@Component
+public class CatalogResponseCache {
+
+    public static final String ENTITY_IDS = CatalogResponseCache.class.getName() + ".ENTITY_IDS";
+
+    private static final String BOOKS_ROUTE = "/library/v1/books";
+    private static final String BOOKS_STATUS_ROUTE = "/library/v1/books/status";
+    private static final String AUTHORS_ROUTE = "/library/v1/authors";
+    private static final int ENTRY_OVERHEAD_BYTES = 256;
+    private static final int GZIP_MIN_BYTES = 1024;
+
+    private final boolean enabled;
+    private final long maxBytes;
+    private final long maxEntryBytes;
+    private final boolean gzip;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final Map<UUID, Set<String>> keysByEntity = new HashMap<>();
+    private long usedBytes;
+    private long generation;
+
+    public CatalogResponseCache(@Value("${library.cache.response.enabled:true}") boolean enabled,
+                                @Value("${library.cache.response.max-bytes:33554432}") long maxBytes,
+                                @Value("${library.cache.response.max-entry-bytes:1048576}") long maxEntryBytes,
+                                @Value("${library.cache.response.gzip:true}") boolean gzip) {
+        this.enabled = enabled;
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = maxEntryBytes;
+        this.gzip = gzip;
+    }
+
+    /**
+     * A cached response. A {@code sorted} page can gain entities whose sort key changed, which the
+     * entity ids it holds don't reveal, so it is evicted by any update of its route.
+     */
+    public record Entry(String route, boolean sorted, byte[] body, byte[] gzipBody, String contentType,
+                        Map<String, String> headers, Collection<UUID> entityIds) {
+        long size() {
+            return ENTRY_OVERHEAD_BYTES
+                    + body.length
+                    + (gzipBody == null ? 0 : gzipBody.length)
+                    + (long) entityIds.size() * 64;
+        }
+    }
+
+    public static boolean isCacheableRoute(String path) {
+        return BOOKS_ROUTE.equals(path) || BOOKS_STATUS_ROUTE.equals(path) || AUTHORS_ROUTE.equals(path);
+    }
+
+    public static boolean isSorted(Map<String, String[]> parameters) {
+        return parameters.containsKey(CatalogSort.PARAM);
+    }
+
+    public static String keyOf(String path, Map<String, String[]> parameters, String accept) {
+        StringBuilder key = new StringBuilder(path).append('?');
+        new TreeMap<>(parameters).forEach((name, values) ->
+                key.append(name).append('=').append(String.join(",", values)).append('&'));
+        String normalizedAccept = accept == null || accept.isBlank()
+                ? "*/*"
+                : accept.replace(" ", "").toLowerCase(Locale.ROOT);
+        return key.append('#').append(normalizedAccept).toString();
+    }
+
+    public static void recordEntities(Collection<UUID> ids) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(ENTITY_IDS, List.copyOf(ids), RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public synchronized long generation() {
+        return generation;
+    }
+
+    public synchronized Entry get(String key) {
+        return entries.get(key);
+    }
+
+    public synchronized long usedBytes() {
+        return usedBytes;
+    }
+
+    public void put(String key, String route, boolean sorted, byte[] body, String contentType,
+                    Map<String, String> headers, Collection<UUID> entityIds, long observedGeneration) {
+        if (body.length > maxEntryBytes) {
+            return;
+        }
+        byte[] gzipBody = gzip && body.length >= GZIP_MIN_BYTES ? gzip(body) : null;
+        Entry entry = new Entry(route, sorted, body, gzipBody, contentType, Map.copyOf(headers),
+                List.copyOf(entityIds));
+
+        synchronized (this) {
+            if (observedGeneration != generation) {
+                return;
+            }
+            remove(key);
+            entries.put(key, entry);
+            usedBytes += entry.size();
+            entityIds.forEach(id -> keysByEntity.computeIfAbsent(id, ignored -> new HashSet<>()).add(key));
+
+            Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+            while (usedBytes > maxBytes && eldest.hasNext()) {
+                Map.Entry<String, Entry> next = eldest.next();
+                eldest.remove();
+                forget(next.getKey(), next.getValue());
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onBookChanged(BookChangedEvent event) {
+        evictBooks(List.of(event));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onBooksChanged(BooksChangedEvent event) {
+        evictBooks(event.books());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onAuthorChanged(AuthorChangedEvent event) {
+        generation++;
+        if (event.change() == ChangeType.UPDATED) {
+            evictContaining(event.authorId());
+            evictSorted(AUTHORS_ROUTE);
+        } else {
+            evictRoute(AUTHORS_ROUTE);
+        }
+        if (event.change() == ChangeType.DELETED) {
+            evictRoute(BOOKS_ROUTE);
+            evictRoute(BOOKS_STATUS_ROUTE);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onAuthorshipChanged(AuthorshipChangedEvent event) {
+        generation++;
+        evictContaining(event.bookId());
+        // The author's book count changed, which can move them into any page sorted or filtered by it.
+        evictRoute(AUTHORS_ROUTE);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onAuthorshipsChanged(AuthorshipsChangedEvent event) {
+        generation++;
+        event.bookIds().forEach(this::evictContaining);
+        evictRoute(AUTHORS_ROUTE);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onAuthorBookCountsReconciled(AuthorBookCountsReconciledEvent event) {
+        generation++;
+        event.authorIds().forEach(this::evictContaining);
+        evictRoute(AUTHORS_ROUTE);
+    }
+
+    public synchronized void clear() {
+        generation++;
+        entries.clear();
+        keysByEntity.clear();
+        usedBytes = 0;
+    }
+
+    /**
+     * Evicts what the changes make stale, scanning each route at most once however many books changed.
+     */
+    private void evictBooks(List<BookChangedEvent> changes) {
+        generation++;
+        Set<ChangeType> types = EnumSet.noneOf(ChangeType.class);
+        for (BookChangedEvent change : changes) {
+            types.add(change.change());
+            if (change.change() == ChangeType.UPDATED) {
+                evictContaining(change.bookId());
+            }
+        }
+        if (types.contains(ChangeType.CREATED) || types.contains(ChangeType.DELETED)) {
+            evictRoute(BOOKS_ROUTE);
+        } else {
+            evictSorted(BOOKS_ROUTE);
+        }
+        evictRoute(BOOKS_STATUS_ROUTE);
+        if (types.contains(ChangeType.DELETED)) {
+            evictRoute(AUTHORS_ROUTE);
+        }
+    }
+
+    private void evictContaining(UUID id) {
+        Set<String> keys = keysByEntity.remove(id);
+        if (keys != null) {
+            keys.forEach(this::remove);
+        }
+    }
+
+    private void evictRoute(String route) {
+        evictMatching(entry -> entry.route().equals(route));
+    }
+
+    private void evictSorted(String route) {
+        evictMatching(entry -> entry.sorted() && entry.route().equals(route));
+    }
+
+    private void evictMatching(Predicate<Entry> matches) {
+        List<String> keys = entries.entrySet().stream()
+                .filter(entry -> matches.test(entry.getValue()))
+                .map(Map.Entry::getKey)
+                .toList();
+        keys.forEach(this::remove);
+    }
+
+    private void remove(String key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            forget(key, entry);
+        }
+    }
+
+    private void forget(String key, Entry entry) {
+        usedBytes -= entry.size();
+        for (UUID id : entry.entityIds()) {
+            Set<String> keys = keysByEntity.get(id);
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    keysByEntity.remove(id);
+                }
+            }
+        }
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzipOutput = new GZIPOutputStream(output)) {
+            gzipOutput.write(body);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return output.toByteArray();
+    }
+}
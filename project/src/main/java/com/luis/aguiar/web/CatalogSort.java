@@ -0,0 +1,38 @@
+package com.luis.aguiar.web;
+
+import com.luis.aguiar.exceptions.InvalidRequestException;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Sort;
+import java.util.List;
+
+/**
+ * Parses the {@code sort} request parameter of the list endpoints, such as {@code title} or
+ * {@code publicationDate,desc}. Only properties backed by an index can be sorted on, and the id is
+ * always added as a tie-breaker so pages are stable.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class CatalogSort {
+
+    public static final String PARAM = "sort";
+    public static final List<String> BOOK = List.of("title", "publicationDate");
+    public static final List<String> AUTHOR = List.of("lastName", "bookCount");
+
+    public static Sort parse(String sort, List<String> allowed) {
+        if (sort == null || sort.isBlank()) {
+            return Sort.unsorted();
+        }
+
+        String[] parts = sort.split(",");
+        String property = parts[0].trim();
+        if (!allowed.contains(property) || parts.length > 2) {
+            throw new InvalidRequestException("Sorting is only supported by " + String.join(", ", allowed) + ".");
+        }
+
+        Sort.Direction direction = parts.length == 1
+                ? Sort.Direction.ASC
+                : Sort.Direction.fromOptionalString(parts[1].trim())
+                        .orElseThrow(() -> new InvalidRequestException("The sort direction must be asc or desc."));
+        return Sort.by(direction, property, "id");
+    }
+}
@@ -0,0 +1,12 @@
+package com.luis.aguiar.web;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.http.MediaType;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class CompactMediaType {
+
+    public static final String VALUE = "application/vnd.library.compact+json";
+    public static final MediaType INSTANCE = MediaType.parseMediaType(VALUE);
+}
@@ -0,0 +1,76 @@
+package com.luis.aguiar.web;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Function;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class EntityTags {
+
+    public static final CacheControl PUBLIC_CATALOG = CacheControl.maxAge(Duration.ofSeconds(60))
+            .cachePublic()
+            .staleWhileRevalidate(Duration.ofMinutes(5));
+
+    public static String of(UUID id, Long version) {
+        return "\"" + id + "-" + (version == null ? 0 : version) + "\"";
+    }
+
+    public static String of(UUID id, Long version, String variant) {
+        return "\"" + id + "-" + (version == null ? 0 : version) + "-" + variant + "\"";
+    }
+
+    public static <T> String ofCollection(String variant, List<T> items,
+                                          Function<T, UUID> id,
+                                          Function<T, Long> version) {
+        return ofDigest(variant, items, item -> key(id.apply(item), version.apply(item)));
+    }
+
+    /**
+     * Tags a representation by an MD5 of the given keys, for responses whose content depends on more
+     * than one entity version and so cannot be tagged by a single one.
+     */
+    public static <T> String ofDigest(String variant, List<T> items, Function<T, String> key) {
+        StringBuilder builder = new StringBuilder(variant);
+        for (T item : items) {
+            builder.append('|').append(key.apply(item));
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(builder.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    public static String key(UUID id, Long version) {
+        return id + ":" + (version == null ? 0 : version);
+    }
+
+    public static <T> Instant latest(List<T> items, Function<T, Instant> lastModified) {
+        return items.stream()
+                .map(lastModified)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+    }
+
+    public static <T> ResponseEntity<T> ok(T body, String eTag, Instant lastModified) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(HttpStatus.OK)
+                .eTag(eTag)
+                .cacheControl(PUBLIC_CATALOG);
+        if (lastModified != null) {
+            builder.lastModified(lastModified);
+        }
+        return builder.body(body);
+    }
+
+    public static <T> ResponseEntity<T> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(eTag)
+                .cacheControl(PUBLIC_CATALOG)
+                .build();
+    }
+}
@@ -0,0 +1,178 @@
+package com.luis.aguiar.web;
+
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.protobuf.schema.NativeProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchemaLoader;
+import com.luis.aguiar.dto.AuthorResponseDto;
+import com.luis.aguiar.dto.BookResponseDto;
+import com.luis.aguiar.dto.BookSummaryDto;
+import com.luis.aguiar.dto.LoanResponseDto;
+import com.luis.aguiar.enums.Status;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.hateoas.Link;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Writes pages of books, authors and loans in the Protobuf format described by
+ * {@code proto/library.proto}. Only list bodies are supported, since a page is the unit the
+ * internal consumers fetch; everything else keeps its JSON representation.
+ */
+public class ProtobufCatalogConverter extends AbstractGenericHttpMessageConverter<List<?>> {
+
+    public static final String VALUE = "application/x-protobuf";
+    public static final MediaType INSTANCE = MediaType.parseMediaType(VALUE);
+
+    private final ProtobufMapper mapper = new ProtobufMapper();
+    private final Map<Class<?>, Page<?>> pages = Map.of(
+            BookResponseDto.class, new Page<BookResponseDto>("BookPage", ProtobufCatalogConverter::book, BookPage::new),
+            AuthorResponseDto.class, new Page<AuthorResponseDto>("AuthorPage", ProtobufCatalogConverter::author, AuthorPage::new),
+            LoanResponseDto.class, new Page<LoanResponseDto>("LoanPage", ProtobufCatalogConverter::loan, LoanPage::new)
+    );
+    private final NativeProtobufSchema schema;
+
+    public ProtobufCatalogConverter() {
+        super(INSTANCE);
+        try {
+            String definition = new ClassPathResource("proto/library.proto")
+                    .getContentAsString(StandardCharsets.UTF_8);
+            schema = ProtobufSchemaLoader.std.parseNative(definition);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not load proto/library.proto.", ex);
+        }
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return canWrite(mediaType) && type != null && pageOf(type) != null;
+    }
+
+    @Override
+    protected void writeInternal(List<?> items, Type type, HttpOutputMessage outputMessage) throws IOException {
+        Page<?> page = type == null ? null : pageOf(type);
+        if (page == null) {
+            throw new HttpMessageNotWritableException("Only pages of books, authors and loans can be written as Protobuf.");
+        }
+        mapper.writer(page.schema(schema))
+                .writeValue(outputMessage.getBody(), page.message(items));
+    }
+
+    @Override
+    public List<?> read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf request bodies are not supported.", inputMessage);
+    }
+
+    @Override
+    protected List<?> readInternal(Class<? extends List<?>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf request bodies are not supported.", inputMessage);
+    }
+
+    private Page<?> pageOf(Type type) {
+        ResolvableType listType = ResolvableType.forType(type).asCollection();
+        Class<?> element = listType.resolveGeneric(0);
+        return element == null ? null : pages.get(element);
+    }
+
+    private static BookMessage book(BookResponseDto book) {
+        return new BookMessage(
+                Objects.toString(book.getId(), null),
+                book.getTitle(),
+                Objects.toString(book.getPublicationDate(), null),
+                book.getStatus(),
+                book.getAuthors() == null ? List.of() : book.getAuthors().stream().map(Link::getHref).toList()
+        );
+    }
+
+    private static AuthorMessage author(AuthorResponseDto author) {
+        return new AuthorMessage(
+                Objects.toString(author.getId(), null),
+                author.getFirstName(),
+                author.getLastName(),
+                Objects.toString(author.getBirthDate(), null),
+                author.getNationality(),
+                author.getBookCount(),
+                author.getBooks() == null ? List.of() : author.getBooks().stream()
+                        .map(ProtobufCatalogConverter::bookSummary)
+                        .toList()
+        );
+    }
+
+    private static BookSummaryMessage bookSummary(BookSummaryDto book) {
+        return new BookSummaryMessage(
+                Objects.toString(book.id(), null),
+                book.title(),
+                Objects.toString(book.publicationDate(), null),
+                book.status()
+        );
+    }
+
+    private static LoanMessage loan(LoanResponseDto loan) {
+        return new LoanMessage(
+                Objects.toString(loan.getId(), null),
+                loan.getBook() == null ? null : book(loan.getBook()),
+                Objects.toString(loan.getLoanDate(), null),
+                Objects.toString(loan.getReturnDate(), null),
+                loan.getActive()
+        );
+    }
+
+    private record Page<T>(String type, Function<T, ?> toMessage, Function<List<Object>, Object> toPage) {
+
+        ProtobufSchema schema(NativeProtobufSchema schema) {
+            return schema.forType(type);
+        }
+
+        @SuppressWarnings("unchecked")
+        Object message(List<?> items) {
+            List<Object> messages = new ArrayList<>(items.size());
+            for (Object item : items) {
+                messages.add(toMessage.apply((T) item));
+            }
+            return toPage.apply(messages);
+        }
+    }
+
+    private record BookMessage(String id, String title, String publicationDate, Status status, List<String> authors) {
+    }
+
+    private record BookSummaryMessage(String id, String title, String publicationDate, Status status) {
+    }
+
+    private record AuthorMessage(String id, String firstName, String lastName, String birthDate, String nationality,
+                                 long bookCount, List<BookSummaryMessage> books) {
+    }
+
+    private record LoanMessage(String id, BookMessage book, String loanDate, String returnDate, Boolean active) {
+    }
+
+    private record BookPage(List<Object> books) {
+    }
+
+    private record AuthorPage(List<Object> authors) {
+    }
+
+    private record LoanPage(List<Object> loans) {
+    }
+}
@@ -0,0 +1,38 @@
+package com.luis.aguiar.web;
+
+import com.luis.aguiar.exceptions.InvalidRequestException;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import java.util.*;
+
+/**
+ * Parses the {@code fields} request parameter of the list endpoints. The selected fields are
+ * returned in the order of the full representation, always starting with {@code id}.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class SparseFields {
+
+    public static final String PARAM = "fields";
+
+    public static final List<String> BOOK = List.of("id", "title", "authors", "publicationDate", "status");
+    public static final List<String> AUTHOR = List.of("id", "firstName", "lastName", "birthDate", "nationality", "bookCount");
+    public static final List<String> LOAN = List.of("id", "book", "loanDate", "returnDate", "active");
+
+    public static List<String> parse(String fields, List<String> allowed) {
+        Set<String> requested = new HashSet<>();
+        requested.add("id");
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!allowed.contains(name)) {
+                throw new InvalidRequestException("Unknown field '" + name + "'. Allowed fields: " + String.join(", ", allowed) + ".");
+            }
+            requested.add(name);
+        }
+        return allowed.stream()
+                .filter(requested::contains)
+                .toList();
+    }
+}
@@ -0,0 +1,144 @@
+package com.luis.aguiar.indexes;
+
+import com.luis.aguiar.dto.BookFacetsDto;
+import com.luis.aguiar.enums.ChangeType;
+import com.luis.aguiar.enums.Status;
+import com.luis.aguiar.events.*;
+import com.luis.aguiar.repositories.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.time.LocalDate;
+import java.util.*;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookFacetIndexTest {
+    @Mock
+    private BookRepository bookRepository;
+    @Mock
+    private AuthorRepository authorRepository;
+    private BookFacetIndex index;
+    private UUID book1;
+    private UUID book2;
+    private UUID british;
+    private UUID russian;
+
+    @BeforeEach
+    void setup() {
+        index = new BookFacetIndex(bookRepository, authorRepository);
+        book1 = UUID.randomUUID();
+        book2 = UUID.randomUUID();
+        british = UUID.randomUUID();
+        russian = UUID.randomUUID();
+
+        given(authorRepository.findAllNationalities()).willReturn(List.of(
+                author(british, "British"),
+                author(russian, "Russian")
+        ));
+        given(bookRepository.findAllFacets()).willReturn(List.of(
+                book(book1, Status.AVAILABLE, LocalDate.of(1954, 7, 29)),
+                book(book2, Status.UNAVAILABLE, LocalDate.of(1939, 11, 6))
+        ));
+        given(bookRepository.findAllAuthorships()).willReturn(List.of(
+                authorship(book1, british),
+                authorship(book2, british),
+                authorship(book2, russian)
+        ));
+        index.rebuild();
+    }
+
+    @Test
+    @DisplayName("Should count every facet value when no filter is passed as an argument to facets method.")
+    void shouldCountEveryFacetValue_whenNoFilterIsPassedAsAnArgumentToFacetsMethod() {
+        BookFacetsDto facets = index.facets(null, null, null);
+
+        assertThat(facets.total()).isEqualTo(2);
+        assertThat(facets.status()).containsEntry(Status.AVAILABLE, 1L).containsEntry(Status.UNAVAILABLE, 1L);
+        assertThat(facets.nationality()).containsEntry("British", 2L).containsEntry("Russian", 1L);
+        assertThat(facets.decade()).containsEntry(1950, 1L).containsEntry(1930, 1L);
+    }
+
+    @Test
+    @DisplayName("Should count each facet with the filters of the other facets when filters are passed as arguments to facets method.")
+    void shouldCountEachFacetWithTheFiltersOfTheOtherFacets_whenFiltersArePassedAsArgumentsToFacetsMethod() {
+        BookFacetsDto facets = index.facets(Status.AVAILABLE, "British", null);
+
+        assertThat(facets.total()).isEqualTo(1);
+        assertThat(facets.status()).containsEntry(Status.AVAILABLE, 1L).containsEntry(Status.UNAVAILABLE, 1L);
+        assertThat(facets.nationality()).containsOnly(entry("British", 1L));
+        assertThat(facets.decade()).containsOnly(entry(1950, 1L));
+    }
+
+    @Test
+    @DisplayName("Should keep the counters up to date when book, author and authorship events are received.")
+    void shouldKeepTheCountersUpToDate_whenBookAuthorAndAuthorshipEventsAreReceived() {
+        UUID created = UUID.randomUUID();
+
+        index.onBookChanged(new BookChangedEvent(created, ChangeType.CREATED,
+                null, new BookState(Status.AVAILABLE, LocalDate.of(1869, 1, 1))));
+        index.onAuthorshipChanged(new AuthorshipChangedEvent(created, russian));
+        index.onBookChanged(new BookChangedEvent(book1, ChangeType.UPDATED,
+                new BookState(Status.AVAILABLE, LocalDate.of(1954, 7, 29)),
+                new BookState(Status.UNAVAILABLE, LocalDate.of(1954, 7, 29))));
+        index.onAuthorChanged(new AuthorChangedEvent(british, ChangeType.UPDATED, "English"));
+        index.onBookChanged(new BookChangedEvent(book2, ChangeType.DELETED,
+                new BookState(Status.UNAVAILABLE, LocalDate.of(1939, 11, 6)), null));
+
+        BookFacetsDto facets = index.facets(null, null, null);
+
+        assertThat(facets.total()).isEqualTo(2);
+        assertThat(facets.status()).containsEntry(Status.AVAILABLE, 1L).containsEntry(Status.UNAVAILABLE, 1L);
+        assertThat(facets.nationality()).containsOnly(entry("English", 1L), entry("Russian", 1L));
+        assertThat(facets.decade()).containsOnly(entry(1860, 1L), entry(1950, 1L));
+    }
+
+    private static AuthorNationalityView author(UUID id, String nationality) {
+        return new AuthorNationalityView() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public String getNationality() {
+                return nationality;
+            }
+        };
+    }
+
+    private static BookFacetView book(UUID id, Status status, LocalDate publicationDate) {
+        return new BookFacetView() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public Status getStatus() {
+                return status;
+            }
+
+            @Override
+            public LocalDate getPublicationDate() {
+                return publicationDate;
+            }
+        };
+    }
+
+    private static AuthorshipView authorship(UUID bookId, UUID authorId) {
+        return new AuthorshipView() {
+            @Override
+            public UUID getBookId() {
+                return bookId;
+            }
+
+            @Override
+            public UUID getAuthorId() {
+                return authorId;
+            }
+        };
+    }
+}
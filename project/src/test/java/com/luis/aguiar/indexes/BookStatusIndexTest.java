@@ -0,0 +1,105 @@
+package com.luis.aguiar.indexes;
+
+import com.luis.aguiar.enums.ChangeType;
+import com.luis.aguiar.enums.Status;
+import com.luis.aguiar.events.BookChangedEvent;
+import com.luis.aguiar.events.BookState;
+import com.luis.aguiar.repositories.BookRepository;
+import com.luis.aguiar.repositories.BookStatusView;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.time.LocalDate;
+import java.util.*;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookStatusIndexTest {
+    @Mock
+    private BookRepository repository;
+    @InjectMocks
+    private BookStatusIndex index;
+    private UUID id;
+    private UUID id2;
+    private UUID id3;
+
+    @BeforeEach
+    void setup() {
+        id = UUID.randomUUID();
+        id2 = UUID.randomUUID();
+        id3 = UUID.randomUUID();
+        given(repository.findAllStatuses()).willReturn(List.of(
+                view(id, Status.AVAILABLE),
+                view(id2, Status.UNAVAILABLE),
+                view(id3, Status.AVAILABLE)
+        ));
+        index.rebuild();
+    }
+
+    @Test
+    @DisplayName("Should count and page the books of a status when the index is rebuilt.")
+    void shouldCountAndPageTheBooksOfAStatus_whenTheIndexIsRebuilt() {
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.count(Status.AVAILABLE)).isEqualTo(2);
+        assertThat(index.count(Status.UNAVAILABLE)).isEqualTo(1);
+        assertThat(index.page(Status.AVAILABLE, 0, 1)).containsExactly(id);
+        assertThat(index.page(Status.AVAILABLE, 1, 1)).containsExactly(id3);
+        assertThat(index.page(Status.AVAILABLE, 2, 1)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should move a book between statuses when a BookChangedEvent is received.")
+    void shouldMoveABookBetweenStatuses_whenABookChangedEventIsReceived() {
+        index.onBookChanged(new BookChangedEvent(id, ChangeType.UPDATED,
+                state(Status.AVAILABLE), state(Status.UNAVAILABLE)));
+
+        assertThat(index.page(Status.AVAILABLE, 0, 10)).containsExactly(id3);
+        assertThat(index.page(Status.UNAVAILABLE, 0, 10)).containsExactly(id, id2);
+    }
+
+    @Test
+    @DisplayName("Should add created books and drop deleted books when BookChangedEvents are received.")
+    void shouldAddCreatedBooksAndDropDeletedBooks_whenBookChangedEventsAreReceived() {
+        UUID created = UUID.randomUUID();
+
+        index.onBookChanged(new BookChangedEvent(created, ChangeType.CREATED, null, state(Status.AVAILABLE)));
+        index.onBookChanged(new BookChangedEvent(id3, ChangeType.DELETED, state(Status.AVAILABLE), null));
+
+        assertThat(index.count(Status.AVAILABLE)).isEqualTo(2);
+        assertThat(index.page(Status.AVAILABLE, 0, 10)).containsExactly(id, created);
+    }
+
+    @Test
+    @DisplayName("Should reuse the ordinal of a deleted book when a book is created.")
+    void shouldReuseTheOrdinalOfADeletedBook_whenABookIsCreated() {
+        UUID created = UUID.randomUUID();
+
+        index.onBookChanged(new BookChangedEvent(id, ChangeType.DELETED, state(Status.AVAILABLE), null));
+        index.onBookChanged(new BookChangedEvent(created, ChangeType.CREATED, null, state(Status.UNAVAILABLE)));
+
+        assertThat(index.count(Status.AVAILABLE)).isEqualTo(1);
+        assertThat(index.page(Status.AVAILABLE, 0, 10)).containsExactly(id3);
+        assertThat(index.page(Status.UNAVAILABLE, 0, 10)).containsExactly(created, id2);
+    }
+
+    private static BookState state(Status status) {
+        return new BookState(status, LocalDate.of(1950, 1, 1));
+    }
+
+    private static BookStatusView view(UUID id, Status status) {
+        return new BookStatusView() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public Status getStatus() {
+                return status;
+            }
+        };
+    }
+}
@@ -0,0 +1,73 @@
+package com.luis.aguiar.indexes;
+
+import com.luis.aguiar.enums.Status;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+import static org.assertj.core.api.Assertions.*;
+
+class CatalogSnapshotFileTest {
+    @TempDir
+    private Path directory;
+    private CatalogSnapshotFile file;
+    private CatalogSnapshot.AuthorEntry author;
+    private CatalogSnapshot.BookEntry book;
+
+    @BeforeEach
+    void setup() {
+        file = new CatalogSnapshotFile(directory.resolve("catalog.snapshot"));
+        author = new CatalogSnapshot.AuthorEntry(UUID.randomUUID(), "Machado", "de Assis",
+                LocalDate.of(1839, 6, 21), "Brasileira", 3L, Instant.parse("2024-05-01T10:15:30.123456Z"));
+        book = new CatalogSnapshot.BookEntry(UUID.randomUUID(), "Dom Casmurro", LocalDate.of(1899, 1, 1),
+                Status.AVAILABLE, List.of(author.id()), 7L, null);
+    }
+
+    @Test
+    @DisplayName("Should read back the same entries when a snapshot is written to the file.")
+    void shouldReadBackTheSameEntries_whenASnapshotIsWrittenToTheFile() {
+        file.write(CatalogSnapshot.of(List.of(book), List.of(author)));
+
+        Optional<CatalogSnapshot> read = file.read();
+
+        assertThat(read).isPresent();
+        assertThat(read.get().bookEntries()).containsExactly(book);
+        assertThat(read.get().authorEntries()).containsExactly(author);
+        assertThat(CatalogMark.of(read.get())).isEqualTo(CatalogMark.of(CatalogSnapshot.of(List.of(book), List.of(author))));
+    }
+
+    @Test
+    @DisplayName("Should return empty when the snapshot file does not exist.")
+    void shouldReturnEmpty_whenTheSnapshotFileDoesNotExist() {
+        assertThat(file.read()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should return empty when the snapshot file was corrupted.")
+    void shouldReturnEmpty_whenTheSnapshotFileWasCorrupted() throws IOException {
+        file.write(CatalogSnapshot.of(List.of(book), List.of(author)));
+        byte[] bytes = Files.readAllBytes(file.path());
+        bytes[20] ^= 0x7F;
+        Files.write(file.path(), bytes);
+
+        assertThat(file.read()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should replace the previous file when a newer snapshot is written.")
+    void shouldReplaceThePreviousFile_whenANewerSnapshotIsWritten() {
+        file.write(CatalogSnapshot.of(List.of(book), List.of(author)));
+
+        file.write(CatalogSnapshot.of(List.of(), List.of(author)));
+
+        assertThat(file.read()).hasValueSatisfying(snapshot -> {
+            assertThat(snapshot.bookCount()).isZero();
+            assertThat(snapshot.authorCount()).isEqualTo(1);
+        });
+        assertThat(Files.exists(directory.resolve("catalog.snapshot.tmp"))).isFalse();
+    }
+}
@@ -0,0 +1,250 @@
+package com.luis.aguiar.indexes;
+
+import com.luis.aguiar.enums.ChangeType;
+import com.luis.aguiar.enums.Status;
+import com.luis.aguiar.events.*;
+import com.luis.aguiar.models.Author;
+import com.luis.aguiar.models.Book;
+import com.luis.aguiar.repositories.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogSnapshotStoreTest {
+    @Mock
+    private BookRepository bookRepository;
+    @Mock
+    private AuthorRepository authorRepository;
+    private CatalogSnapshotStore store;
+    private Author tolkien;
+    private Author christie;
+    private Book hobbit;
+    private Book orient;
+
+    @BeforeEach
+    void setup() {
+        store = new CatalogSnapshotStore(bookRepository, authorRepository, true, "");
+        tolkien = author("John", "Tolkien", "British");
+        christie = author("Agatha", "Christie", "British");
+        hobbit = book("O Hobbit", Status.AVAILABLE, LocalDate.of(1937, 9, 21), tolkien);
+        orient = book("Assassinato no Expresso do Oriente", Status.UNAVAILABLE, LocalDate.of(1934, 1, 1), christie);
+    }
+
+    @Test
+    @DisplayName("Should not serve reads when the snapshot is disabled.")
+    void shouldNotServeReads_whenTheSnapshotIsDisabled() {
+        var disabled = new CatalogSnapshotStore(bookRepository, authorRepository, false, "");
+
+        disabled.rebuild();
+        disabled.onBookChanged(new BookChangedEvent(hobbit.getId(), ChangeType.UPDATED, null, null));
+
+        assertThat(disabled.isServing()).isFalse();
+        then(bookRepository).shouldHaveNoInteractions();
+        then(authorRepository).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("Should serve the whole catalog when the snapshot is rebuilt.")
+    void shouldServeTheWholeCatalog_whenTheSnapshotIsRebuilt() {
+        givenCatalog();
+
+        store.rebuild();
+
+        assertThat(store.isServing()).isTrue();
+        assertThat(store.current().bookCount()).isEqualTo(2);
+        assertThat(store.current().authorCount()).isEqualTo(2);
+        assertThat(store.current().findBook(hobbit.getId()))
+                .hasValueSatisfying(book -> assertThat(book.getAuthors())
+                        .extracting(Author::getLastName)
+                        .containsExactly("Tolkien"));
+        assertThat(store.current().booksByAuthor("christ", 0, 10, Sort.unsorted()))
+                .extracting(Book::getTitle)
+                .containsExactly(orient.getTitle());
+    }
+
+    @Test
+    @DisplayName("Should publish a new version with the reloaded book when a book changes.")
+    void shouldPublishANewVersionWithTheReloadedBook_whenABookChanges() {
+        givenCatalog();
+        store.rebuild();
+        CatalogSnapshot before = store.current();
+        hobbit.setStatus(Status.UNAVAILABLE);
+        given(bookRepository.findAllWithAuthorsByIdIn(List.of(hobbit.getId()))).willReturn(List.of(hobbit));
+
+        store.onBookChanged(new BookChangedEvent(hobbit.getId(), ChangeType.UPDATED,
+                new BookState(Status.AVAILABLE, hobbit.getPublicationDate()),
+                new BookState(Status.UNAVAILABLE, hobbit.getPublicationDate())));
+
+        assertThat(store.current().version()).isEqualTo(before.version() + 1);
+        assertThat(store.current().booksByStatus(Status.UNAVAILABLE, 0, 10, Sort.unsorted())).hasSize(2);
+        assertThat(before.booksByStatus(Status.UNAVAILABLE, 0, 10, Sort.unsorted())).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should drop the book from the snapshot when a book is deleted.")
+    void shouldDropTheBookFromTheSnapshot_whenABookIsDeleted() {
+        givenCatalog();
+        store.rebuild();
+
+        store.onBookChanged(new BookChangedEvent(orient.getId(), ChangeType.DELETED,
+                new BookState(Status.UNAVAILABLE, orient.getPublicationDate()), null));
+
+        assertThat(store.current().findBook(orient.getId())).isEmpty();
+        assertThat(store.current().bookCount()).isEqualTo(1);
+        then(bookRepository).should(never()).findAllWithAuthorsByIdIn(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should show the new author name on the books when an author is updated.")
+    void shouldShowTheNewAuthorNameOnTheBooks_whenAnAuthorIsUpdated() {
+        givenCatalog();
+        store.rebuild();
+        tolkien.setLastName("Tolkien Jr.");
+        given(authorRepository.findById(tolkien.getId())).willReturn(Optional.of(tolkien));
+
+        store.onAuthorChanged(new AuthorChangedEvent(tolkien.getId(), ChangeType.UPDATED, "British"));
+
+        assertThat(store.current().findBook(hobbit.getId()))
+                .hasValueSatisfying(book -> assertThat(book.getAuthors())
+                        .extracting(Author::getLastName)
+                        .containsExactly("Tolkien Jr."));
+    }
+
+    @Test
+    @DisplayName("Should publish the snapshot size and age when the store is bound to a meter registry.")
+    void shouldPublishTheSnapshotSizeAndAge_whenTheStoreIsBoundToAMeterRegistry() {
+        givenCatalog();
+        store.rebuild();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        store.bindTo(registry);
+
+        assertThat(registry.get("library.catalog.snapshot.books").gauge().value()).isEqualTo(2.0);
+        assertThat(registry.get("library.catalog.snapshot.footprint").gauge().value()).isPositive();
+        assertThat(registry.get("library.catalog.snapshot.age").timeGauge().value()).isNotNegative();
+    }
+
+    @Test
+    @DisplayName("Should restore the snapshot file without loading the catalog when the high-water mark still matches.")
+    void shouldRestoreTheSnapshotFileWithoutLoadingTheCatalog_whenTheHighWaterMarkStillMatches(@TempDir Path directory) {
+        givenCatalog();
+        String file = directory.resolve("catalog.snapshot").toString();
+        new CatalogSnapshotStore(bookRepository, authorRepository, true, file).rebuild();
+        given(bookRepository.findMark()).willReturn(mark(2, 0));
+        given(authorRepository.findMark()).willReturn(mark(2, 0));
+
+        var restarted = new CatalogSnapshotStore(bookRepository, authorRepository, true, file);
+        restarted.rebuild();
+
+        assertThat(restarted.isServing()).isTrue();
+        assertThat(restarted.current().findBook(orient.getId())).isPresent();
+        then(bookRepository).should(times(1)).findAll();
+        then(bookRepository).should(never()).findAllVersions();
+    }
+
+    @Test
+    @DisplayName("Should reload only the changed rows when the snapshot file is behind the database.")
+    void shouldReloadOnlyTheChangedRows_whenTheSnapshotFileIsBehindTheDatabase(@TempDir Path directory) {
+        givenCatalog();
+        String file = directory.resolve("catalog.snapshot").toString();
+        new CatalogSnapshotStore(bookRepository, authorRepository, true, file).rebuild();
+        hobbit.setVersion(1L);
+        hobbit.setStatus(Status.UNAVAILABLE);
+        given(bookRepository.findMark()).willReturn(mark(1, 1));
+        given(authorRepository.findMark()).willReturn(mark(2, 0));
+        given(bookRepository.findAllVersions()).willReturn(List.of(version(hobbit.getId(), 1L)));
+        given(authorRepository.findAllVersions()).willReturn(List.of(
+                version(tolkien.getId(), 0L),
+                version(christie.getId(), 0L)
+        ));
+        given(bookRepository.findAllWithAuthorsByIdIn(List.of(hobbit.getId()))).willReturn(List.of(hobbit));
+
+        var restarted = new CatalogSnapshotStore(bookRepository, authorRepository, true, file);
+        restarted.rebuild();
+
+        assertThat(restarted.current().bookCount()).isEqualTo(1);
+        assertThat(restarted.current().findBook(hobbit.getId()))
+                .hasValueSatisfying(book -> assertThat(book.getStatus()).isEqualTo(Status.UNAVAILABLE));
+        then(bookRepository).should(times(1)).findAll();
+        then(authorRepository).should(never()).findAllById(anyIterable());
+    }
+
+    private void givenCatalog() {
+        given(bookRepository.findAllAuthorships()).willReturn(List.of(
+                authorship(hobbit.getId(), tolkien.getId()),
+                authorship(orient.getId(), christie.getId())
+        ));
+        given(bookRepository.findAll()).willReturn(List.of(hobbit, orient));
+        given(authorRepository.findAll()).willReturn(List.of(tolkien, christie));
+    }
+
+    private static Author author(String firstName, String lastName, String nationality) {
+        return new Author(UUID.randomUUID(), firstName, lastName, LocalDate.of(1892, 1, 3),
+                nationality, new HashSet<>(), 0L, null);
+    }
+
+    private static Book book(String title, Status status, LocalDate publicationDate, Author author) {
+        Book book = new Book(UUID.randomUUID(), title, new HashSet<>(), new HashSet<>(),
+                publicationDate, status, 0L, null);
+        book.getAuthors().add(author);
+        return book;
+    }
+
+    private static CatalogMarkView mark(long count, long versions) {
+        return new CatalogMarkView() {
+            @Override
+            public Long getCount() {
+                return count;
+            }
+
+            @Override
+            public Long getVersions() {
+                return versions;
+            }
+
+            @Override
+            public Instant getLastModified() {
+                return null;
+            }
+        };
+    }
+
+    private static VersionView version(UUID id, Long version) {
+        return new VersionView() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public Long getVersion() {
+                return version;
+            }
+        };
+    }
+
+    private static AuthorshipView authorship(UUID bookId, UUID authorId) {
+        return new AuthorshipView() {
+            @Override
+            public UUID getBookId() {
+                return bookId;
+            }
+
+            @Override
+            public UUID getAuthorId() {
+                return authorId;
+            }
+        };
+    }
+}
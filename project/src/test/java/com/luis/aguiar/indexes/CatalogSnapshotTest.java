@@ -0,0 +1,76 @@
+package com.luis.aguiar.indexes;
+
+import com.luis.aguiar.enums.Status;
+import com.luis.aguiar.models.Book;
+import org.junit.jupiter.api.*;
+import org.springframework.data.domain.Sort;
+import java.time.LocalDate;
+import java.util.*;
+import static org.assertj.core.api.Assertions.*;
+
+class CatalogSnapshotTest {
+    private CatalogSnapshot.BookEntry hobbit;
+    private CatalogSnapshot.BookEntry dune;
+    private CatalogSnapshot.BookEntry emma;
+    private CatalogSnapshot snapshot;
+
+    @BeforeEach
+    void setup() {
+        hobbit = entry("O Hobbit", LocalDate.of(1937, 9, 21), Status.AVAILABLE);
+        dune = entry("Duna", LocalDate.of(1965, 8, 1), Status.UNAVAILABLE);
+        emma = entry("Emma", LocalDate.of(1815, 12, 23), Status.AVAILABLE);
+        snapshot = CatalogSnapshot.of(List.of(hobbit, dune, emma), List.of());
+    }
+
+    @Test
+    @DisplayName("Should return the page in the requested order when a sort is passed as an argument to books method.")
+    void shouldReturnThePageInTheRequestedOrder_whenASortIsPassedAsAnArgumentToBooksMethod() {
+        List<Book> byTitle = snapshot.books(0, 2, Sort.by(Sort.Direction.ASC, "title", "id"));
+        List<Book> byDate = snapshot.books(1, 2, Sort.by(Sort.Direction.DESC, "publicationDate", "id"));
+
+        assertThat(byTitle).extracting(Book::getTitle).containsExactly("Duna", "Emma");
+        assertThat(byDate).extracting(Book::getTitle).containsExactly("Emma");
+    }
+
+    @Test
+    @DisplayName("Should filter by title ignoring case when a fragment is passed as an argument to booksByTitle method.")
+    void shouldFilterByTitleIgnoringCase_whenAFragmentIsPassedAsAnArgumentToBooksByTitleMethod() {
+        assertThat(snapshot.booksByTitle("HOB", 0, 10, Sort.unsorted()))
+                .extracting(Book::getId)
+                .containsExactly(hobbit.id());
+    }
+
+    @Test
+    @DisplayName("Should keep the previous version unchanged when a book is added to the snapshot.")
+    void shouldKeepThePreviousVersionUnchanged_whenABookIsAddedToTheSnapshot() {
+        CatalogSnapshot.BookEntry added = entry("Ulisses", LocalDate.of(1922, 2, 2), Status.AVAILABLE);
+
+        CatalogSnapshot next = snapshot.withBook(added);
+
+        assertThat(next.version()).isEqualTo(snapshot.version() + 1);
+        assertThat(next.bookCount()).isEqualTo(4);
+        assertThat(next.footprintBytes()).isGreaterThan(snapshot.footprintBytes());
+        assertThat(snapshot.bookCount()).isEqualTo(3);
+        assertThat(snapshot.findBook(added.id())).isEmpty();
+        assertThat(next.booksByStatus(Status.AVAILABLE, 0, 10, Sort.unsorted())).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("Should return the same version when a missing book is removed from the snapshot.")
+    void shouldReturnTheSameVersion_whenAMissingBookIsRemovedFromTheSnapshot() {
+        assertThat(snapshot.withoutBook(UUID.randomUUID())).isSameAs(snapshot);
+        assertThat(snapshot.withoutBook(dune.id()).bookCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should throw an Exception when the sort property is not supported by the snapshot.")
+    void shouldThrowAnException_whenTheSortPropertyIsNotSupportedByTheSnapshot() {
+        assertThatThrownBy(() -> snapshot.books(0, 10, Sort.by("status")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unsupported snapshot sort property: status.");
+    }
+
+    private static CatalogSnapshot.BookEntry entry(String title, LocalDate publicationDate, Status status) {
+        return new CatalogSnapshot.BookEntry(UUID.randomUUID(), title, publicationDate, status, List.of(), 0L, null);
+    }
+}
@@ -0,0 +1,90 @@
+package com.luis.aguiar.indexes;
+
+import com.luis.aguiar.enums.ChangeType;
+import com.luis.aguiar.enums.Status;
+import com.luis.aguiar.events.*;
+import com.luis.aguiar.repositories.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.time.LocalDate;
+import java.util.*;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CoAuthorGraphTest {
+    @Mock
+    private BookRepository bookRepository;
+    private CoAuthorGraph graph;
+    private UUID book1;
+    private UUID book2;
+    private UUID gaiman;
+    private UUID pratchett;
+    private UUID tolkien;
+
+    @BeforeEach
+    void setup() {
+        graph = new CoAuthorGraph(bookRepository);
+        book1 = UUID.randomUUID();
+        book2 = UUID.randomUUID();
+        gaiman = UUID.randomUUID();
+        pratchett = UUID.randomUUID();
+        tolkien = UUID.randomUUID();
+
+        given(bookRepository.findAllAuthorships()).willReturn(List.of(
+                authorship(book1, gaiman),
+                authorship(book1, pratchett),
+                authorship(book2, gaiman),
+                authorship(book2, pratchett),
+                authorship(book2, tolkien)
+        ));
+        graph.rebuild();
+    }
+
+    @Test
+    @DisplayName("Should rank the co-authors by shared books when related method is called.")
+    void shouldRankTheCoAuthorsBySharedBooks_whenRelatedMethodIsCalled() {
+        assertThat(graph.isReady()).isTrue();
+        assertThat(graph.related(gaiman, 10)).containsExactly(
+                new CoAuthorGraph.Related(pratchett, 2),
+                new CoAuthorGraph.Related(tolkien, 1));
+        assertThat(graph.related(gaiman, 1)).containsExactly(new CoAuthorGraph.Related(pratchett, 2));
+        assertThat(graph.related(UUID.randomUUID(), 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep the edges up to date when authorship, book and author events are received.")
+    void shouldKeepTheEdgesUpToDate_whenAuthorshipBookAndAuthorEventsAreReceived() {
+        graph.onAuthorshipChanged(new AuthorshipChangedEvent(book1, tolkien));
+        graph.onAuthorshipChanged(new AuthorshipChangedEvent(book1, tolkien));
+        assertThat(graph.related(tolkien, 10)).containsExactlyInAnyOrder(
+                new CoAuthorGraph.Related(gaiman, 2),
+                new CoAuthorGraph.Related(pratchett, 2));
+
+        graph.onBookChanged(new BookChangedEvent(book2, ChangeType.DELETED,
+                new BookState(Status.AVAILABLE, LocalDate.of(1990, 5, 1)), null));
+        assertThat(graph.related(gaiman, 10)).containsExactlyInAnyOrder(
+                new CoAuthorGraph.Related(pratchett, 1),
+                new CoAuthorGraph.Related(tolkien, 1));
+
+        graph.onAuthorChanged(new AuthorChangedEvent(pratchett, ChangeType.DELETED, null));
+        assertThat(graph.related(gaiman, 10)).containsExactly(new CoAuthorGraph.Related(tolkien, 1));
+        assertThat(graph.related(pratchett, 10)).isEmpty();
+    }
+
+    private static AuthorshipView authorship(UUID bookId, UUID authorId) {
+        return new AuthorshipView() {
+            @Override
+            public UUID getBookId() {
+                return bookId;
+            }
+
+            @Override
+            public UUID getAuthorId() {
+                return authorId;
+            }
+        };
+    }
+}
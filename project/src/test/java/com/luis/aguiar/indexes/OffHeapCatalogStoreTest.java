@@ -0,0 +1,160 @@
+package com.luis.aguiar.indexes;
+
+import com.luis.aguiar.enums.ChangeType;
+import com.luis.aguiar.enums.Status;
+import com.luis.aguiar.events.*;
+import com.luis.aguiar.models.Author;
+import com.luis.aguiar.models.Book;
+import com.luis.aguiar.repositories.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import java.time.LocalDate;
+import java.util.*;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OffHeapCatalogStoreTest {
+    @Mock
+    private BookRepository bookRepository;
+    @Mock
+    private AuthorRepository authorRepository;
+    private OffHeapCatalogStore store;
+    private Author tolkien;
+    private Book hobbit;
+
+    @BeforeEach
+    void setup() {
+        store = new OffHeapCatalogStore(bookRepository, authorRepository, true, 1);
+        tolkien = new Author(UUID.randomUUID(), "John", "Tolkien", LocalDate.of(1892, 1, 3),
+                "British", new HashSet<>(), 0L, null);
+        hobbit = new Book(UUID.randomUUID(), "O Hobbit", new HashSet<>(), new HashSet<>(),
+                LocalDate.of(1937, 9, 21), Status.AVAILABLE, 0L, null);
+        hobbit.getAuthors().add(tolkien);
+    }
+
+    @Test
+    @DisplayName("Should not serve lookups when the off-heap catalog is disabled.")
+    void shouldNotServeLookups_whenTheOffHeapCatalogIsDisabled() {
+        var disabled = new OffHeapCatalogStore(bookRepository, authorRepository, false, 1);
+
+        disabled.rebuild();
+        disabled.onBookChanged(new BookChangedEvent(hobbit.getId(), ChangeType.UPDATED, null, null));
+
+        assertThat(disabled.isServing()).isFalse();
+        then(bookRepository).shouldHaveNoInteractions();
+        then(authorRepository).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("Should load the catalog in keyset batches when the store is rebuilt.")
+    void shouldLoadTheCatalogInKeysetBatches_whenTheStoreIsRebuilt() {
+        givenCatalog();
+
+        store.rebuild();
+
+        assertThat(store.isServing()).isTrue();
+        assertThat(store.findBook(hobbit.getId()))
+                .hasValueSatisfying(book -> assertThat(book.getAuthors())
+                        .extracting(Author::getLastName)
+                        .containsExactly("Tolkien"));
+        then(bookRepository).should().findBatchAfter(eq(hobbit.getId()), any(Pageable.class));
+        then(bookRepository).should(never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Should serve the reloaded book when a book changes.")
+    void shouldServeTheReloadedBook_whenABookChanges() {
+        givenCatalog();
+        store.rebuild();
+        hobbit.setStatus(Status.UNAVAILABLE);
+        hobbit.setVersion(1L);
+        given(bookRepository.findAllWithAuthorsByIdIn(List.of(hobbit.getId()))).willReturn(List.of(hobbit));
+
+        store.onBookChanged(new BookChangedEvent(hobbit.getId(), ChangeType.UPDATED,
+                new BookState(Status.AVAILABLE, hobbit.getPublicationDate()),
+                new BookState(Status.UNAVAILABLE, hobbit.getPublicationDate())));
+
+        assertThat(store.bookVersion(hobbit.getId())).contains(1L);
+        assertThat(store.findBook(hobbit.getId()))
+                .hasValueSatisfying(book -> assertThat(book.getStatus()).isEqualTo(Status.UNAVAILABLE));
+    }
+
+    @Test
+    @DisplayName("Should reload every changed book with one query when a batch of authorships changes.")
+    void shouldReloadEveryChangedBookWithOneQuery_whenABatchOfAuthorshipsChanges() {
+        givenCatalog();
+        store.rebuild();
+        Book silmarillion = new Book(UUID.randomUUID(), "O Silmarillion", new HashSet<>(), new HashSet<>(),
+                LocalDate.of(1977, 9, 15), Status.AVAILABLE, 1L, null);
+        silmarillion.getAuthors().add(tolkien);
+        hobbit.setVersion(1L);
+        given(bookRepository.findAllWithAuthorsByIdIn(List.of(hobbit.getId(), silmarillion.getId())))
+                .willReturn(List.of(hobbit, silmarillion));
+
+        store.onAuthorshipsChanged(new AuthorshipsChangedEvent(List.of(
+                new AuthorshipChangedEvent(hobbit.getId(), tolkien.getId()),
+                new AuthorshipChangedEvent(silmarillion.getId(), tolkien.getId()))));
+
+        assertThat(store.bookVersion(hobbit.getId())).contains(1L);
+        assertThat(store.findBook(silmarillion.getId()))
+                .hasValueSatisfying(book -> assertThat(book.getAuthors()).extracting(Author::getId)
+                        .containsExactly(tolkien.getId()));
+        then(bookRepository).should(times(1)).findAllWithAuthorsByIdIn(anyList());
+    }
+
+    @Test
+    @DisplayName("Should publish the footprint and lookup latency when the store is bound to a meter registry.")
+    void shouldPublishTheFootprintAndLookupLatency_whenTheStoreIsBoundToAMeterRegistry() {
+        givenCatalog();
+        store.rebuild();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        store.bindTo(registry);
+
+        store.findBook(hobbit.getId());
+
+        assertThat(registry.get("library.catalog.off-heap.books").gauge().value()).isEqualTo(1.0);
+        assertThat(registry.get("library.catalog.off-heap.footprint").gauge().value()).isPositive();
+        assertThat(registry.get("library.catalog.off-heap.lookup").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reclaim the garbage when it passes the compaction threshold.")
+    void shouldReclaimTheGarbage_whenItPassesTheCompactionThreshold() {
+        givenCatalog();
+        store.rebuild();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        store.bindTo(registry);
+
+        store.onBookChanged(new BookChangedEvent(hobbit.getId(), ChangeType.DELETED,
+                new BookState(Status.AVAILABLE, hobbit.getPublicationDate()), null));
+
+        assertThat(registry.get("library.catalog.off-heap.garbage").gauge().value()).isZero();
+        assertThat(registry.get("library.catalog.off-heap.authors").gauge().value()).isEqualTo(1.0);
+        assertThat(store.findBook(hobbit.getId())).isEmpty();
+    }
+
+    private void givenCatalog() {
+        given(authorRepository.findBatchAfter(any(UUID.class), any(Pageable.class)))
+                .willReturn(List.of(tolkien), List.of());
+        given(bookRepository.findBatchAfter(any(UUID.class), any(Pageable.class)))
+                .willReturn(List.of(hobbit), List.of());
+        given(bookRepository.findAuthorshipsByBookIdIn(List.of(hobbit.getId()))).willReturn(List.of(
+                new AuthorshipView() {
+                    @Override
+                    public UUID getBookId() {
+                        return hobbit.getId();
+                    }
+
+                    @Override
+                    public UUID getAuthorId() {
+                        return tolkien.getId();
+                    }
+                }
+        ));
+    }
+}
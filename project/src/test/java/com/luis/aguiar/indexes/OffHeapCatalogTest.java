@@ -0,0 +1,164 @@
+package com.luis.aguiar.indexes;
+
+import com.luis.aguiar.enums.Status;
+import com.luis.aguiar.models.Author;
+import com.luis.aguiar.models.Book;
+import org.junit.jupiter.api.*;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+import static org.assertj.core.api.Assertions.*;
+
+class OffHeapCatalogTest {
+    private OffHeapCatalog catalog;
+    private CatalogSnapshot.AuthorEntry author;
+    private CatalogSnapshot.BookEntry book;
+
+    @BeforeEach
+    void setup() {
+        catalog = new OffHeapCatalog();
+        author = new CatalogSnapshot.AuthorEntry(UUID.randomUUID(), "Clarice", "Lispector",
+                LocalDate.of(1920, 12, 10), "Brasileira", 2L, Instant.parse("2024-05-01T10:15:30.123456Z"));
+        book = new CatalogSnapshot.BookEntry(UUID.randomUUID(), "A Hora da Estrela", LocalDate.of(1977, 1, 1),
+                Status.AVAILABLE, List.of(author.id()), 4L, null);
+    }
+
+    @Test
+    @DisplayName("Should materialize the book with its authors when the summaries were stored.")
+    void shouldMaterializeTheBookWithItsAuthors_whenTheSummariesWereStored() {
+        catalog.putAuthor(author);
+        catalog.putBook(book);
+
+        Optional<Book> found = catalog.findBook(book.id());
+
+        assertThat(found).hasValueSatisfying(value -> {
+            assertThat(value.getTitle()).isEqualTo("A Hora da Estrela");
+            assertThat(value.getPublicationDate()).isEqualTo(book.publicationDate());
+            assertThat(value.getStatus()).isEqualTo(Status.AVAILABLE);
+            assertThat(value.getVersion()).isEqualTo(4L);
+            assertThat(value.getLastModified()).isNull();
+            assertThat(value.getAuthors()).singleElement().satisfies(bookAuthor -> {
+                assertThat(bookAuthor.getLastName()).isEqualTo("Lispector");
+                assertThat(bookAuthor.getBirthDate()).isEqualTo(author.birthDate());
+                assertThat(bookAuthor.getLastModified()).isEqualTo(author.lastModified());
+            });
+        });
+        assertThat(catalog.bookVersion(book.id())).contains(4L);
+    }
+
+    @Test
+    @DisplayName("Should keep a single record and count the replaced bytes as garbage when a book is stored again.")
+    void shouldKeepASingleRecordAndCountTheReplacedBytesAsGarbage_whenABookIsStoredAgain() {
+        catalog.putBook(book);
+
+        catalog.putBook(new CatalogSnapshot.BookEntry(book.id(), "A Hora da Estrela (edição revista)",
+                book.publicationDate(), Status.UNAVAILABLE, List.of(), 5L, null));
+
+        assertThat(catalog.bookCount()).isEqualTo(1);
+        assertThat(catalog.garbageBytes()).isEqualTo("A Hora da Estrela".length() + 16L);
+        assertThat(catalog.findBook(book.id())).hasValueSatisfying(value -> {
+            assertThat(value.getTitle()).isEqualTo("A Hora da Estrela (edição revista)");
+            assertThat(value.getStatus()).isEqualTo(Status.UNAVAILABLE);
+            assertThat(value.getAuthors()).isEmpty();
+        });
+    }
+
+    @Test
+    @DisplayName("Should overwrite the stored values in place when a book keeps its title and authors.")
+    void shouldOverwriteTheStoredValuesInPlace_whenABookKeepsItsTitleAndAuthors() {
+        catalog.putAuthor(author);
+        catalog.putBook(book);
+        long allocated = catalog.allocatedBytes();
+
+        for (long version = 5; version < 1000; version++) {
+            catalog.putBook(new CatalogSnapshot.BookEntry(book.id(), book.title(), book.publicationDate(),
+                    version % 2 == 0 ? Status.AVAILABLE : Status.UNAVAILABLE, book.authorIds(), version, null));
+        }
+
+        assertThat(catalog.garbageBytes()).isZero();
+        assertThat(catalog.allocatedBytes()).isEqualTo(allocated);
+        assertThat(catalog.findBook(book.id())).hasValueSatisfying(value -> {
+            assertThat(value.getTitle()).isEqualTo("A Hora da Estrela");
+            assertThat(value.getStatus()).isEqualTo(Status.UNAVAILABLE);
+            assertThat(value.getAuthors()).extracting(Author::getId).containsExactly(author.id());
+        });
+    }
+
+    @Test
+    @DisplayName("Should keep only the live summaries when the catalog is compacted.")
+    void shouldKeepOnlyTheLiveSummaries_whenTheCatalogIsCompacted() {
+        catalog.putAuthor(author);
+        catalog.putBook(book);
+        catalog.putBook(new CatalogSnapshot.BookEntry(book.id(), "A Hora da Estrela (edição revista)",
+                book.publicationDate(), Status.UNAVAILABLE, book.authorIds(), 5L, null));
+        UUID removed = UUID.randomUUID();
+        catalog.putBook(new CatalogSnapshot.BookEntry(removed, "Laços de Família", null, Status.AVAILABLE,
+                List.of(author.id()), 0L, null));
+        catalog.removeBook(removed);
+
+        OffHeapCatalog compacted = catalog.compacted();
+
+        assertThat(compacted.garbageBytes()).isZero();
+        assertThat(compacted.liveBytes()).isEqualTo(catalog.liveBytes());
+        assertThat(compacted.findBook(removed)).isEmpty();
+        assertThat(compacted.findBook(book.id())).hasValueSatisfying(value -> {
+            assertThat(value.getTitle()).isEqualTo("A Hora da Estrela (edição revista)");
+            assertThat(value.getVersion()).isEqualTo(5L);
+            assertThat(value.getAuthors()).singleElement().satisfies(bookAuthor -> {
+                assertThat(bookAuthor.getNationality()).isEqualTo("Brasileira");
+                assertThat(bookAuthor.getLastModified()).isEqualTo(author.lastModified());
+            });
+        });
+    }
+
+    @Test
+    @DisplayName("Should stop finding the book when it is removed.")
+    void shouldStopFindingTheBook_whenItIsRemoved() {
+        catalog.putBook(book);
+
+        boolean removed = catalog.removeBook(book.id());
+
+        assertThat(removed).isTrue();
+        assertThat(catalog.findBook(book.id())).isEmpty();
+        assertThat(catalog.bookVersion(book.id())).isEmpty();
+        assertThat(catalog.bookCount()).isZero();
+        assertThat(catalog.removeBook(book.id())).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should find every book when the index grows past its initial capacity after removals.")
+    void shouldFindEveryBook_whenTheIndexGrowsPastItsInitialCapacityAfterRemovals() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            catalog.putBook(new CatalogSnapshot.BookEntry(id, "Livro " + i, LocalDate.of(2000, 1, 1),
+                    Status.AVAILABLE, List.of(), (long) i, null));
+            if (i % 3 == 0) {
+                catalog.removeBook(id);
+            }
+        }
+
+        assertThat(catalog.bookCount()).isEqualTo(5000 - 1667);
+        for (int i = 0; i < ids.size(); i++) {
+            if (i % 3 == 0) {
+                assertThat(catalog.findBook(ids.get(i))).isEmpty();
+            } else {
+                assertThat(catalog.bookVersion(ids.get(i))).contains((long) i);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should skip the authors that are not stored when the book is materialized.")
+    void shouldSkipTheAuthorsThatAreNotStored_whenTheBookIsMaterialized() {
+        catalog.putAuthor(author);
+        catalog.putBook(book);
+
+        catalog.removeAuthor(author.id());
+
+        assertThat(catalog.findBook(book.id()))
+                .hasValueSatisfying(value -> assertThat(value.getAuthors()).extracting(Author::getId).isEmpty());
+        assertThat(catalog.authorCount()).isZero();
+    }
+}
@@ -0,0 +1,87 @@
+package com.luis.aguiar.indexes;
+
+import com.luis.aguiar.enums.ChangeType;
+import com.luis.aguiar.enums.Status;
+import com.luis.aguiar.events.BookChangedEvent;
+import com.luis.aguiar.events.BookState;
+import com.luis.aguiar.repositories.BookFacetView;
+import com.luis.aguiar.repositories.BookRepository;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.time.LocalDate;
+import java.util.*;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PublicationYearHistogramTest {
+    @Mock
+    private BookRepository repository;
+    @InjectMocks
+    private PublicationYearHistogram histogram;
+    private UUID id;
+
+    @BeforeEach
+    void setup() {
+        id = UUID.randomUUID();
+        given(repository.findAllFacets()).willReturn(List.of(
+                book(id, LocalDate.of(1954, 7, 29)),
+                book(UUID.randomUUID(), LocalDate.of(1954, 1, 1)),
+                book(UUID.randomUUID(), LocalDate.of(1960, 5, 5))
+        ));
+        histogram.rebuild();
+    }
+
+    @Test
+    @DisplayName("Should count the books of each year when the histogram is rebuilt.")
+    void shouldCountTheBooksOfEachYear_whenTheHistogramIsRebuilt() {
+        assertThat(histogram.isReady()).isTrue();
+        assertThat(histogram.histogram(null, null)).containsExactly(entry(1954, 2L), entry(1960, 1L));
+        assertThat(histogram.histogram(1955, null)).containsExactly(entry(1960, 1L));
+    }
+
+    @Test
+    @DisplayName("Should grow to earlier and later years and move books between years when BookChangedEvents are received.")
+    void shouldGrowToEarlierAndLaterYearsAndMoveBooks_whenBookChangedEventsAreReceived() {
+        BookChangedEvent moved = new BookChangedEvent(id, ChangeType.UPDATED,
+                state(LocalDate.of(1954, 7, 29)), state(LocalDate.of(1869, 1, 1)));
+
+        histogram.onBookChanged(moved);
+        histogram.onBookChanged(moved);
+        histogram.onBookChanged(new BookChangedEvent(UUID.randomUUID(), ChangeType.CREATED,
+                null, state(LocalDate.of(2001, 3, 3))));
+
+        assertThat(histogram.histogram(null, null))
+                .containsExactly(entry(1869, 1L), entry(1954, 1L), entry(1960, 1L), entry(2001, 1L));
+
+        histogram.onBookChanged(new BookChangedEvent(id, ChangeType.DELETED, state(LocalDate.of(1869, 1, 1)), null));
+
+        assertThat(histogram.histogram(null, 1900)).isEmpty();
+    }
+
+    private static BookState state(LocalDate publicationDate) {
+        return new BookState(Status.AVAILABLE, publicationDate);
+    }
+
+    private static BookFacetView book(UUID id, LocalDate publicationDate) {
+        return new BookFacetView() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public Status getStatus() {
+                return Status.AVAILABLE;
+            }
+
+            @Override
+            public LocalDate getPublicationDate() {
+                return publicationDate;
+            }
+        };
+    }
+}
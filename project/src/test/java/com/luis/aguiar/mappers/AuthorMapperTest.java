@@ -2,7 +2,7 @@ package com.luis.aguiar.mappers;
 
 import com.luis.aguiar.dto.AuthorCreateDto;
 import com.luis.aguiar.dto.AuthorResponseDto;
-import com.luis.aguiar.dto.BookResponseDto;
+import com.luis.aguiar.dto.BookSummaryDto;
 import com.luis.aguiar.enums.Status;
 import com.luis.aguiar.models.Author;
 import com.luis.aguiar.models.Book;
@@ -10,7 +10,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.UUID;
 import static org.assertj.core.api.Assertions.*;
 
@@ -28,7 +30,9 @@ class AuthorMapperTest {
                 "Christie",
                 LocalDate.of(1980, 10, 20),
                 "British",
-                new HashSet<>()
+                new HashSet<>(),
+                null,
+                null
         );
         responseDto = new AuthorResponseDto(
                 UUID.randomUUID(),
@@ -36,7 +40,10 @@ class AuthorMapperTest {
                 "Christie",
                 LocalDate.of(1980, 10, 10),
                 "British",
-                new HashSet<>()
+                0,
+                new ArrayList<>(),
+                null,
+                null
         );
         createDto = new AuthorCreateDto(
                 "Agatha",
@@ -56,7 +63,9 @@ class AuthorMapperTest {
                     new HashSet<>(),
                     new HashSet<>(),
                     LocalDate.of(1920, 10, 10),
-                    Status.AVAILABLE
+                    Status.AVAILABLE,
+                    null,
+                    null
         ));
 
         AuthorResponseDto dto = AuthorMapper.toResponseDto(author);
@@ -72,16 +81,29 @@ class AuthorMapperTest {
         assertThat(author.getBooks().iterator().next().getTitle()).isEqualTo("O Senhor dos Anéis");
     }
 
+    @Test
+    @DisplayName("Should carry the book count and summaries given when an author is mapped with its books.")
+    void shouldCarryTheBookCountAndSummariesGiven_whenAnAuthorIsMappedWithItsBooks() {
+        BookSummaryDto summary = new BookSummaryDto(UUID.randomUUID(), "Assassinato no Expresso do Oriente",
+                LocalDate.of(1934, 1, 1), Status.AVAILABLE, 0L);
+
+        AuthorResponseDto dto = AuthorMapper.toResponseDto(author, 66, List.of(summary));
+
+        assertThat(dto.getId()).isEqualTo(author.getId());
+        assertThat(dto.getBookCount()).isEqualTo(66);
+        assertThat(dto.getBooks()).containsExactly(summary);
+    }
+
     @Test
     @DisplayName("Should return an Author when a valid Author Response Dto is passed as an argument.")
     void shouldReturnAnAuthor_whenAnValidAuthorResponseDtoIsPassedAsAnArgument() {
         responseDto.getBooks().add(
-                new BookResponseDto(
+                new BookSummaryDto(
                     UUID.randomUUID(),
                     "O Senhor dos Anéis",
                     LocalDate.of(1920, 10, 10),
                     Status.AVAILABLE,
-                    new HashSet<>()
+                    null
                 )
         );
 
@@ -36,14 +36,18 @@ class BookMapperTest {
                 new HashSet<>(),
                 new HashSet<>(),
                 LocalDate.of(1920, 10, 10),
-                Status.AVAILABLE
+                Status.AVAILABLE,
+                null,
+                null
         );
         responseDto = new BookResponseDto(
                 UUID.randomUUID(),
                 "O Senhor dos Anéis",
                 LocalDate.of(1920, 10, 10),
                 Status.AVAILABLE,
-                new HashSet<>()
+                new HashSet<>(),
+                null,
+                null
         );
         author = new Author(
                 UUID.randomUUID(),
@@ -51,7 +55,9 @@ class BookMapperTest {
                 "Christie",
                 LocalDate.of(1980, 10, 20),
                 "British",
-                new HashSet<>()
+                new HashSet<>(),
+                null,
+                null
         );
     }
 
@@ -80,12 +86,29 @@ class BookMapperTest {
         assertThat(responseDto.getAuthors().size()).isEqualTo(book.getAuthors().size());
     }
 
+    @Test
+    @DisplayName("Should return a CompactBookDto with inline author summaries when a valid Book is passed as an argument to toCompactDto method.")
+    void shouldReturnACompactBookDto_whenAValidBookIsPassedAsAnArgumentToToCompactDtoMethod() {
+        book.getAuthors().add(author);
+
+        var compactDto = BookMapper.toCompactDto(book);
+
+        assertThat(compactDto).isNotNull();
+        assertThat(compactDto.id()).isEqualTo(book.getId());
+        assertThat(compactDto.title()).isEqualTo(book.getTitle());
+        assertThat(compactDto.status()).isEqualTo(book.getStatus());
+        assertThat(compactDto.authors()).hasSize(1);
+        assertThat(compactDto.authors().get(0).id()).isEqualTo(author.getId());
+        assertThat(compactDto.authors().get(0).lastName()).isEqualTo("Christie");
+        assertThat(compactDto.authors().get(0).version()).isEqualTo(author.getVersion());
+    }
+
     @Test
     @DisplayName("Should return a Book when a valid BookResponseDto is passed as an argument to toBook method.")
     void shouldReturnABook_whenAValidBookResponseDtoIsPassedAsAnArgumentToToBookMethod() {
         responseDto.getAuthors().add(
                 linkTo(methodOn(AuthorController.class)
-                    .findAuthorById(author.getId()))
+                    .findAuthorById(author.getId(), null))
                     .withSelfRel()
                     .withType(HttpMethod.GET.name())
         );
@@ -100,6 +123,28 @@ class BookMapperTest {
         assertThat(book.getPublicationDate()).isEqualTo(responseDto.getPublicationDate());
     }
 
+    @Test
+    @DisplayName("Should return an independent copy when a BookResponseDto is passed as an argument to copyOf method.")
+    void shouldReturnAnIndependentCopy_whenABookResponseDtoIsPassedAsAnArgumentToCopyOfMethod() {
+        responseDto.getAuthors().add(
+                linkTo(methodOn(AuthorController.class)
+                    .findAuthorById(author.getId(), null))
+                    .withSelfRel()
+        );
+
+        var copy = BookMapper.copyOf(responseDto);
+        copy.add(linkTo(methodOn(AuthorController.class)
+                .findAuthorById(author.getId(), null))
+                .withRel("author"));
+        copy.getAuthors().clear();
+
+        assertThat(copy).isNotSameAs(responseDto);
+        assertThat(copy.getId()).isEqualTo(responseDto.getId());
+        assertThat(copy.getTitle()).isEqualTo(responseDto.getTitle());
+        assertThat(responseDto.getLinks()).isEmpty();
+        assertThat(responseDto.getAuthors()).hasSize(1);
+    }
+
     @Test
     @DisplayName("Should throw an Exception when the book passed as an argument to toResponseDto method is null.")
     void shouldThrowAnException_whenTheBookPassedAsAnArgumentToToResponseDtoMethodIsNull() {
@@ -28,7 +28,9 @@ class LoanMapperTest {
             new HashSet<>(),
             new HashSet<>(),
             LocalDate.of(1920, 10, 10),
-            Status.AVAILABLE
+            Status.AVAILABLE,
+            null,
+            null
         );
         user = new User(
             UUID.randomUUID(),
@@ -0,0 +1,86 @@
+package com.luis.aguiar.repositories;
+
+import com.luis.aguiar.enums.Status;
+import com.luis.aguiar.models.Author;
+import com.luis.aguiar.models.Book;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+class AuthorRepositoryTest {
+    @Autowired
+    private AuthorRepository repository;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setup() {
+        bookRepository.deleteAll();
+        repository.deleteAll();
+        repository.saveAllAndFlush(List.of(
+                author("Émile", "Zola"),
+                author("Stefan", "Zweig"),
+                author("Carlos", "Zéfiro"),
+                author("José", "Saramago")
+        ));
+    }
+
+    @Test
+    @DisplayName("Should page the authors whose last name starts with the prefix, ignoring accents, when searched by last name.")
+    void shouldPageTheAuthorsWhoseLastNameStartsWithThePrefixIgnoringAccents_whenSearchedByLastName() {
+        var first = repository.searchByLastName("z%", "z", new UUID(0, 0), "{", PageRequest.ofSize(2));
+        Author last = first.get(first.size() - 1);
+        var second = repository.searchByLastName("z%", last.getNormalizedLastName(), last.getId(), "{", PageRequest.ofSize(2));
+
+        assertThat(first).extracting(Author::getLastName).containsExactly("Zéfiro", "Zola");
+        assertThat(second).extracting(Author::getLastName).containsExactly("Zweig");
+    }
+
+    @Test
+    @DisplayName("Should find the author by the start of the full name when searched by full name.")
+    void shouldFindTheAuthorByTheStartOfTheFullName_whenSearchedByFullName() {
+        var found = repository.searchByFullName("jose sa%", "jose sa", new UUID(0, 0), "jose sb", PageRequest.ofSize(10));
+
+        assertThat(found).extracting(Author::getLastName).containsExactly("Saramago");
+        assertThat(repository.searchByFullName("jose\\_%", "jose_", new UUID(0, 0), null, PageRequest.ofSize(10))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should fix the drifted book counts and filter by them when recountBookCount method is called.")
+    void shouldFixTheDriftedBookCountsAndFilterByThem_whenRecountBookCountMethodIsCalled() {
+        Author zola = repository.searchByLastName("zola%", "zola", new UUID(0, 0), "zolb", PageRequest.ofSize(1)).get(0);
+        Book germinal = new Book(null, "Germinal", new HashSet<>(Set.of(zola)), new HashSet<>(),
+                LocalDate.of(1885, 3, 1), Status.AVAILABLE, null, null);
+        bookRepository.saveAndFlush(germinal);
+        repository.addToBookCount(zola.getId(), 5);
+
+        List<UUID> drifted = repository.findIdsWithDriftedBookCount();
+        assertThat(drifted).containsExactly(zola.getId());
+        assertThat(repository.lockById(zola.getId())).contains(zola.getId());
+        int fixed = repository.recountBookCount(zola.getId());
+        entityManager.clear();
+
+        assertThat(fixed).isEqualTo(1);
+        assertThat(repository.findByBookCountBetween(1, 1, PageRequest.ofSize(10)))
+                .extracting(Author::getLastName)
+                .containsExactly("Zola");
+        assertThat(repository.findIdsWithDriftedBookCount()).isEmpty();
+    }
+
+    private static Author author(String firstName, String lastName) {
+        return new Author(null, firstName, lastName, LocalDate.of(1900, 1, 1), "Unknown", new HashSet<>(), null, null);
+    }
+}
@@ -0,0 +1,73 @@
+package com.luis.aguiar.repositories;
+
+import com.luis.aguiar.enums.Status;
+import com.luis.aguiar.models.Author;
+import com.luis.aguiar.models.Book;
+import com.luis.aguiar.repositories.AuthorshipBulkRepository.Authorship;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+@Import(AuthorshipBulkRepository.class)
+class AuthorshipBulkRepositoryTest {
+    @Autowired
+    private AuthorshipBulkRepository bulkRepository;
+    @Autowired
+    private BookRepository bookRepository;
+    @Autowired
+    private AuthorRepository authorRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+    private Author tolkien;
+    private Book hobbit;
+    private Book silmarillion;
+
+    @BeforeEach
+    void setup() {
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+
+        tolkien = authorRepository.saveAndFlush(new Author(null, "John", "Tolkien", LocalDate.of(1892, 1, 3),
+                "British", new HashSet<>(), null, null));
+        hobbit = bookRepository.saveAndFlush(book("O Hobbit"));
+        silmarillion = bookRepository.saveAndFlush(book("O Silmarillion"));
+        hobbit.getAuthors().add(tolkien);
+        hobbit = bookRepository.saveAndFlush(hobbit);
+    }
+
+    @Test
+    @DisplayName("Should insert only the new pairs of existing ids and bump their counters when associate method is called.")
+    void shouldInsertOnlyTheNewPairsOfExistingIdsAndBumpTheirCounters_whenAssociateMethodIsCalled() {
+        UUID missingBook = UUID.randomUUID();
+        Authorship existing = new Authorship(tolkien.getId(), hobbit.getId());
+        Authorship added = new Authorship(tolkien.getId(), silmarillion.getId());
+        Long hobbitVersion = hobbit.getVersion();
+
+        var result = bulkRepository.associate(List.of(existing, added, added,
+                new Authorship(tolkien.getId(), missingBook)));
+
+        assertThat(result.inserted()).containsExactly(added);
+        assertThat(result.missingBooks()).containsExactly(missingBook);
+        assertThat(result.missingAuthors()).isEmpty();
+        entityManager.clear();
+        assertThat(authorRepository.findById(tolkien.getId()))
+                .hasValueSatisfying(author -> assertThat(author.getBookCount()).isEqualTo(1));
+        assertThat(bookRepository.findVersionById(silmarillion.getId())).contains(silmarillion.getVersion() + 1);
+        assertThat(bookRepository.findVersionById(hobbit.getId())).contains(hobbitVersion);
+    }
+
+    private static Book book(String title) {
+        return new Book(null, title, new HashSet<>(), new HashSet<>(), LocalDate.of(1937, 9, 21),
+                Status.AVAILABLE, null, null);
+    }
+}
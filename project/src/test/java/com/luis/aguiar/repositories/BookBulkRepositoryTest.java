@@ -0,0 +1,50 @@
+package com.luis.aguiar.repositories;
+
+import com.luis.aguiar.enums.Status;
+import com.luis.aguiar.models.Book;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+@Import(BookBulkRepository.class)
+class BookBulkRepositoryTest {
+    @Autowired
+    private BookBulkRepository bulkRepository;
+    @Autowired
+    private BookRepository repository;
+
+    @BeforeEach
+    void setup() {
+        repository.deleteAll();
+        repository.saveAndFlush(book(null, "O Senhor dos Anéis"));
+    }
+
+    @Test
+    @DisplayName("Should insert only the books whose titles are not registered when insertIgnoringDuplicates method is called.")
+    void shouldInsertOnlyTheBooksWhoseTitlesAreNotRegistered_whenInsertIgnoringDuplicatesMethodIsCalled() {
+        Book hobbit = book(UUID.randomUUID(), "O Hobbit");
+        Book duplicate = book(UUID.randomUUID(), "O Senhor dos Anéis");
+        Book repeated = book(UUID.randomUUID(), "O Hobbit");
+
+        var inserted = bulkRepository.insertIgnoringDuplicates(List.of(hobbit, duplicate, repeated));
+
+        assertThat(inserted).containsExactly(hobbit.getId());
+        assertThat(repository.findAll()).extracting(Book::getTitle)
+                .containsExactlyInAnyOrder("O Senhor dos Anéis", "O Hobbit");
+        assertThat(repository.findVersionById(hobbit.getId())).contains(0L);
+    }
+
+    private static Book book(UUID id, String title) {
+        return new Book(id, title, new HashSet<>(), new HashSet<>(), LocalDate.of(1937, 9, 21),
+                Status.AVAILABLE, null, null);
+    }
+}
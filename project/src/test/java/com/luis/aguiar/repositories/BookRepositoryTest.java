@@ -8,11 +8,13 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.UUID;
 import static org.assertj.core.api.Assertions.*;
 
 @DataJpaTest
@@ -37,7 +39,9 @@ class BookRepositoryTest {
                 "Christie",
                 LocalDate.of(1940, 10, 10),
                 "British",
-                new HashSet<>()
+                new HashSet<>(),
+                null,
+                null
         );
         author2 = new Author(
                 null,
@@ -45,7 +49,9 @@ class BookRepositoryTest {
                 "Tolkien",
                 LocalDate.of(1940, 10, 10),
                 "British",
-                new HashSet<>()
+                new HashSet<>(),
+                null,
+                null
         );
 
         authorRepository.save(author1);
@@ -57,7 +63,9 @@ class BookRepositoryTest {
                 new HashSet<>(Collections.singleton(author2)),
                 new HashSet<>(),
                 LocalDate.of(1920, 10, 10),
-                Status.AVAILABLE
+                Status.AVAILABLE,
+                null,
+                null
         );
         book2 = new Book(
                 null,
@@ -65,7 +73,9 @@ class BookRepositoryTest {
                 new HashSet<>(Collections.singleton(author1)),
                 new HashSet<>(),
                 LocalDate.of(1920, 10, 10),
-                Status.UNAVAILABLE
+                Status.UNAVAILABLE,
+                null,
+                null
         );
 
         repository.save(book1);
@@ -129,4 +139,125 @@ class BookRepositoryTest {
         assertThat(findBooks.size()).isEqualTo(1);
         assertThat(findBooks.iterator().next().getTitle()).isEqualTo("E Não Sobrou Nenhum");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should return the books matching every filter passed as an argument to search method.")
+    void shouldReturnTheBooksMatchingEveryFilter_whenFiltersArePassedAsArgumentsToSearchMethod() {
+        LocalDate from = LocalDate.of(1920, 1, 1);
+        LocalDate to = LocalDate.of(1930, 1, 1);
+
+        var findBooks = repository.search(null, "British", null, null, Pageable.unpaged());
+
+        assertThat(findBooks.size()).isEqualTo(2);
+
+        findBooks = repository.search(Status.AVAILABLE, "British", from, to, Pageable.unpaged());
+
+        assertThat(findBooks.size()).isEqualTo(1);
+        assertThat(findBooks.iterator().next().getTitle()).isEqualTo("O Senhor dos Anéis");
+
+        findBooks = repository.search(null, "Russian", null, null, Pageable.unpaged());
+
+        assertThat(findBooks).isEmpty();
+
+        findBooks = repository.search(null, null, to, LocalDate.of(1940, 1, 1), Pageable.unpaged());
+
+        assertThat(findBooks).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should return the books published between the dates passed as arguments to findByPublicationDateBetween method.")
+    void shouldReturnTheBooksPublishedBetweenTheDates_whenTheyArePassedToFindByPublicationDateBetweenMethod() {
+        var findBooks = repository.findByPublicationDateBetween(
+                LocalDate.of(1920, 1, 1), LocalDate.of(1920, 12, 31), Pageable.unpaged());
+
+        assertThat(findBooks.size()).isEqualTo(2);
+
+        findBooks = repository.findByPublicationDateBetween(
+                LocalDate.of(1921, 1, 1), LocalDate.of(1930, 1, 1), Pageable.unpaged());
+
+        assertThat(findBooks).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should return the current version of a book when its id is passed as an argument to findVersionById method.")
+    void shouldReturnTheCurrentVersionOfABook_whenItsIdIsPassedAsAnArgumentToFindVersionByIdMethod() {
+        var version = repository.findVersionById(book1.getId());
+
+        assertThat(version).isPresent();
+        assertThat(version.get()).isEqualTo(0L);
+
+        version = repository.findVersionById(UUID.randomUUID());
+
+        assertThat(version).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should stream one row per book and author, grouped by book, when streamExport method is called.")
+    void shouldStreamOneRowPerBookAndAuthorGroupedByBook_whenStreamExportMethodIsCalled() {
+        book1.getAuthors().add(author1);
+        repository.saveAndFlush(book1);
+
+        try (var rows = repository.streamExport()) {
+            var exported = rows.toList();
+
+            assertThat(exported).hasSize(3);
+            assertThat(exported).extracting(BookExportView::getId)
+                    .containsSubsequence(book1.getId(), book1.getId())
+                    .containsOnly(book1.getId(), book2.getId());
+            assertThat(exported).filteredOn(row -> row.getId().equals(book2.getId()))
+                    .singleElement()
+                    .satisfies(row -> {
+                        assertThat(row.getTitle()).isEqualTo("E Não Sobrou Nenhum");
+                        assertThat(row.getAuthorLastName()).isEqualTo("Christie");
+                    });
+        }
+    }
+
+    @Test
+    @DisplayName("Should return only the latest books of each author when they are limited.")
+    void shouldReturnOnlyTheLatestBooksOfEachAuthor_whenTheyAreLimited() {
+        Book book3 = new Book(null, "O Hobbit", new HashSet<>(Collections.singleton(author2)), new HashSet<>(),
+                LocalDate.of(1937, 9, 21), Status.AVAILABLE, null, null);
+        repository.saveAndFlush(book3);
+        List<UUID> authorIds = List.of(author1.getId(), author2.getId());
+
+        var latest = repository.findLatestByAuthorIdIn(authorIds, 1);
+
+        assertThat(latest).extracting(AuthorBookView::getAuthorId, AuthorBookView::getTitle)
+                .containsExactlyInAnyOrder(tuple(author1.getId(), "E Não Sobrou Nenhum"),
+                        tuple(author2.getId(), "O Hobbit"));
+    }
+
+    @Test
+    @DisplayName("Should return the next books of the author in id order when the last seen id is passed as after.")
+    void shouldReturnTheNextBooksOfTheAuthorInIdOrder_whenTheLastSeenIdIsPassedAsAfter() {
+        Book book3 = new Book(null, "O Hobbit", new HashSet<>(Collections.singleton(author2)), new HashSet<>(),
+                LocalDate.of(1937, 9, 21), Status.AVAILABLE, null, null);
+        repository.saveAndFlush(book3);
+
+        var first = repository.findByAuthorIdAfter(author2.getId(), new UUID(0, 0), PageRequest.ofSize(1));
+        var second = repository.findByAuthorIdAfter(author2.getId(), first.get(0).getId(), PageRequest.ofSize(1));
+        var third = repository.findByAuthorIdAfter(author2.getId(), second.get(0).getId(), PageRequest.ofSize(1));
+
+        assertThat(List.of(first.get(0).getId(), second.get(0).getId()))
+                .containsExactlyInAnyOrder(book1.getId(), book3.getId());
+        assertThat(third).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should count every book once per author nationality when countByAuthorNationality method is called.")
+    void shouldCountEveryBookOncePerAuthorNationality_whenCountByAuthorNationalityMethodIsCalled() {
+        Author author3 = authorRepository.save(new Author(null, "Stephen", "King", LocalDate.of(1947, 9, 21),
+                "American", new HashSet<>(), null, null));
+        book1.getAuthors().add(author1);
+        book1.getAuthors().add(author3);
+        repository.saveAndFlush(book1);
+
+        var counts = repository.countByAuthorNationality();
+
+        assertThat(counts).extracting(NationalityCountView::getNationality, NationalityCountView::getCount)
+                .containsExactlyInAnyOrder(tuple("British", 2L), tuple("American", 1L));
+        assertThat(repository.countGroupedByStatus()).extracting(StatusCountView::getStatus, StatusCountView::getCount)
+                .containsExactlyInAnyOrder(tuple(Status.AVAILABLE, 1L), tuple(Status.UNAVAILABLE, 1L));
+    }
+}
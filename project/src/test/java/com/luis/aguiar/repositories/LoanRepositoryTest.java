@@ -37,7 +37,9 @@ class LoanRepositoryTest {
                 new HashSet<>(),
                 new HashSet<>(),
                 LocalDate.of(1920, 10, 10),
-                Status.AVAILABLE
+                Status.AVAILABLE,
+                null,
+                null
         );
         user = new User(
                 null,
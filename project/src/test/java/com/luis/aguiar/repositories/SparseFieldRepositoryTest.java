@@ -0,0 +1,76 @@
+package com.luis.aguiar.repositories;
+
+import com.luis.aguiar.enums.Status;
+import com.luis.aguiar.models.Book;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+@Import(SparseFieldRepository.class)
+class SparseFieldRepositoryTest {
+    @Autowired
+    private SparseFieldRepository sparseRepository;
+    @Autowired
+    private BookRepository repository;
+    private Book book;
+
+    @BeforeEach
+    void setup() {
+        repository.deleteAll();
+
+        book = repository.save(new Book(
+                null,
+                "O Senhor dos Anéis",
+                new HashSet<>(),
+                new HashSet<>(),
+                LocalDate.of(1920, 10, 10),
+                Status.AVAILABLE,
+                null,
+                null
+        ));
+        repository.save(new Book(
+                null,
+                "E Não Sobrou Nenhum",
+                new HashSet<>(),
+                new HashSet<>(),
+                LocalDate.of(1920, 10, 10),
+                Status.UNAVAILABLE,
+                null,
+                null
+        ));
+    }
+
+    @Test
+    @DisplayName("Should return only the requested attributes of the rows matching the specification.")
+    void shouldReturnOnlyTheRequestedAttributes_ofTheRowsMatchingTheSpecification() {
+        Specification<Book> available = (root, query, builder) -> builder.equal(root.get("status"), Status.AVAILABLE);
+
+        List<Map<String, Object>> rows = sparseRepository.findAll(
+                Book.class, List.of("id", "title"), available, PageRequest.of(0, 10));
+
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0)).containsOnlyKeys("id", "title");
+        assertThat(rows.get(0)).containsEntry("id", book.getId());
+        assertThat(rows.get(0)).containsEntry("title", "O Senhor dos Anéis");
+    }
+
+    @Test
+    @DisplayName("Should page the rows when no specification is passed.")
+    void shouldPageTheRows_whenNoSpecificationIsPassed() {
+        List<Map<String, Object>> rows = sparseRepository.findAll(
+                Book.class, List.of("id"), null, PageRequest.of(0, 1));
+
+        assertThat(rows).hasSize(1);
+    }
+}
@@ -1,8 +1,13 @@
 package com.luis.aguiar.services;
 
 import com.luis.aguiar.dto.AuthorResponseDto;
+import com.luis.aguiar.dto.BookSummaryDto;
+import com.luis.aguiar.dto.RelatedAuthorDto;
+import com.luis.aguiar.enums.AuthorNameField;
 import com.luis.aguiar.enums.Status;
+import com.luis.aguiar.exceptions.InvalidRequestException;
 import com.luis.aguiar.exceptions.EntityNotFoundException;
+import com.luis.aguiar.indexes.CoAuthorGraph;
 import com.luis.aguiar.models.Author;
 import com.luis.aguiar.models.Book;
 import com.luis.aguiar.repositories.*;
@@ -11,7 +16,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
+import org.springframework.test.util.ReflectionTestUtils;
 import java.time.*;
 import java.util.*;
 import static org.mockito.BDDMockito.*;
@@ -23,6 +30,10 @@ class AuthorServiceTest {
     AuthorRepository authorRepository;
     @Mock
     BookRepository bookRepository;
+    @Mock
+    ApplicationEventPublisher publisher;
+    @Mock
+    CoAuthorGraph coAuthors;
     @InjectMocks
     AuthorService service;
     private Author author1;
@@ -37,7 +48,9 @@ class AuthorServiceTest {
                 "Tolstói",
                 LocalDate.of(1828, 9, 9),
                 "Russian",
-                new HashSet<>()
+                new HashSet<>(),
+                null,
+                null
         );
         author2 = new Author(
                 UUID.randomUUID(),
@@ -45,7 +58,9 @@ class AuthorServiceTest {
                 "Dumas",
                 LocalDate.of(1802, 6, 24),
                 "French",
-                new HashSet<>()
+                new HashSet<>(),
+                null,
+                null
         );
         book = new Book(
                 UUID.randomUUID(),
@@ -53,7 +68,9 @@ class AuthorServiceTest {
                 new HashSet<>(),
                 new HashSet<>(),
                 LocalDate.of(1867, 10, 10),
-                Status.AVAILABLE
+                Status.AVAILABLE,
+                null,
+                null
         );
     }
 
@@ -102,6 +119,122 @@ class AuthorServiceTest {
         then(authorRepository).shouldHaveNoMoreInteractions();
     }
 
+    @Test
+    @DisplayName("Should return the book count and summaries of each author when the findAll method is called.")
+    void shouldReturnTheBookCountAndSummariesOfEachAuthor_whenTheFindAllMethodIsCalled() {
+        // given
+        ReflectionTestUtils.setField(service, "bookSummaries", 5);
+        ReflectionTestUtils.setField(author1, "bookCount", 7L);
+        List<UUID> ids = List.of(author1.getId(), author2.getId());
+        given(authorRepository.findAll(PageRequest.of(0, 2))).willReturn(new PageImpl<>(List.of(author1, author2)));
+        given(bookRepository.findLatestByAuthorIdIn(ids, 5)).willReturn(List.of(summary(author1.getId(), book)));
+
+        // when
+        List<AuthorResponseDto> authors = service.findAll(0, 2);
+
+        // then
+        assertThat(authors.get(0).getBookCount()).isEqualTo(7);
+        assertThat(authors.get(0).getBooks()).extracting(BookSummaryDto::title).containsExactly("Guerra e Paz");
+        assertThat(authors.get(1).getBookCount()).isZero();
+        assertThat(authors.get(1).getBooks()).isEmpty();
+
+        // verify
+        then(bookRepository).should(times(1)).findLatestByAuthorIdIn(ids, 5);
+        then(bookRepository).shouldHaveNoMoreInteractions();
+    }
+
+    @Test
+    @DisplayName("Should throw an exception when a non-existing ID is passed as an argument to findBooks method.")
+    void shouldThrowAnException_whenANonExistingIdIsPassedAsAnArgumentToFindBooksMethod() {
+        // given
+        given(bookRepository.findByAuthorIdAfter(any(UUID.class), any(UUID.class), any(Pageable.class)))
+                .willReturn(List.of());
+        given(authorRepository.existsById(any(UUID.class))).willReturn(false);
+
+        // when & then
+        assertThatThrownBy(() -> service.findBooks(UUID.randomUUID(), null, 10))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessage("There is no author for this id.");
+    }
+
+    @Test
+    @DisplayName("Should start after the given book when an after ID is passed as an argument to findBooks method.")
+    void shouldStartAfterTheGivenBook_whenAnAfterIdIsPassedAsAnArgumentToFindBooksMethod() {
+        // given
+        UUID after = UUID.randomUUID();
+        given(bookRepository.findByAuthorIdAfter(author1.getId(), after, PageRequest.ofSize(1)))
+                .willReturn(List.of(summary(author1.getId(), book)));
+
+        // when
+        List<BookSummaryDto> books = service.findBooks(author1.getId(), after, 1);
+
+        // then
+        assertThat(books).extracting(BookSummaryDto::id).containsExactly(book.getId());
+
+        // verify
+        then(authorRepository).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("Should return the co-authors in graph order when the graph is ready and findRelated method is called.")
+    void shouldReturnTheCoAuthorsInGraphOrder_whenTheGraphIsReadyAndFindRelatedMethodIsCalled() {
+        // given
+        given(coAuthors.isReady()).willReturn(true);
+        given(coAuthors.related(author1.getId(), 5))
+                .willReturn(List.of(new CoAuthorGraph.Related(author2.getId(), 3)));
+        given(authorRepository.findAllById(Set.of(author2.getId()))).willReturn(List.of(author2));
+
+        // when
+        List<RelatedAuthorDto> related = service.findRelated(author1.getId(), 5);
+
+        // then
+        assertThat(related).containsExactly(new RelatedAuthorDto(author2.getId(), "Alexandre", "Dumas", 3));
+
+        // verify
+        then(bookRepository).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("Should throw an exception when an author without co-authors does not exist in findRelated method.")
+    void shouldThrowAnException_whenAnAuthorWithoutCoAuthorsDoesNotExistInFindRelatedMethod() {
+        // given
+        UUID unknown = UUID.randomUUID();
+        given(coAuthors.isReady()).willReturn(false);
+        given(bookRepository.findCoAuthors(unknown, PageRequest.ofSize(10))).willReturn(List.of());
+        given(authorRepository.existsById(unknown)).willReturn(false);
+
+        // when & then
+        assertThatThrownBy(() -> service.findRelated(unknown, 10))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessage("There is no author for this id.");
+    }
+
+    @Test
+    @DisplayName("Should search by the normalized, escaped prefix when the search method is called.")
+    void shouldSearchByTheNormalizedEscapedPrefix_whenTheSearchMethodIsCalled() {
+        // given
+        given(authorRepository.searchByLastName("tolsto\\_%", "tolsto_", new UUID(0, 0), "tolstp", PageRequest.ofSize(5)))
+                .willReturn(List.of(author1));
+
+        // when
+        var authors = service.search("  TOLSTÓ_", AuthorNameField.LAST_NAME, null, 5);
+
+        // then
+        assertThat(authors).singleElement().satisfies(author -> assertThat(author.lastName()).isEqualTo("Tolstói"));
+
+        // verify
+        then(authorRepository).shouldHaveNoMoreInteractions();
+    }
+
+    @Test
+    @DisplayName("Should throw an exception when a blank prefix is passed as an argument to search method.")
+    void shouldThrowAnException_whenABlankPrefixIsPassedAsAnArgumentToSearchMethod() {
+        assertThatThrownBy(() -> service.search("   ", AuthorNameField.FULL_NAME, null, 5))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("The name prefix can't be blank.");
+        then(authorRepository).shouldHaveNoInteractions();
+    }
+
     @Test
     @DisplayName("Should return an Author when an existing ID is passed as an argument to findById method.")
     void shouldReturnAnAuthor_whenAnExistingIdIsPassedAsAnArgumentToFindByIdMethod() {
@@ -233,6 +366,7 @@ class AuthorServiceTest {
 
         // verify
         then(authorRepository).should(times(1)).findById(any(UUID.class));
+        then(authorRepository).should(times(1)).addToBookCount(author1.getId(), 1);
         then(authorRepository).shouldHaveNoMoreInteractions();
         then(bookRepository).should(times(1)).findById(any(UUID.class));
         then(bookRepository).should(times(1)).save(any(Book.class));
@@ -282,4 +416,38 @@ class AuthorServiceTest {
         then(bookRepository).should(times(1)).findById(any(UUID.class));
         then(bookRepository).shouldHaveNoMoreInteractions();
     }
-}
\ No newline at end of file
+
+    private static AuthorBookView summary(UUID authorId, Book book) {
+        return new AuthorBookView() {
+            @Override
+            public UUID getAuthorId() {
+                return authorId;
+            }
+
+            @Override
+            public UUID getId() {
+                return book.getId();
+            }
+
+            @Override
+            public String getTitle() {
+                return book.getTitle();
+            }
+
+            @Override
+            public LocalDate getPublicationDate() {
+                return book.getPublicationDate();
+            }
+
+            @Override
+            public Status getStatus() {
+                return book.getStatus();
+            }
+
+            @Override
+            public Long getVersion() {
+                return book.getVersion();
+            }
+        };
+    }
+}
@@ -0,0 +1,78 @@
+package com.luis.aguiar.services;
+
+import com.luis.aguiar.dto.AuthorshipDto;
+import com.luis.aguiar.dto.AuthorshipReportDto;
+import com.luis.aguiar.events.AuthorshipChangedEvent;
+import com.luis.aguiar.events.AuthorshipsChangedEvent;
+import com.luis.aguiar.repositories.AuthorshipBulkRepository;
+import com.luis.aguiar.repositories.AuthorshipBulkRepository.Authorship;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import java.util.*;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthorshipImportServiceTest {
+    @Mock
+    private AuthorshipBulkRepository repository;
+    @Mock
+    private ApplicationEventPublisher publisher;
+    private AuthorshipImportService service;
+    private UUID author;
+
+    @BeforeEach
+    void setup() {
+        service = new AuthorshipImportService(repository, publisher, 2);
+        author = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should associate the pairs in batches and publish one event per batch when authorships are sent.")
+    void shouldAssociateThePairsInBatchesAndPublishOneEventPerBatch_whenAuthorshipsAreSent() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        given(repository.associate(anyList())).willAnswer(invocation -> {
+            List<Authorship> batch = invocation.getArgument(0);
+            return new AuthorshipBulkRepository.Result(
+                    new HashSet<>(batch.subList(0, 1)), Set.of(), Set.of());
+        });
+
+        AuthorshipReportDto report = service.associate(List.of(
+                new AuthorshipDto(author, first),
+                new AuthorshipDto(author, second),
+                new AuthorshipDto(author, third)));
+
+        assertThat(report.received()).isEqualTo(3);
+        assertThat(report.inserted()).isEqualTo(2);
+        assertThat(report.existing()).isEqualTo(1);
+        assertThat(report.rejected()).isZero();
+        then(repository).should(times(2)).associate(anyList());
+        then(publisher).should().publishEvent(new AuthorshipsChangedEvent(List.of(new AuthorshipChangedEvent(first, author))));
+        then(publisher).should().publishEvent(new AuthorshipsChangedEvent(List.of(new AuthorshipChangedEvent(third, author))));
+        then(publisher).shouldHaveNoMoreInteractions();
+    }
+
+    @Test
+    @DisplayName("Should reject the pairs with missing ids or unknown entities when authorships are sent.")
+    void shouldRejectThePairsWithMissingIdsOrUnknownEntities_whenAuthorshipsAreSent() {
+        UUID unknownBook = UUID.randomUUID();
+        given(repository.associate(anyList()))
+                .willReturn(new AuthorshipBulkRepository.Result(Set.of(), Set.of(), Set.of(unknownBook)));
+
+        AuthorshipReportDto report = service.associate(List.of(
+                new AuthorshipDto(null, UUID.randomUUID()),
+                new AuthorshipDto(author, unknownBook)));
+
+        assertThat(report.rejected()).isEqualTo(2);
+        assertThat(report.errors())
+                .extracting(AuthorshipReportDto.PairError::index, AuthorshipReportDto.PairError::message)
+                .containsExactly(tuple(0L, AuthorshipImportService.MISSING_IDS),
+                        tuple(1L, AuthorshipImportService.MISSING_BOOK));
+        then(publisher).shouldHaveNoInteractions();
+    }
+}
@@ -0,0 +1,123 @@
+package com.luis.aguiar.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.luis.aguiar.dto.BookImportReportDto;
+import com.luis.aguiar.enums.ChangeType;
+import com.luis.aguiar.events.BookChangedEvent;
+import com.luis.aguiar.events.BooksChangedEvent;
+import com.luis.aguiar.exceptions.InvalidRequestException;
+import com.luis.aguiar.models.Book;
+import com.luis.aguiar.repositories.BookBulkRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookImportServiceTest {
+    @Mock
+    private BookBulkRepository repository;
+    @Mock
+    private ApplicationEventPublisher publisher;
+    private BookImportService service;
+
+    @BeforeEach
+    void setup() {
+        service = new BookImportService(repository, publisher, new ObjectMapper().registerModule(new JavaTimeModule()),
+                Validation.buildDefaultValidatorFactory().getValidator(), 2);
+    }
+
+    @Test
+    @DisplayName("Should insert the valid rows in batches, publish one event per batch and report the invalid ones when NDJSON is imported.")
+    void shouldInsertTheValidRowsInBatchesPublishOneEventPerBatchAndReportTheInvalidOnes_whenNdjsonIsImported() throws IOException {
+        given(repository.insertIgnoringDuplicates(anyList())).willAnswer(invocation -> ids(invocation.getArgument(0)));
+
+        BookImportReportDto report = service.importBooks(body("""
+                {"title":"O Hobbit","publicationDate":"1937-09-21","status":"AVAILABLE"}
+                {"title":"","publicationDate":"1937-09-21","status":"AVAILABLE"}
+                {"title":"Duna","publicationDate":"1965-08-01","status":"UNAVAILABLE"}
+
+                {"title":"Neuromancer","publicationDate":"1984-07-01","status":"LOST"}
+                {"title":"Fundação","publicationDate":"1951-05-01","status":"AVAILABLE"}
+                """), BookImportService.Format.NDJSON);
+
+        assertThat(report.received()).isEqualTo(5);
+        assertThat(report.inserted()).isEqualTo(3);
+        assertThat(report.rejected()).isEqualTo(2);
+        assertThat(report.errors()).extracting(BookImportReportDto.RowError::row).containsExactly(2L, 5L);
+        assertThat(report.errors().get(0).message()).contains("title");
+        then(repository).should(times(2)).insertIgnoringDuplicates(anyList());
+        ArgumentCaptor<BooksChangedEvent> events = ArgumentCaptor.forClass(BooksChangedEvent.class);
+        then(publisher).should(times(2)).publishEvent(events.capture());
+        assertThat(events.getAllValues()).extracting(event -> event.books().size()).containsExactly(2, 1);
+        then(publisher).shouldHaveNoMoreInteractions();
+    }
+
+    @Test
+    @DisplayName("Should report the rows skipped by the database as duplicates when their titles already exist.")
+    void shouldReportTheRowsSkippedByTheDatabaseAsDuplicates_whenTheirTitlesAlreadyExist() throws IOException {
+        given(repository.insertIgnoringDuplicates(anyList())).willAnswer(invocation -> {
+            List<Book> books = invocation.getArgument(0);
+            return Set.of(books.get(0).getId());
+        });
+
+        BookImportReportDto report = service.importBooks(body("""
+                title,publicationDate,status
+                "O Hobbit, ou Lá e de Volta Outra Vez",1937-09-21,available
+                O Hobbit,1937-09-21,AVAILABLE
+                """), BookImportService.Format.CSV);
+
+        assertThat(report.inserted()).isEqualTo(1);
+        assertThat(report.duplicates()).isEqualTo(1);
+        assertThat(report.errors()).singleElement().satisfies(error -> {
+            assertThat(error.row()).isEqualTo(3L);
+            assertThat(error.title()).isEqualTo("O Hobbit");
+            assertThat(error.message()).isEqualTo(BookImportService.DUPLICATE);
+        });
+        ArgumentCaptor<BooksChangedEvent> event = ArgumentCaptor.forClass(BooksChangedEvent.class);
+        then(publisher).should().publishEvent(event.capture());
+        assertThat(event.getValue().books()).extracting(BookChangedEvent::change).containsExactly(ChangeType.CREATED);
+    }
+
+    @Test
+    @DisplayName("Should reject the malformed rows when a CSV row has a wrong number of fields or an invalid date.")
+    void shouldRejectTheMalformedRows_whenACsvRowHasAWrongNumberOfFieldsOrAnInvalidDate() throws IOException {
+        BookImportReportDto report = service.importBooks(body("""
+                status,title,publicationDate
+                AVAILABLE,Duna
+                AVAILABLE,Duna,1965-13-01
+                """), BookImportService.Format.CSV);
+
+        assertThat(report.rejected()).isEqualTo(2);
+        assertThat(report.errors()).allSatisfy(error -> assertThat(error.message()).startsWith("Malformed row"));
+        then(repository).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("Should throw an InvalidRequestException when the CSV header does not name the required columns.")
+    void shouldThrowAnInvalidRequestException_whenTheCsvHeaderDoesNotNameTheRequiredColumns() {
+        assertThatThrownBy(() -> service.importBooks(body("title,status\nDuna,AVAILABLE\n"), BookImportService.Format.CSV))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+    private static InputStream body(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Set<UUID> ids(List<Book> books) {
+        Set<UUID> ids = new HashSet<>();
+        books.forEach(book -> ids.add(book.getId()));
+        return ids;
+    }
+}
@@ -1,16 +1,28 @@
 package com.luis.aguiar.services;
 
+import com.luis.aguiar.dto.BookFacetsDto;
+import com.luis.aguiar.dto.BookLookupResultDto;
 import com.luis.aguiar.dto.BookResponseDto;
+import com.luis.aguiar.dto.BookSearchResultDto;
 import com.luis.aguiar.enums.Status;
 import com.luis.aguiar.exceptions.EntityNotFoundException;
+import com.luis.aguiar.exceptions.InvalidRequestException;
 import com.luis.aguiar.exceptions.UniqueDataViolationException;
+import com.luis.aguiar.indexes.BookFacetIndex;
+import com.luis.aguiar.indexes.BookStatusIndex;
+import com.luis.aguiar.indexes.PublicationYearHistogram;
+import com.luis.aguiar.mappers.BookMapper;
 import com.luis.aguiar.models.Book;
+import com.luis.aguiar.repositories.AuthorRepository;
+import com.luis.aguiar.repositories.AuthorshipView;
 import com.luis.aguiar.repositories.BookRepository;
+import com.luis.aguiar.repositories.SparseFieldRepository;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import java.time.LocalDate;
 import java.util.*;
@@ -23,6 +35,18 @@ class BookServiceTest {
     private BookService service;
     @Mock
     private BookRepository repository;
+    @Mock
+    private AuthorRepository authorRepository;
+    @Mock
+    private ApplicationEventPublisher publisher;
+    @Mock
+    private BookStatusIndex statusIndex;
+    @Mock
+    private BookFacetIndex facetIndex;
+    @Mock
+    private PublicationYearHistogram publicationHistogram;
+    @Mock
+    private SparseFieldRepository sparseRepository;
     private Book book;
     private Book book2;
     private UUID id;
@@ -38,7 +62,9 @@ class BookServiceTest {
                 new HashSet<>(),
                 new HashSet<>(),
                 LocalDate.of(1920, 10, 10),
-                Status.AVAILABLE
+                Status.AVAILABLE,
+                null,
+                null
         );
         book2 = new Book(
                 id2,
@@ -46,7 +72,9 @@ class BookServiceTest {
                 new HashSet<>(),
                 new HashSet<>(),
                 LocalDate.of(1920, 10, 10),
-                Status.UNAVAILABLE
+                Status.UNAVAILABLE,
+                null,
+                null
         );
     }
 
@@ -226,6 +254,189 @@ class BookServiceTest {
         then(repository).shouldHaveNoMoreInteractions();
     }
 
+    @Test
+    @DisplayName(
+            "Should hydrate the ids from the status index " +
+            "when the index is ready and a book status is passed as an argument to getAllByStatus method."
+    )
+    void shouldHydrateTheIdsFromTheStatusIndex_whenTheIndexIsReadyAndABookStatusIsPassedToGetAllByStatusMethod() {
+        // given
+        given(statusIndex.isReady()).willReturn(true);
+        given(statusIndex.page(Status.AVAILABLE, 0, 2)).willReturn(List.of(id, id2));
+        given(repository.findAllById(List.of(id, id2))).willReturn(List.of(book2, book));
+
+        // when
+        List<BookResponseDto> books = service.getAllByStatus(Status.AVAILABLE, 0, 2);
+
+        // then
+        assertThat(books).hasSize(1);
+        assertThat(books.get(0).getId()).isEqualTo(id);
+
+        // verify
+        then(repository).should(times(1)).findAllById(List.of(id, id2));
+        then(repository).shouldHaveNoMoreInteractions();
+    }
+
+    @Test
+    @DisplayName("Should query the database instead of the status index when a sort is passed as an argument to getAllByStatus method.")
+    void shouldQueryTheDatabaseInsteadOfTheStatusIndex_whenASortIsPassedAsAnArgumentToGetAllByStatusMethod() {
+        // given
+        Sort sort = Sort.by(Sort.Direction.ASC, "title", "id");
+        given(statusIndex.isReady()).willReturn(true);
+        given(repository.findByStatus(Status.AVAILABLE, PageRequest.of(0, 2, sort))).willReturn(List.of(book));
+
+        // when
+        List<BookResponseDto> books = service.getAllByStatus(Status.AVAILABLE, 0, 2, sort, BookMapper::toResponseDto);
+
+        // then
+        assertThat(books).hasSize(1);
+
+        // verify
+        then(statusIndex).should(never()).page(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName(
+            "Should return the books in request order with not-found markers " +
+            "when a list of ids is passed as an argument to findAllByIds method."
+    )
+    void shouldReturnTheBooksInRequestOrderWithNotFoundMarkers_whenAListOfIdsIsPassedAsAnArgumentToFindAllByIdsMethod() {
+        // given
+        UUID missingId = UUID.randomUUID();
+        given(repository.findAllWithAuthorsByIdIn(anyCollection())).willReturn(List.of(book, book2));
+
+        // when
+        List<BookLookupResultDto> results = service.findAllByIds(List.of(id2, missingId, id, id2));
+
+        // then
+        assertThat(results).hasSize(3);
+        assertThat(results.get(0).getId()).isEqualTo(id2);
+        assertThat(results.get(0).getFound()).isTrue();
+        assertThat(results.get(0).getBook().getTitle()).isEqualTo(book2.getTitle());
+        assertThat(results.get(1).getId()).isEqualTo(missingId);
+        assertThat(results.get(1).getFound()).isFalse();
+        assertThat(results.get(1).getBook()).isNull();
+        assertThat(results.get(2).getBook().getTitle()).isEqualTo(book.getTitle());
+
+        // verify
+        then(repository).should(times(1)).findAllWithAuthorsByIdIn(anyCollection());
+        then(repository).shouldHaveNoMoreInteractions();
+    }
+
+    @Test
+    @DisplayName("Should throw an Exception when too many ids are passed as an argument to findAllByIds method.")
+    void shouldThrowAnException_whenTooManyIdsArePassedAsAnArgumentToFindAllByIdsMethod() {
+        // given
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i <= BookService.MAX_LOOKUP_IDS; i++) {
+            ids.add(UUID.randomUUID());
+        }
+
+        // when & then
+        assertThatThrownBy(() -> service.findAllByIds(ids))
+                .isInstanceOf(InvalidRequestException.class);
+
+        // verify
+        then(repository).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("Should select only the requested columns and load the authors separately when authors is a requested field.")
+    void shouldSelectOnlyTheRequestedColumnsAndLoadTheAuthorsSeparately_whenAuthorsIsARequestedField() {
+        // given
+        UUID authorId = UUID.randomUUID();
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", id);
+        row.put("title", book.getTitle());
+        AuthorshipView authorship = mock(AuthorshipView.class);
+        given(authorship.getBookId()).willReturn(id);
+        given(authorship.getAuthorId()).willReturn(authorId);
+        given(sparseRepository.findAll(Book.class, List.of("id", "title"), null, PageRequest.of(0, 10)))
+                .willReturn(List.of(row));
+        given(repository.findAuthorshipsByBookIdIn(List.of(id))).willReturn(List.of(authorship));
+
+        // when
+        List<Map<String, Object>> books = service.getAll(0, 10, Sort.unsorted(), List.of("id", "title", "authors"));
+
+        // then
+        assertThat(books).hasSize(1);
+        assertThat(books.get(0).keySet()).containsExactly("id", "title", "authors");
+        assertThat((List<?>) books.get(0).get("authors")).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should not load the authors when authors is not a requested field.")
+    void shouldNotLoadTheAuthors_whenAuthorsIsNotARequestedField() {
+        // given
+        given(sparseRepository.findAll(Book.class, List.of("id", "status"), null, PageRequest.of(0, 10)))
+                .willReturn(List.of(new LinkedHashMap<>(Map.of("id", id, "status", Status.AVAILABLE))));
+
+        // when
+        List<Map<String, Object>> books = service.getAll(0, 10, Sort.unsorted(), List.of("id", "status"));
+
+        // then
+        assertThat(books).hasSize(1);
+
+        // verify
+        then(repository).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("Should throw an Exception when the start date is after the end date passed to getAllPublishedBetween method.")
+    void shouldThrowAnException_whenTheStartDateIsAfterTheEndDatePassedToGetAllPublishedBetweenMethod() {
+        assertThatThrownBy(() -> service.getAllPublishedBetween(LocalDate.of(2000, 1, 1), LocalDate.of(1990, 1, 1), 0, 10))
+                .isInstanceOf(InvalidRequestException.class);
+
+        // verify
+        then(repository).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("Should serve the publication histogram from memory when the histogram is ready.")
+    void shouldServeThePublicationHistogramFromMemory_whenTheHistogramIsReady() {
+        // given
+        given(publicationHistogram.isReady()).willReturn(true);
+        given(publicationHistogram.histogram(1950, null)).willReturn(Map.of(1954, 2L));
+
+        // when
+        Map<Integer, Long> histogram = service.getPublicationHistogram(1950, null);
+
+        // then
+        assertThat(histogram).containsEntry(1954, 2L);
+
+        // verify
+        then(repository).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("Should return the matching books with the facet counts when filters are passed as arguments to search method.")
+    void shouldReturnTheMatchingBooksWithTheFacetCounts_whenFiltersArePassedAsArgumentsToSearchMethod() {
+        // given
+        BookFacetsDto facets = new BookFacetsDto(1, Map.of(), Map.of(), Map.of());
+        given(repository.search(Status.AVAILABLE, null, LocalDate.of(1990, 1, 1), LocalDate.of(2000, 1, 1), PageRequest.of(0, 10)))
+                .willReturn(List.of(book));
+        given(facetIndex.isReady()).willReturn(true);
+        given(facetIndex.facets(Status.AVAILABLE, null, 1990)).willReturn(facets);
+
+        // when
+        BookSearchResultDto result = service.search(Status.AVAILABLE, " ", 1990, 0, 10);
+
+        // then
+        assertThat(result.getBooks()).hasSize(1);
+        assertThat(result.getBooks().get(0).getTitle()).isEqualTo(book.getTitle());
+        assertThat(result.getFacets()).isEqualTo(facets);
+    }
+
+    @Test
+    @DisplayName("Should throw an Exception when a year that does not start a decade is passed as an argument to search method.")
+    void shouldThrowAnException_whenAYearThatDoesNotStartADecadeIsPassedAsAnArgumentToSearchMethod() {
+        assertThatThrownBy(() -> service.search(null, null, 1995, 0, 10))
+                .isInstanceOf(InvalidRequestException.class);
+
+        // verify
+        then(repository).shouldHaveNoInteractions();
+    }
+
     @Test
     @DisplayName(
             "Should return a BookResponseDto " +
@@ -279,6 +490,7 @@ class BookServiceTest {
         then(repository).should(times(1)).findById(any(UUID.class));
         then(repository).should(times(1)).delete(any(Book.class));
         then(repository).shouldHaveNoMoreInteractions();
+        then(authorRepository).should(times(1)).decrementBookCountsOfBook(book.getId());
     }
 
     @Test
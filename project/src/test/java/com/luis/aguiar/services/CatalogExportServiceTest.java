@@ -0,0 +1,123 @@
+package com.luis.aguiar.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.luis.aguiar.enums.Status;
+import com.luis.aguiar.repositories.BookExportView;
+import com.luis.aguiar.repositories.BookRepository;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.stream.Stream;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogExportServiceTest {
+    @Mock
+    private BookRepository repository;
+    private CatalogExportService service;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setup() {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        service = new CatalogExportService(repository, objectMapper);
+    }
+
+    @Test
+    @DisplayName("Should write one line per book with all of its authors when the catalog is exported.")
+    void shouldWriteOneLinePerBookWithAllOfItsAuthors_whenTheCatalogIsExported() throws IOException {
+        UUID hobbit = UUID.randomUUID();
+        UUID orphan = UUID.randomUUID();
+        given(repository.streamExport()).willReturn(Stream.of(
+                row(hobbit, "O Hobbit", UUID.randomUUID(), "John", "Tolkien"),
+                row(hobbit, "O Hobbit", UUID.randomUUID(), "Christopher", "Tolkien"),
+                row(orphan, "Sem Autor", null, null, null)
+        ));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long exported = service.exportBooks(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(exported).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines[0]).get("id").asText()).isEqualTo(hobbit.toString());
+        assertThat(objectMapper.readTree(lines[0]).get("authors")).hasSize(2);
+        assertThat(objectMapper.readTree(lines[0]).get("publicationDate").asText()).isEqualTo("1937-09-21");
+        assertThat(objectMapper.readTree(lines[1]).get("title").asText()).isEqualTo("Sem Autor");
+        assertThat(objectMapper.readTree(lines[1]).get("authors")).isEmpty();
+        assertThat(out.toString(StandardCharsets.UTF_8)).endsWith("\n");
+    }
+
+    @Test
+    @DisplayName("Should write nothing when the catalog is empty.")
+    void shouldWriteNothing_whenTheCatalogIsEmpty() throws IOException {
+        given(repository.streamExport()).willReturn(Stream.empty());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long exported = service.exportBooks(out);
+
+        assertThat(exported).isZero();
+        assertThat(out.size()).isZero();
+    }
+
+    private static BookExportView row(UUID id, String title, UUID authorId, String firstName, String lastName) {
+        return new BookExportView() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public String getTitle() {
+                return title;
+            }
+
+            @Override
+            public LocalDate getPublicationDate() {
+                return LocalDate.of(1937, 9, 21);
+            }
+
+            @Override
+            public Status getStatus() {
+                return Status.AVAILABLE;
+            }
+
+            @Override
+            public Long getVersion() {
+                return 0L;
+            }
+
+            @Override
+            public Instant getLastModified() {
+                return null;
+            }
+
+            @Override
+            public UUID getAuthorId() {
+                return authorId;
+            }
+
+            @Override
+            public String getAuthorFirstName() {
+                return firstName;
+            }
+
+            @Override
+            public String getAuthorLastName() {
+                return lastName;
+            }
+        };
+    }
+}
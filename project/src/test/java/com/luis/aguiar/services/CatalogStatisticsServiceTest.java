@@ -0,0 +1,129 @@
+package com.luis.aguiar.services;
+
+import com.luis.aguiar.dto.CatalogStatisticsDto;
+import com.luis.aguiar.enums.ChangeType;
+import com.luis.aguiar.enums.Status;
+import com.luis.aguiar.events.*;
+import com.luis.aguiar.repositories.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.time.LocalDate;
+import java.util.*;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogStatisticsServiceTest {
+    @Mock
+    private AuthorRepository authorRepository;
+    @Mock
+    private BookRepository bookRepository;
+    private CatalogStatisticsService service;
+
+    @BeforeEach
+    void setup() {
+        service = new CatalogStatisticsService(authorRepository, bookRepository);
+
+        given(authorRepository.countByNationality()).willReturn(List.of(nationality("British", 2L)));
+        given(bookRepository.countGroupedByStatus()).willReturn(List.of(status(Status.AVAILABLE, 3L)));
+        given(bookRepository.countByAuthorNationality()).willReturn(List.of(nationality("British", 3L)));
+    }
+
+    @Test
+    @DisplayName("Should read every aggregate once when statistics method is called twice without changes.")
+    void shouldReadEveryAggregateOnce_whenStatisticsMethodIsCalledTwiceWithoutChanges() {
+        service.statistics();
+        CatalogStatisticsDto statistics = service.statistics();
+
+        assertThat(statistics.authorsByNationality()).containsOnly(entry("British", 2L));
+        assertThat(statistics.booksByStatus()).containsEntry(Status.AVAILABLE, 3L).containsEntry(Status.UNAVAILABLE, 0L);
+        assertThat(statistics.booksByAuthorNationality()).containsOnly(entry("British", 3L));
+        assertThat(statistics.refreshedAt()).isNotNull();
+
+        then(authorRepository).should(times(1)).countByNationality();
+        then(bookRepository).should(times(1)).countGroupedByStatus();
+        then(bookRepository).should(times(1)).countByAuthorNationality();
+    }
+
+    @Test
+    @DisplayName("Should apply book and author creations to the cached counters when their events are received.")
+    void shouldApplyBookAndAuthorCreationsToTheCachedCounters_whenTheirEventsAreReceived() {
+        service.statistics();
+
+        service.onBookChanged(new BookChangedEvent(UUID.randomUUID(), ChangeType.UPDATED,
+                new BookState(Status.AVAILABLE, LocalDate.of(1954, 7, 29)),
+                new BookState(Status.UNAVAILABLE, LocalDate.of(1954, 7, 29))));
+        service.onAuthorChanged(new AuthorChangedEvent(UUID.randomUUID(), ChangeType.CREATED, "Russian"));
+        CatalogStatisticsDto statistics = service.statistics();
+
+        assertThat(statistics.authorsByNationality()).containsOnly(entry("British", 2L), entry("Russian", 1L));
+        assertThat(statistics.booksByStatus()).containsEntry(Status.AVAILABLE, 2L).containsEntry(Status.UNAVAILABLE, 1L);
+        then(authorRepository).should(times(1)).countByNationality();
+        then(bookRepository).should(times(1)).countGroupedByStatus();
+        then(bookRepository).should(times(1)).countByAuthorNationality();
+    }
+
+    @Test
+    @DisplayName("Should query again only the aggregates affected when an authorship event is received.")
+    void shouldQueryAgainOnlyTheAggregatesAffected_whenAnAuthorshipEventIsReceived() {
+        service.statistics();
+        given(bookRepository.countByAuthorNationality()).willReturn(List.of(nationality("British", 4L)));
+
+        service.onAuthorshipChanged(new AuthorshipChangedEvent(UUID.randomUUID(), UUID.randomUUID()));
+        CatalogStatisticsDto statistics = service.statistics();
+
+        assertThat(statistics.booksByAuthorNationality()).containsOnly(entry("British", 4L));
+        then(authorRepository).should(times(1)).countByNationality();
+        then(bookRepository).should(times(1)).countGroupedByStatus();
+        then(bookRepository).should(times(2)).countByAuthorNationality();
+    }
+
+    @Test
+    @DisplayName("Should replace the counters that counted a change twice when the statistics are reconciled.")
+    void shouldReplaceTheCountersThatCountedAChangeTwice_whenTheStatisticsAreReconciled() {
+        given(bookRepository.countGroupedByStatus())
+                .willReturn(List.of(status(Status.AVAILABLE, 2L), status(Status.UNAVAILABLE, 1L)));
+        service.statistics();
+        service.onBookChanged(new BookChangedEvent(UUID.randomUUID(), ChangeType.UPDATED,
+                new BookState(Status.AVAILABLE, LocalDate.of(1954, 7, 29)),
+                new BookState(Status.UNAVAILABLE, LocalDate.of(1954, 7, 29))));
+
+        service.reconcile();
+        CatalogStatisticsDto statistics = service.statistics();
+
+        assertThat(statistics.booksByStatus()).containsEntry(Status.AVAILABLE, 2L).containsEntry(Status.UNAVAILABLE, 1L);
+        assertThat(statistics.authorsByNationality()).containsOnly(entry("British", 2L));
+        then(bookRepository).should(times(2)).countGroupedByStatus();
+        then(bookRepository).should(times(1)).countByAuthorNationality();
+    }
+
+    private static NationalityCountView nationality(String nationality, Long count) {
+        return new NationalityCountView() {
+            @Override
+            public String getNationality() {
+                return nationality;
+            }
+
+            @Override
+            public Long getCount() {
+                return count;
+            }
+        };
+    }
+
+    private static StatusCountView status(Status status, Long count) {
+        return new StatusCountView() {
+            @Override
+            public Status getStatus() {
+                return status;
+            }
+
+            @Override
+            public Long getCount() {
+                return count;
+            }
+        };
+    }
+}
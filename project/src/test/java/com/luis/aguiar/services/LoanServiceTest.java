@@ -12,6 +12,7 @@ import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -29,6 +30,8 @@ class LoanServiceTest {
     private BookRepository bookRepository;
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private ApplicationEventPublisher publisher;
     @InjectMocks
     private LoanService service;
     private User user;
@@ -56,7 +59,9 @@ class LoanServiceTest {
                 new HashSet<>(),
                 new HashSet<>(),
                 LocalDate.of(1920, 10, 10),
-                Status.AVAILABLE
+                Status.AVAILABLE,
+                null,
+                null
         );
         loan = Loan.builder()
                 .id(UUID.randomUUID())
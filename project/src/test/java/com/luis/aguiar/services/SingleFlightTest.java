@@ -0,0 +1,171 @@
+package com.luis.aguiar.services;
+
+import com.luis.aguiar.exceptions.EntityNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import static org.assertj.core.api.Assertions.*;
+
+@Timeout(10)
+class SingleFlightTest {
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setup() {
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should run the loader once and share its result when the same key is loaded concurrently.")
+    void shouldRunTheLoaderOnceAndShareItsResult_whenTheSameKeyIsLoadedConcurrently() throws Exception {
+        // given
+        SingleFlight<String, String> flight = new SingleFlight<>("test", Duration.ofSeconds(5));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+
+        // when
+        Future<String> leader = executor.submit(() -> flight.load("key", () -> {
+            calls.incrementAndGet();
+            started.countDown();
+            await(release);
+            return "value";
+        }));
+        started.await();
+        FutureTask<String> waiter = startWaiter(flight, () -> {
+            calls.incrementAndGet();
+            return "unexpected";
+        });
+        release.countDown();
+
+        // then
+        assertThat(leader.get()).isEqualTo("value");
+        assertThat(waiter.get()).isEqualTo("value");
+        assertThat(calls).hasValue(1);
+        assertThat(flight.loads()).isEqualTo(1);
+        assertThat(flight.coalesced()).isEqualTo(1);
+        assertThat(flight.timeouts()).isZero();
+        assertThat(flight.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should load on its own when the in-flight load takes longer than the timeout.")
+    void shouldLoadOnItsOwn_whenTheInFlightLoadTakesLongerThanTheTimeout() throws Exception {
+        // given
+        SingleFlight<String, String> flight = new SingleFlight<>("test", Duration.ofMillis(50));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(() -> flight.load("key", () -> {
+            started.countDown();
+            await(release);
+            return "slow";
+        }));
+        started.await();
+
+        // when
+        String value = flight.load("key", () -> "fast");
+        release.countDown();
+
+        // then
+        assertThat(value).isEqualTo("fast");
+        assertThat(flight.loads()).isEqualTo(2);
+        assertThat(flight.coalesced()).isZero();
+        assertThat(flight.timeouts()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should rethrow the leader exception to the waiters when the in-flight load fails.")
+    void shouldRethrowTheLeaderExceptionToTheWaiters_whenTheInFlightLoadFails() throws Exception {
+        // given
+        SingleFlight<String, String> flight = new SingleFlight<>("test", Duration.ofSeconds(5));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(() -> flight.load("key", () -> {
+            started.countDown();
+            await(release);
+            throw new EntityNotFoundException("Book not found.");
+        }));
+        started.await();
+        FutureTask<String> waiter = startWaiter(flight, () -> "unused");
+
+        // when
+        release.countDown();
+
+        // then
+        assertThatThrownBy(waiter::get)
+                .hasCauseInstanceOf(EntityNotFoundException.class)
+                .hasRootCauseMessage("Book not found.");
+        assertThat(flight.loads()).isEqualTo(1);
+        assertThat(flight.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not share results when different keys are loaded.")
+    void shouldNotShareResults_whenDifferentKeysAreLoaded() {
+        // given
+        SingleFlight<String, String> flight = new SingleFlight<>("test", Duration.ofSeconds(5));
+
+        // when
+        String first = flight.load("first", () -> "one");
+        String second = flight.load("second", () -> "two");
+
+        // then
+        assertThat(first).isEqualTo("one");
+        assertThat(second).isEqualTo("two");
+        assertThat(flight.loads()).isEqualTo(2);
+        assertThat(flight.coalesced()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should publish the saved loads as a counter when the flight is bound to a meter registry.")
+    void shouldPublishTheSavedLoadsAsACounter_whenTheFlightIsBoundToAMeterRegistry() {
+        // given
+        SingleFlight<String, String> flight = new SingleFlight<>("book-lookup", Duration.ofSeconds(5));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        // when
+        flight.bindTo(registry);
+        flight.load("key", () -> "value");
+
+        // then
+        assertThat(registry.get("library.single.flight.loads").tag("flight", "book-lookup")
+                .functionCounter().count()).isEqualTo(1.0);
+        assertThat(registry.get("library.single.flight.coalesced").tag("flight", "book-lookup")
+                .functionCounter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should throw an Exception when the timeout is not positive.")
+    void shouldThrowAnException_whenTheTimeoutIsNotPositive() {
+        assertThatThrownBy(() -> new SingleFlight<>("test", Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The single flight timeout must be positive.");
+    }
+
+    private static FutureTask<String> startWaiter(SingleFlight<String, String> flight, Supplier<String> loader) {
+        FutureTask<String> task = new FutureTask<>(() -> flight.load("key", loader));
+        Thread waiter = new Thread(task);
+        waiter.start();
+        while (waiter.getState() != Thread.State.TIMED_WAITING && !task.isDone()) {
+            Thread.onSpinWait();
+        }
+        return task;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.luis.aguiar.web;
+
+import com.luis.aguiar.dto.BookAvailabilityDto;
+import com.luis.aguiar.enums.ChangeType;
+import com.luis.aguiar.enums.Status;
+import com.luis.aguiar.events.BookChangedEvent;
+import com.luis.aguiar.events.BookState;
+import org.junit.jupiter.api.*;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+import static org.assertj.core.api.Assertions.*;
+
+class BookAvailabilityStreamTest {
+
+    private static final LocalDate PUBLISHED = LocalDate.of(1954, 7, 29);
+
+    private BookAvailabilityStream stream;
+    private UUID id;
+    private UUID id2;
+
+    @BeforeEach
+    void setup() {
+        stream = new BookAvailabilityStream(3, Duration.ofMinutes(1), Duration.ofMinutes(1));
+        id = UUID.randomUUID();
+        id2 = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stream.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should buffer a change when the status of a book changes.")
+    void shouldBufferAChange_whenTheStatusOfABookChanges() {
+        stream.onBookChanged(statusChange(id, Status.AVAILABLE, Status.UNAVAILABLE));
+
+        List<BookAvailabilityStream.Entry> missed = stream.since(eventId(0));
+
+        assertThat(missed).hasSize(1);
+        assertThat(missed.get(0).id()).isEqualTo(1);
+        assertThat(missed.get(0).change().bookId()).isEqualTo(id);
+        assertThat(missed.get(0).change().previousStatus()).isEqualTo(Status.AVAILABLE);
+        assertThat(missed.get(0).change().status()).isEqualTo(Status.UNAVAILABLE);
+    }
+
+    @Test
+    @DisplayName("Should ignore an update when the status of the book did not change.")
+    void shouldIgnoreAnUpdate_whenTheStatusOfTheBookDidNotChange() {
+        stream.onBookChanged(statusChange(id, Status.AVAILABLE, Status.AVAILABLE));
+
+        assertThat(stream.since(eventId(0))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should return only the changes after the Last-Event-ID when they are still buffered.")
+    void shouldReturnOnlyTheChangesAfterTheLastEventId_whenTheyAreStillBuffered() {
+        stream.onBookChanged(statusChange(id, Status.AVAILABLE, Status.UNAVAILABLE));
+        stream.onBookChanged(statusChange(id2, Status.AVAILABLE, Status.UNAVAILABLE));
+        stream.onBookChanged(statusChange(id, Status.UNAVAILABLE, Status.AVAILABLE));
+
+        assertThat(stream.since(eventId(1)))
+                .extracting(BookAvailabilityStream.Entry::id)
+                .containsExactly(2L, 3L);
+        assertThat(stream.since(eventId(3))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should return null when the changes after the Last-Event-ID were overwritten in the ring.")
+    void shouldReturnNull_whenTheChangesAfterTheLastEventIdWereOverwrittenInTheRing() {
+        for (int i = 0; i < 5; i++) {
+            Status from = i % 2 == 0 ? Status.AVAILABLE : Status.UNAVAILABLE;
+            Status to = i % 2 == 0 ? Status.UNAVAILABLE : Status.AVAILABLE;
+            stream.onBookChanged(statusChange(id, from, to));
+        }
+
+        assertThat(stream.since(eventId(1))).isNull();
+        assertThat(stream.since(eventId(2)))
+                .extracting(BookAvailabilityStream.Entry::id)
+                .containsExactly(3L, 4L, 5L);
+    }
+
+    @Test
+    @DisplayName("Should return null when the Last-Event-ID was never issued by this instance.")
+    void shouldReturnNull_whenTheLastEventIdWasNeverIssuedByThisInstance() {
+        stream.onBookChanged(statusChange(id, Status.AVAILABLE, Status.UNAVAILABLE));
+
+        assertThat(stream.since(eventId(42))).isNull();
+    }
+
+    @Test
+    @DisplayName("Should return null when the Last-Event-ID was issued before the instance restarted.")
+    void shouldReturnNull_whenTheLastEventIdWasIssuedBeforeTheInstanceRestarted() {
+        stream.onBookChanged(statusChange(id, Status.AVAILABLE, Status.UNAVAILABLE));
+        stream.onBookChanged(statusChange(id, Status.UNAVAILABLE, Status.AVAILABLE));
+
+        var previousEpoch = new BookAvailabilityStream.EventId(stream.epoch() - 1, 1);
+
+        assertThat(stream.since(previousEpoch)).isNull();
+        assertThat(stream.since(BookAvailabilityStream.EventId.parse("1"))).isNull();
+        assertThat(stream.since(eventId(1))).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should parse an event id when it has an epoch and a sequence.")
+    void shouldParseAnEventId_whenItHasAnEpochAndASequence() {
+        var eventId = BookAvailabilityStream.EventId.parse(" 1700000000000-42 ");
+
+        assertThat(eventId).isEqualTo(new BookAvailabilityStream.EventId(1700000000000L, 42));
+        assertThat(eventId).hasToString("1700000000000-42");
+        assertThatThrownBy(() -> BookAvailabilityStream.EventId.parse("abc-1"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should match a change when the filter status is the previous or the new status of the book.")
+    void shouldMatchAChange_whenTheFilterStatusIsThePreviousOrTheNewStatusOfTheBook() {
+        var filter = BookAvailabilityStream.Filter.of(List.of(Status.AVAILABLE), null);
+
+        assertThat(filter.matches(change(id, Status.AVAILABLE, Status.UNAVAILABLE))).isTrue();
+        assertThat(filter.matches(change(id, Status.UNAVAILABLE, Status.AVAILABLE))).isTrue();
+        assertThat(filter.matches(change(id, null, Status.UNAVAILABLE))).isFalse();
+        assertThat(filter.matches(change(id, Status.UNAVAILABLE, null))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should match only the requested books when the filter has book IDs.")
+    void shouldMatchOnlyTheRequestedBooks_whenTheFilterHasBookIds() {
+        var filter = BookAvailabilityStream.Filter.of(null, List.of(id));
+
+        assertThat(filter.matches(change(id, Status.AVAILABLE, Status.UNAVAILABLE))).isTrue();
+        assertThat(filter.matches(change(id2, Status.AVAILABLE, Status.UNAVAILABLE))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should register a subscriber when a client subscribes to the stream.")
+    void shouldRegisterASubscriber_whenAClientSubscribesToTheStream() {
+        stream.subscribe(BookAvailabilityStream.Filter.of(null, null), null);
+
+        assertThat(stream.subscribers()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should throw an Exception when the buffer size is not positive.")
+    void shouldThrowAnException_whenTheBufferSizeIsNotPositive() {
+        assertThatThrownBy(() -> new BookAvailabilityStream(0, Duration.ofMinutes(1), Duration.ofMinutes(1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The availability buffer size must be positive.");
+    }
+
+    private BookAvailabilityStream.EventId eventId(long sequence) {
+        return new BookAvailabilityStream.EventId(stream.epoch(), sequence);
+    }
+
+    private static BookChangedEvent statusChange(UUID bookId, Status from, Status to) {
+        return new BookChangedEvent(bookId, ChangeType.UPDATED,
+                new BookState(from, PUBLISHED), new BookState(to, PUBLISHED));
+    }
+
+    private static BookAvailabilityDto change(UUID bookId, Status from, Status to) {
+        return new BookAvailabilityDto(bookId, from, to, Instant.now());
+    }
+}
@@ -0,0 +1,111 @@
+package com.luis.aguiar.web;
+
+import com.luis.aguiar.controllers.AuthorController;
+import com.luis.aguiar.controllers.BookController;
+import com.luis.aguiar.dto.BookCreateDto;
+import com.luis.aguiar.dto.BookResponseDto;
+import com.luis.aguiar.enums.Status;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.hateoas.Link;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Consumer;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
+
+/**
+ * Per-item cost of building the links of a 500-book page.
+ * Run with {@code ./mvnw test -Dtest=CatalogLinksBenchmark -Dbenchmarks=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class CatalogLinksBenchmark {
+
+    private static final int PAGE_SIZE = 500;
+    private static final int WARMUP_ROUNDS = 50;
+    private static final int MEASURED_ROUNDS = 200;
+
+    private List<UUID> ids;
+
+    @BeforeEach
+    void setup() {
+        ids = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("Should report the per-item cost of method based links and precomputed link templates.")
+    void shouldReportThePerItemCost_ofMethodBasedLinksAndPrecomputedLinkTemplates() {
+        double methodBased = measure(this::methodBasedLinks);
+        double templates = measure(this::templateLinks);
+
+        System.out.printf("linkTo(methodOn(...)): %.0f ns/item%n", methodBased);
+        System.out.printf("CatalogLinks:          %.0f ns/item%n", templates);
+        System.out.printf("speed-up:              %.1fx%n", methodBased / templates);
+    }
+
+    private void methodBasedLinks(BookResponseDto book) {
+        UUID id = book.getId();
+        book.getAuthors().add(linkTo(methodOn(AuthorController.class).findAuthorById(id, null))
+                .withSelfRel().withType("GET"));
+        book.add(linkTo(methodOn(BookController.class).findBookById(id, null)).withSelfRel().withType("GET"));
+        book.add(linkTo(methodOn(BookController.class).deleteBook(id)).withRel("delete").withType("DELETE"));
+        book.add(linkTo(methodOn(BookController.class).updateBookData(id, new BookCreateDto()))
+                .withRel("update").withType("PUT"));
+        book.add(linkTo(methodOn(BookController.class).findAllBooks(1, 2, null)).withRel("find-all").withType("GET"));
+        book.add(linkTo(methodOn(BookController.class).findAllByAuthorLastName("Tolkien", 0, 1, null))
+                .withRel("find-by-author-lastName").withType("GET"));
+        book.add(linkTo(methodOn(BookController.class).findAllByStatus(Status.AVAILABLE, 0, 1, null))
+                .withRel("find-all-by-status").withType("GET"));
+        book.add(linkTo(methodOn(BookController.class).findAllByBookName("Harry Potter", 1, 2, null))
+                .withRel("find-all-by-book-name").withType("GET"));
+    }
+
+    private void templateLinks(BookResponseDto book) {
+        CatalogLinks links = CatalogLinks.current();
+        UUID id = book.getId();
+        book.getAuthors().add(links.author(id));
+        book.add(List.of(
+                links.book(id),
+                links.deleteBook(id),
+                links.updateBook(id),
+                links.findAllBooks(),
+                links.findAllByAuthorLastName(),
+                links.findAllByStatus(),
+                links.findAllByBookName()
+        ));
+    }
+
+    private double measure(Consumer<BookResponseDto> linker) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            page().forEach(linker);
+        }
+        long elapsed = 0;
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            List<BookResponseDto> page = page();
+            long start = System.nanoTime();
+            page.forEach(linker);
+            elapsed += System.nanoTime() - start;
+        }
+        return (double) elapsed / ((long) MEASURED_ROUNDS * PAGE_SIZE);
+    }
+
+    private List<BookResponseDto> page() {
+        List<BookResponseDto> page = new ArrayList<>(PAGE_SIZE);
+        for (UUID id : ids) {
+            page.add(new BookResponseDto(id, "Title " + id, LocalDate.of(1950, 1, 1), Status.AVAILABLE,
+                    new HashSet<Link>(), 0L, null));
+        }
+        return page;
+    }
+}
@@ -0,0 +1,116 @@
+package com.luis.aguiar.web;
+
+import com.luis.aguiar.controllers.*;
+import com.luis.aguiar.dto.BookCreateDto;
+import com.luis.aguiar.enums.Status;
+import com.luis.aguiar.models.User;
+import org.junit.jupiter.api.*;
+import org.springframework.hateoas.Link;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import java.util.UUID;
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
+
+class CatalogLinksTest {
+
+    private UUID id;
+
+    @BeforeEach
+    void setup() {
+        id = UUID.randomUUID();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setServerName("library.example.com");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("Should produce the same book links as the method based link builder.")
+    void shouldProduceTheSameBookLinks_asTheMethodBasedLinkBuilder() {
+        CatalogLinks links = CatalogLinks.current();
+
+        assertSameLink(links.book(id), linkTo(methodOn(BookController.class)
+                .findBookById(id, null)).withSelfRel().withType("GET"));
+        assertSameLink(links.updateBook(id), linkTo(methodOn(BookController.class)
+                .updateBookData(id, new BookCreateDto())).withRel("update").withType("PUT"));
+        assertSameLink(links.deleteBook(id), linkTo(methodOn(BookController.class)
+                .deleteBook(id)).withRel("delete").withType("DELETE"));
+        // The find-all links are concrete pages and don't advertise the optional sort parameter.
+        assertSameLink(links.findAllBooks(), linkTo(methodOn(BookController.class)
+                .findAllBooks(1, 2, null)).withRel("find-all").expand().withType("GET"));
+        assertSameLink(links.findAllByAuthorLastName(), linkTo(methodOn(BookController.class)
+                .findAllByAuthorLastName("Tolkien", 0, 1, null)).withRel("find-by-author-lastName").expand()
+                .withType("GET"));
+        assertSameLink(links.findAllByStatus(), linkTo(methodOn(BookController.class)
+                .findAllByStatus(Status.AVAILABLE, 0, 1, null)).withRel("find-all-by-status").expand()
+                .withType("GET"));
+        assertSameLink(links.findAllByBookName(), linkTo(methodOn(BookController.class)
+                .findAllByBookName("Harry Potter", 1, 2, null)).withRel("find-all-by-book-name").expand()
+                .withType("GET"));
+    }
+
+    @Test
+    @DisplayName("Should produce the same author links as the method based link builder.")
+    void shouldProduceTheSameAuthorLinks_asTheMethodBasedLinkBuilder() {
+        CatalogLinks links = CatalogLinks.current();
+        UUID bookId = UUID.randomUUID();
+
+        assertSameLink(links.author(id), linkTo(methodOn(AuthorController.class)
+                .findAuthorById(id, null)).withSelfRel().withType("GET"));
+        assertSameLink(links.updateAuthor(id), linkTo(methodOn(AuthorController.class)
+                .updateAuthorData(id, null)).withRel("update").withType("PUT"));
+        assertSameLink(links.deleteAuthor(id), linkTo(methodOn(AuthorController.class)
+                .deleteAuthor(id)).withRel("delete").withType("DELETE"));
+        assertSameLink(links.associateAuthorWithBook(id, bookId), linkTo(methodOn(AuthorController.class)
+                .associateAuthorWithBook(bookId, id)).withRel("associate-with-book").withType("POST"));
+    }
+
+    @Test
+    @DisplayName("Should produce the same association link when the book is left as a template.")
+    void shouldProduceTheSameAssociationLink_whenTheBookIsLeftAsATemplate() {
+        Link link = CatalogLinks.current().associateAuthorWithBook(id);
+
+        assertThat(link.isTemplated()).isTrue();
+        assertThat(link.getHref()).endsWith("/library/v1/authors/" + id + "/{bookId}");
+        assertThat(link.expand(id.toString()).getHref())
+                .isEqualTo(CatalogLinks.current().associateAuthorWithBook(id, id).getHref());
+    }
+
+    @Test
+    @DisplayName("Should produce the same loan links as the method based link builder.")
+    void shouldProduceTheSameLoanLinks_asTheMethodBasedLinkBuilder() {
+        CatalogLinks links = CatalogLinks.current();
+        String email = "luis@gmail.com";
+
+        assertSameLink(links.loan(id), linkTo(methodOn(LoanController.class)
+                .findLoanById(id)).withSelfRel().withType("GET"));
+        assertSameLink(links.findLoansByActive(), linkTo(methodOn(LoanController.class)
+                .findByActive(true, 0, 1)).withRel("find-by-active").withType("GET"));
+        assertSameLink(links.findLoansByUser(email), linkTo(methodOn(LoanController.class)
+                .findLoanByUser(email, 1, 1)).withRel("find-by-user").withType("GET"));
+        assertSameLink(links.findLoansByUserAndActive(email), linkTo(methodOn(LoanController.class)
+                .findByUserAndStatus(email, true, 0, 1)).withRel("find-by-user-and-active").withType("GET"));
+        assertSameLink(links.returnLoan("joão+silva@gmail.com", id), linkTo(methodOn(LoanController.class)
+                .returnLoan(id, "joão+silva@gmail.com", new User())).withRel("return-loan").withType("POST"));
+    }
+
+    @Test
+    @DisplayName("Should produce relative links when there is no current request.")
+    void shouldProduceRelativeLinks_whenThereIsNoCurrentRequest() {
+        RequestContextHolder.resetRequestAttributes();
+
+        assertThat(CatalogLinks.current().book(id).getHref()).isEqualTo("/library/v1/books/" + id);
+    }
+
+    private static void assertSameLink(Link actual, Link expected) {
+        assertThat(actual.getHref()).isEqualTo(expected.getHref());
+        assertThat(actual.getRel()).isEqualTo(expected.getRel());
+        assertThat(actual.getType()).isEqualTo(expected.getType());
+    }
+}
@@ -0,0 +1,161 @@
+package com.luis.aguiar.web;
+
+import com.luis.aguiar.enums.ChangeType;
+import com.luis.aguiar.events.AuthorBookCountsReconciledEvent;
+import com.luis.aguiar.events.AuthorshipChangedEvent;
+import com.luis.aguiar.events.BookChangedEvent;
+import org.junit.jupiter.api.*;
+import java.util.*;
+import static org.assertj.core.api.Assertions.*;
+
+class CatalogResponseCacheTest {
+
+    private static final String BOOKS = "/library/v1/books";
+    private static final String BOOKS_STATUS = "/library/v1/books/status";
+    private static final String AUTHORS = "/library/v1/authors";
+
+    private CatalogResponseCache cache;
+    private UUID id;
+    private UUID id2;
+
+    @BeforeEach
+    void setup() {
+        cache = new CatalogResponseCache(true, 4096, 2048, false);
+        id = UUID.randomUUID();
+        id2 = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should build the same key when the same parameters are passed in a different order.")
+    void shouldBuildTheSameKey_whenTheSameParametersArePassedInADifferentOrder() {
+        Map<String, String[]> parameters = new LinkedHashMap<>();
+        parameters.put("page", new String[] { "0" });
+        parameters.put("quantity", new String[] { "10" });
+        Map<String, String[]> reversed = new LinkedHashMap<>();
+        reversed.put("quantity", new String[] { "10" });
+        reversed.put("page", new String[] { "0" });
+
+        assertThat(CatalogResponseCache.keyOf(BOOKS, parameters, null))
+                .isEqualTo(CatalogResponseCache.keyOf(BOOKS, reversed, "*/*"));
+        assertThat(CatalogResponseCache.keyOf(BOOKS, parameters, "application/json"))
+                .isNotEqualTo(CatalogResponseCache.keyOf(BOOKS, parameters, null));
+    }
+
+    @Test
+    @DisplayName("Should evict only the entries that contain the updated book when a BookChangedEvent is received.")
+    void shouldEvictOnlyTheEntriesThatContainTheUpdatedBook_whenABookChangedEventIsReceived() {
+        // given
+        cache.put("first", BOOKS, false, "[1]".getBytes(), "application/json",
+                Map.of(), List.of(id), cache.generation());
+        cache.put("second", BOOKS, false, "[2]".getBytes(), "application/json",
+                Map.of(), List.of(id2), cache.generation());
+
+        // when
+        cache.onBookChanged(new BookChangedEvent(id, ChangeType.UPDATED, null, null));
+
+        // then
+        assertThat(cache.get("first")).isNull();
+        assertThat(cache.get("second")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should evict every sorted page of the route when a book is updated.")
+    void shouldEvictEverySortedPageOfTheRoute_whenABookIsUpdated() {
+        // given
+        cache.put("sorted", BOOKS, true, "[2]".getBytes(), "application/json",
+                Map.of(), List.of(id2), cache.generation());
+        cache.put("unsorted", BOOKS, false, "[2]".getBytes(), "application/json",
+                Map.of(), List.of(id2), cache.generation());
+
+        // when
+        cache.onBookChanged(new BookChangedEvent(id, ChangeType.UPDATED, null, null));
+
+        // then
+        assertThat(cache.get("sorted")).isNull();
+        assertThat(cache.get("unsorted")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should evict every author page when an authorship is changed.")
+    void shouldEvictEveryAuthorPage_whenAnAuthorshipIsChanged() {
+        // given
+        cache.put("by-count", AUTHORS, true, "[]".getBytes(), "application/json", Map.of(), List.of(),
+                cache.generation());
+        cache.put("books", BOOKS, false, "[2]".getBytes(), "application/json", Map.of(), List.of(id2),
+                cache.generation());
+
+        // when
+        cache.onAuthorshipChanged(new AuthorshipChangedEvent(id, UUID.randomUUID()));
+
+        // then
+        assertThat(cache.get("by-count")).isNull();
+        assertThat(cache.get("books")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should evict the author pages and the pages that contain the author when book counts are reconciled.")
+    void shouldEvictTheAuthorPagesAndThePagesThatContainTheAuthor_whenBookCountsAreReconciled() {
+        // given
+        cache.put("authors", AUTHORS, false, "[]".getBytes(), "application/json", Map.of(), List.of(id),
+                cache.generation());
+        cache.put("author", AUTHORS + "/" + id, false, "{}".getBytes(), "application/json", Map.of(), List.of(id),
+                cache.generation());
+        cache.put("books", BOOKS, false, "[2]".getBytes(), "application/json", Map.of(), List.of(id2),
+                cache.generation());
+
+        // when
+        cache.onAuthorBookCountsReconciled(new AuthorBookCountsReconciledEvent(List.of(id)));
+
+        // then
+        assertThat(cache.get("authors")).isNull();
+        assertThat(cache.get("author")).isNull();
+        assertThat(cache.get("books")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should evict every status page when a book is updated.")
+    void shouldEvictEveryStatusPage_whenABookIsUpdated() {
+        // given
+        cache.put("status", BOOKS_STATUS, false, "[]".getBytes(), "application/json",
+                Map.of(), List.of(), cache.generation());
+
+        // when
+        cache.onBookChanged(new BookChangedEvent(id, ChangeType.UPDATED, null, null));
+
+        // then
+        assertThat(cache.get("status")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should not store a response that was produced before an invalidation.")
+    void shouldNotStoreAResponse_whenItWasProducedBeforeAnInvalidation() {
+        // given
+        long generation = cache.generation();
+        cache.onBookChanged(new BookChangedEvent(id, ChangeType.CREATED, null, null));
+
+        // when
+        cache.put("stale", BOOKS, false, "[1]".getBytes(), "application/json", Map.of(), List.of(id), generation);
+
+        // then
+        assertThat(cache.get("stale")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used entries when the memory budget is exceeded.")
+    void shouldEvictTheLeastRecentlyUsedEntries_whenTheMemoryBudgetIsExceeded() {
+        // given
+        byte[] body = new byte[1500];
+        cache.put("first", BOOKS, false, body, "application/json", Map.of(), List.of(), cache.generation());
+        cache.put("second", BOOKS, false, body, "application/json", Map.of(), List.of(), cache.generation());
+        cache.get("first");
+
+        // when
+        cache.put("third", BOOKS, false, body, "application/json", Map.of(), List.of(), cache.generation());
+
+        // then
+        assertThat(cache.get("second")).isNull();
+        assertThat(cache.get("first")).isNotNull();
+        assertThat(cache.get("third")).isNotNull();
+        assertThat(cache.usedBytes()).isLessThanOrEqualTo(4096);
+    }
+}
@@ -0,0 +1,31 @@
+package com.luis.aguiar.web;
+
+import com.luis.aguiar.exceptions.InvalidRequestException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import static org.assertj.core.api.Assertions.*;
+
+class CatalogSortTest {
+
+    @Test
+    @DisplayName("Should sort by the requested property with the id as tie-breaker.")
+    void shouldSortByTheRequestedProperty_withTheIdAsTieBreaker() {
+        assertThat(CatalogSort.parse("title", CatalogSort.BOOK))
+                .isEqualTo(Sort.by(Sort.Direction.ASC, "title", "id"));
+        assertThat(CatalogSort.parse("publicationDate,desc", CatalogSort.BOOK))
+                .isEqualTo(Sort.by(Sort.Direction.DESC, "publicationDate", "id"));
+        assertThat(CatalogSort.parse(null, CatalogSort.AUTHOR).isUnsorted()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should throw an Exception when the property is not sortable or the direction is invalid.")
+    void shouldThrowAnException_whenThePropertyIsNotSortableOrTheDirectionIsInvalid() {
+        assertThatThrownBy(() -> CatalogSort.parse("status", CatalogSort.BOOK))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> CatalogSort.parse("title", CatalogSort.AUTHOR))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> CatalogSort.parse("lastName,sideways", CatalogSort.AUTHOR))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+}
@@ -0,0 +1,100 @@
+package com.luis.aguiar.web;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchemaLoader;
+import com.luis.aguiar.dto.AuthorResponseDto;
+import com.luis.aguiar.dto.BookLookupResultDto;
+import com.luis.aguiar.dto.BookResponseDto;
+import com.luis.aguiar.dto.BookSummaryDto;
+import com.luis.aguiar.enums.Status;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.hateoas.Link;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.*;
+import static org.assertj.core.api.Assertions.*;
+
+class ProtobufCatalogConverterTest {
+
+    private static final Type BOOKS = new ParameterizedTypeReference<List<BookResponseDto>>() {}.getType();
+    private static final Type AUTHORS = new ParameterizedTypeReference<List<AuthorResponseDto>>() {}.getType();
+    private static final Type LOOKUP_RESULTS = new ParameterizedTypeReference<List<BookLookupResultDto>>() {}.getType();
+
+    private ProtobufCatalogConverter converter;
+
+    @BeforeEach
+    void setup() {
+        converter = new ProtobufCatalogConverter();
+    }
+
+    @Test
+    @DisplayName("Should only write pages of books, authors and loans.")
+    void shouldOnlyWritePagesOfBooksAuthorsAndLoans() {
+        assertThat(converter.canWrite(BOOKS, List.class, ProtobufCatalogConverter.INSTANCE)).isTrue();
+        assertThat(converter.canWrite(LOOKUP_RESULTS, List.class, ProtobufCatalogConverter.INSTANCE)).isFalse();
+        assertThat(converter.canWrite(BOOKS, List.class, CompactMediaType.INSTANCE)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should write a page of books that decodes with the library.proto schema, statuses as enum numbers.")
+    void shouldWriteAPageOfBooks_thatDecodesWithTheLibraryProtoSchema() throws Exception {
+        UUID id = UUID.randomUUID();
+        BookResponseDto book = new BookResponseDto(id, "O Senhor dos Anéis", LocalDate.of(1954, 7, 29),
+                Status.AVAILABLE, new HashSet<>(Set.of(Link.of("/library/v1/authors/1"))), 0L, null);
+        BookResponseDto unavailable = new BookResponseDto(UUID.randomUUID(), "O Hobbit", LocalDate.of(1937, 9, 21),
+                Status.UNAVAILABLE, new HashSet<>(), 0L, null);
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        converter.write(List.of(book, unavailable), BOOKS, ProtobufCatalogConverter.INSTANCE, output);
+
+        String definition = new ClassPathResource("proto/library.proto").getContentAsString(StandardCharsets.UTF_8);
+        JsonNode page = new ProtobufMapper()
+                .readerFor(JsonNode.class)
+                .with(ProtobufSchemaLoader.std.parseNative(definition).forType("BookPage"))
+                .readValue(output.getBodyAsBytes());
+
+        JsonNode decoded = page.get("books").get(0);
+        assertThat(decoded.get("id").asText()).isEqualTo(id.toString());
+        assertThat(decoded.get("title").asText()).isEqualTo("O Senhor dos Anéis");
+        assertThat(decoded.get("publicationDate").asText()).isEqualTo("1954-07-29");
+        assertThat(decoded.get("status").asInt()).isEqualTo(0);
+        assertThat(decoded.get("authors").get(0).asText()).isEqualTo("/library/v1/authors/1");
+        assertThat(page.get("books").get(1).get("status").asInt()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should write a page of authors with their book count and latest books that decodes with the library.proto schema.")
+    void shouldWriteAPageOfAuthorsWithTheirBookCountAndLatestBooks_thatDecodesWithTheLibraryProtoSchema() throws Exception {
+        UUID bookId = UUID.randomUUID();
+        AuthorResponseDto author = new AuthorResponseDto(UUID.randomUUID(), "John", "Tolkien",
+                LocalDate.of(1892, 1, 3), "British", 2,
+                List.of(new BookSummaryDto(bookId, "O Hobbit", LocalDate.of(1937, 9, 21), Status.UNAVAILABLE, 0L)),
+                0L, null);
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        converter.write(List.of(author), AUTHORS, ProtobufCatalogConverter.INSTANCE, output);
+
+        String definition = new ClassPathResource("proto/library.proto").getContentAsString(StandardCharsets.UTF_8);
+        JsonNode page = new ProtobufMapper()
+                .readerFor(JsonNode.class)
+                .with(ProtobufSchemaLoader.std.parseNative(definition).forType("AuthorPage"))
+                .readValue(output.getBodyAsBytes());
+
+        JsonNode decoded = page.get("authors").get(0);
+
+        assertThat(decoded.get("lastName").asText()).isEqualTo("Tolkien");
+        assertThat(decoded.get("bookCount").asLong()).isEqualTo(2);
+        JsonNode book = decoded.get("books").get(0);
+        assertThat(book.get("id").asText()).isEqualTo(bookId.toString());
+        assertThat(book.get("title").asText()).isEqualTo("O Hobbit");
+        assertThat(book.get("publicationDate").asText()).isEqualTo("1937-09-21");
+        assertThat(book.get("status").asInt()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,26 @@
+package com.luis.aguiar.web;
+
+import com.luis.aguiar.exceptions.InvalidRequestException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.*;
+
+class SparseFieldsTest {
+
+    @Test
+    @DisplayName("Should return the requested fields in representation order, starting with the id.")
+    void shouldReturnTheRequestedFieldsInRepresentationOrder_startingWithTheId() {
+        assertThat(SparseFields.parse("status, title,,title", SparseFields.BOOK))
+                .containsExactly("id", "title", "status");
+        assertThat(SparseFields.parse("", SparseFields.AUTHOR))
+                .containsExactly("id");
+    }
+
+    @Test
+    @DisplayName("Should throw an Exception when an unknown field is requested.")
+    void shouldThrowAnException_whenAnUnknownFieldIsRequested() {
+        assertThatThrownBy(() -> SparseFields.parse("title,isbn", SparseFields.BOOK))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("isbn");
+    }
+}
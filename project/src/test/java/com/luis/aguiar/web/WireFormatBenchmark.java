@@ -0,0 +1,119 @@
+package com.luis.aguiar.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.luis.aguiar.dto.BookResponseDto;
+import com.luis.aguiar.dto.LoanResponseDto;
+import com.luis.aguiar.enums.Status;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.hateoas.Link;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Serialized size and encode time of a 500-item page of books and of loans in each wire format.
+ * Run with {@code ./mvnw test -Dtest=WireFormatBenchmark -Dbenchmarks=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class WireFormatBenchmark {
+
+    private static final int PAGE_SIZE = 500;
+    private static final int WARMUP_ROUNDS = 50;
+    private static final int MEASURED_ROUNDS = 200;
+    private static final Type BOOKS = new ParameterizedTypeReference<List<BookResponseDto>>() {}.getType();
+    private static final Type LOANS = new ParameterizedTypeReference<List<LoanResponseDto>>() {}.getType();
+
+    private final ObjectMapper json = mapper(new ObjectMapper());
+    private final ObjectMapper cbor = mapper(new ObjectMapper(new CBORFactory()));
+    private final ObjectMapper smile = mapper(new ObjectMapper(new SmileFactory()));
+    private final ProtobufCatalogConverter protobuf = new ProtobufCatalogConverter();
+
+    @Test
+    @DisplayName("Should report the size and encode time of a book page in each wire format.")
+    void shouldReportTheSizeAndEncodeTime_ofABookPageInEachWireFormat() {
+        report("books", books(), BOOKS);
+    }
+
+    @Test
+    @DisplayName("Should report the size and encode time of a loan page in each wire format.")
+    void shouldReportTheSizeAndEncodeTime_ofALoanPageInEachWireFormat() {
+        List<LoanResponseDto> loans = new ArrayList<>(PAGE_SIZE);
+        for (BookResponseDto book : books()) {
+            loans.add(new LoanResponseDto(UUID.randomUUID(), book, null,
+                    LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 8), true));
+        }
+        report("loans", loans, LOANS);
+    }
+
+    private void report(String name, List<?> page, Type type) {
+        System.out.printf("%s page of %d items%n", name, PAGE_SIZE);
+        measure("json", () -> encode(json, page));
+        measure("cbor", () -> encode(cbor, page));
+        measure("smile", () -> encode(smile, page));
+        measure("protobuf", () -> encode(protobuf, page, type));
+    }
+
+    private void measure(String format, Encoder encoder) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            encoder.encode();
+        }
+        int size = 0;
+        long elapsed = 0;
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            long start = System.nanoTime();
+            size = encoder.encode().length;
+            elapsed += System.nanoTime() - start;
+        }
+        System.out.printf("  %-9s %8d bytes %8.0f us/page%n", format, size, elapsed / 1_000.0 / MEASURED_ROUNDS);
+    }
+
+    private static byte[] encode(ObjectMapper mapper, List<?> page) {
+        try {
+            return mapper.writeValueAsBytes(page);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static byte[] encode(ProtobufCatalogConverter converter, List<?> page, Type type) {
+        try {
+            MockHttpOutputMessage output = new MockHttpOutputMessage();
+            converter.write(page, type, ProtobufCatalogConverter.INSTANCE, output);
+            return output.getBodyAsBytes();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static ObjectMapper mapper(ObjectMapper mapper) {
+        return mapper.registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    private static List<BookResponseDto> books() {
+        List<BookResponseDto> page = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            UUID id = UUID.randomUUID();
+            Set<Link> authors = new HashSet<>(Set.of(Link.of("/library/v1/authors/" + UUID.randomUUID())));
+            BookResponseDto book = new BookResponseDto(id, "Title " + i, LocalDate.of(1950, 1, 1),
+                    Status.AVAILABLE, authors, 0L, null);
+            book.add(Link.of("/library/v1/books/" + id));
+            page.add(book);
+        }
+        return page;
+    }
+
+    @FunctionalInterface
+    private interface Encoder {
+        byte[] encode();
+    }
+}